@@ -0,0 +1,65 @@
+package io.github.d4rckh.limiterx.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.spring.storage.ClientStatsRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of encoding and decoding {@link ClientStats} for Redis, binary against the former JSON format.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientStatsSerializerBenchmark {
+
+    @Param({"binary", "json"})
+    public String format;
+
+    private RedisSerializer<ClientStats> serializer;
+    private ClientStats stats;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        serializer = switch (format) {
+            case "binary" -> new ClientStatsRedisSerializer();
+            case "json" -> new Jackson2JsonRedisSerializer<>(
+                new ObjectMapper().registerModule(new JavaTimeModule()), ClientStats.class
+            );
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        stats = new ClientStats(42, Instant.now(), Instant.now());
+        encoded = serializer.serialize(stats);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(stats);
+    }
+
+    @Benchmark
+    public ClientStats deserialize() {
+        return serializer.deserialize(encoded);
+    }
+}
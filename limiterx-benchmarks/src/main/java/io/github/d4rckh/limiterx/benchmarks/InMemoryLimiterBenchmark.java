@@ -0,0 +1,97 @@
+package io.github.d4rckh.limiterx.benchmarks;
+
+import io.github.d4rckh.limiterx.core.Limiter;
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.storage.BoundedInMemoryLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.InMemoryLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.LockFreeInMemoryLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.OffHeapLimiterStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Limiter} over the in-memory storages, on a single hot key, on many keys and on a hot key
+ * shared by all threads. The limit is never reached so every request takes the admission path.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InMemoryLimiterBenchmark {
+    static final int KEY_COUNT = 100_000;
+    static final LimitPolicy POLICY = LimitPolicy.of(Integer.MAX_VALUE / 2, 60, null);
+
+    @Param({"memory", "lock-free", "bounded", "off-heap"})
+    public String storage;
+
+    private LimiterStorage limiterStorage;
+    private Limiter limiter;
+    private Key hotKey;
+    private Key[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        limiterStorage = switch (storage) {
+            case "memory" -> new InMemoryLimiterStorage();
+            case "lock-free" -> new LockFreeInMemoryLimiterStorage();
+            case "bounded" -> BoundedInMemoryLimiterStorage.ofMaximumEntries(KEY_COUNT);
+            case "off-heap" -> new OffHeapLimiterStorage(KEY_COUNT);
+            default -> throw new IllegalArgumentException("Unknown storage " + storage);
+        };
+        limiter = new Limiter(limiterStorage);
+        hotKey = Key.of("hot");
+        keys = Keys.of(KEY_COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (limiterStorage instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    public boolean performLimitingHotKey() {
+        return limiter.performLimiting(hotKey, POLICY);
+    }
+
+    @Benchmark
+    public boolean performLimitingManyKeys(Keys.Cursor cursor) {
+        return limiter.performLimiting(cursor.next(keys), POLICY);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean performLimitingHotKeyContended() {
+        return limiter.performLimiting(hotKey, POLICY);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean performLimitingManyKeysContended(Keys.Cursor cursor) {
+        return limiter.performLimiting(cursor.next(keys), POLICY);
+    }
+
+    @Benchmark
+    public boolean isClientRateLimitedHotKey() {
+        return limiter.isClientRateLimited(hotKey, POLICY);
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.d4rckh.limiterx.benchmarks;
+
+import io.github.d4rckh.limiterx.core.domain.Key;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pre-built keys, so benchmarks measure the limiter rather than key formatting.
+ */
+public final class Keys {
+
+    private Keys() {
+    }
+
+    public static Key[] of(int count) {
+        Key[] keys = new Key[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = Key.of("client-" + i);
+        }
+        return keys;
+    }
+
+    /**
+     * Per-thread position in a key array, each thread starts at a random offset.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int position = ThreadLocalRandom.current().nextInt(1 << 20);
+
+        public Key next(Key[] keys) {
+            position = (position + 1) % keys.length;
+            return keys[position];
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.d4rckh.limiterx.benchmarks;
+
+import io.github.d4rckh.limiterx.spring.annotation.EnableLimiterX;
+import io.github.d4rckh.limiterx.spring.annotation.RateLimited;
+import io.github.d4rckh.limiterx.spring.aspect.RateLimitedAspect;
+import io.github.d4rckh.limiterx.spring.common.KeyExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full {@link RateLimitedAspect} path on in-memory storage: proxy, key extraction, SpEL evaluation or
+ * compiled argument accessors,
+ * {@code Key.fromClass} and the limiter itself.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitedAspectBenchmark {
+    private static final int MAXIMUM_REQUESTS = Integer.MAX_VALUE / 2;
+
+    private AnnotationConfigApplicationContext context;
+    private Greeter greeter;
+    private final Request request = new Request("api-key");
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources()
+            .addFirst(new MapPropertySource("benchmark", Map.of("limiterx.storage", "memory")));
+        context.register(BenchmarkConfiguration.class);
+        context.refresh();
+
+        greeter = context.getBean(Greeter.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String withoutKey() {
+        return greeter.withoutKey();
+    }
+
+    @Benchmark
+    public String withKeyExtractor() {
+        return greeter.withKeyExtractor();
+    }
+
+    @Benchmark
+    public String withKeyExpression() {
+        return greeter.withKeyExpression();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String withKeyExpressionContended() {
+        return greeter.withKeyExpression();
+    }
+
+    @Benchmark
+    public String withArgumentKeyExpression() {
+        return greeter.withArgumentKeyExpression(request);
+    }
+
+    @Configuration
+    @EnableLimiterX
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    public static class BenchmarkConfiguration {
+
+        @Bean
+        public Greeter greeter() {
+            return new Greeter();
+        }
+
+        @Bean
+        public ClientExtractor clientExtractor() {
+            return new ClientExtractor();
+        }
+    }
+
+    public static class Greeter {
+
+        @RateLimited(maximumRequests = MAXIMUM_REQUESTS, windowSize = 60)
+        public String withoutKey() {
+            return "Hello!";
+        }
+
+        @RateLimited(key = ClientExtractor.class, maximumRequests = MAXIMUM_REQUESTS, windowSize = 60)
+        public String withKeyExtractor() {
+            return "Hello!";
+        }
+
+        @RateLimited(keyExpression = "#ClientExtractor.extract()", maximumRequests = MAXIMUM_REQUESTS, windowSize = 60)
+        public String withKeyExpression() {
+            return "Hello!";
+        }
+
+        @RateLimited(keyExpression = "#request.apiKey", maximumRequests = MAXIMUM_REQUESTS, windowSize = 60)
+        public String withArgumentKeyExpression(Request request) {
+            return "Hello!";
+        }
+    }
+
+    public record Request(String apiKey) {
+    }
+
+    public static class ClientExtractor implements KeyExtractor {
+
+        @Override
+        public String extract() {
+            return "client";
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.d4rckh.limiterx.benchmarks;
+
+import io.github.d4rckh.limiterx.core.Limiter;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import io.github.d4rckh.limiterx.spring.config.RedisTemplateConfig;
+import io.github.d4rckh.limiterx.spring.storage.RedisLimiterStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Limiter} over {@link RedisLimiterStorage} against an embedded Redis on localhost,
+ * so results include a loopback round trip per request.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisLimiterBenchmark {
+    /** A burst and a sustained limit, both high enough that requests are always admitted. */
+    static final List<LimitPolicy> TIERS = List.of(
+        LimitPolicy.of(1_000_000_000, 1, null),
+        LimitPolicy.of(LimitingStrategy.GCRA, 1_000_000_000, 3600, null)
+    );
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private Limiter limiter;
+    private Key hotKey;
+    private Key[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisTemplate<String, ClientStats> redisTemplate = RedisTemplateConfig.clientStatsTemplate(connectionFactory);
+        limiter = new Limiter(new RedisLimiterStorage(redisTemplate));
+        hotKey = Key.of("hot");
+        keys = Keys.of(InMemoryLimiterBenchmark.KEY_COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Benchmark
+    public boolean performLimitingHotKey() {
+        return limiter.performLimiting(hotKey, InMemoryLimiterBenchmark.POLICY);
+    }
+
+    @Benchmark
+    public boolean performLimitingManyKeys(Keys.Cursor cursor) {
+        return limiter.performLimiting(cursor.next(keys), InMemoryLimiterBenchmark.POLICY);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean performLimitingHotKeyContended() {
+        return limiter.performLimiting(hotKey, InMemoryLimiterBenchmark.POLICY);
+    }
+
+    @Benchmark
+    public boolean performLimitingTiersHotKey() {
+        return limiter.performLimiting(hotKey, TIERS);
+    }
+
+    @Benchmark
+    public boolean isClientRateLimitedHotKey() {
+        return limiter.isClientRateLimited(hotKey, InMemoryLimiterBenchmark.POLICY);
+    }
+}
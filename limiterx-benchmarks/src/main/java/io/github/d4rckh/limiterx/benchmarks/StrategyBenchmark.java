@@ -0,0 +1,75 @@
+package io.github.d4rckh.limiterx.benchmarks;
+
+import io.github.d4rckh.limiterx.core.Limiter;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import io.github.d4rckh.limiterx.core.storage.InMemoryLimiterStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each {@link LimitingStrategy} on {@link InMemoryLimiterStorage}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StrategyBenchmark {
+
+    @Param({"FIXED_WINDOW", "SLIDING_WINDOW", "TOKEN_BUCKET", "GCRA"})
+    public LimitingStrategy strategy;
+
+    private InMemoryLimiterStorage storage;
+    private Limiter limiter;
+    private LimitPolicy policy;
+    private Key hotKey;
+    private Key[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        storage = new InMemoryLimiterStorage();
+        limiter = new Limiter(storage);
+        // A rate high enough that requests are always admitted
+        policy = LimitPolicy.of(strategy, 1_000_000_000, 1, null);
+        hotKey = Key.of("hot");
+        keys = Keys.of(InMemoryLimiterBenchmark.KEY_COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        storage.close();
+    }
+
+    @Benchmark
+    public boolean performLimitingHotKey() {
+        return limiter.performLimiting(hotKey, policy);
+    }
+
+    @Benchmark
+    public boolean performLimitingManyKeys(Keys.Cursor cursor) {
+        return limiter.performLimiting(cursor.next(keys), policy);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean performLimitingHotKeyContended() {
+        return limiter.performLimiting(hotKey, policy);
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.d4rckh.limiterx.core;
+
+import io.github.d4rckh.limiterx.core.common.AsyncLimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking counterpart of {@link Limiter}, completing once the storage has answered.
+ */
+@RequiredArgsConstructor
+public class AsyncLimiter {
+    private final AsyncLimiterStorage storage;
+
+    public CompletionStage<Boolean> performLimiting(@NonNull Key key, @NonNull LimitPolicy policy) {
+        return acquire(key, policy).thenApply(Decision::isLimited);
+    }
+
+    /**
+     * Like {@link #performLimiting(Key, LimitPolicy)}, with the end of the client's block if any.
+     */
+    public CompletionStage<Decision> acquire(@NonNull Key key, @NonNull LimitPolicy policy) {
+        return storage.acquire(key.getKey(), policy, Instant.now());
+    }
+
+    /**
+     * Counts a request against several policies at once, see {@link Limiter#performLimiting(Key, List)}.
+     */
+    public CompletionStage<Boolean> performLimiting(@NonNull Key key, @NonNull List<LimitPolicy> policies) {
+        return acquire(key, policies).thenApply(Decision::isLimited);
+    }
+
+    /**
+     * Like {@link #performLimiting(Key, List)}, with the end of the client's block if any.
+     */
+    public CompletionStage<Decision> acquire(@NonNull Key key, @NonNull List<LimitPolicy> policies) {
+        return storage.acquireAll(Limiter.tierKeys(key, policies.size()), policies, Instant.now());
+    }
+
+    /**
+     * Like {@link #acquire(Key, List)}, with the tier of each policy, see {@link Limiter#acquire(Key, List, int[])}.
+     */
+    public CompletionStage<Decision> acquire(@NonNull Key key, @NonNull List<LimitPolicy> policies,
+                                             @NonNull int[] tiers) {
+        return storage.acquireAll(Limiter.tierKeys(key, tiers), policies, Instant.now());
+    }
+
+    public CompletionStage<Boolean> isClientRateLimited(@NonNull Key key, @NonNull LimitPolicy policy) {
+        return storage.isLimited(key.getKey(), policy, Instant.now());
+    }
+}
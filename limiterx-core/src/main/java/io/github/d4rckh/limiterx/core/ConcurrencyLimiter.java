@@ -0,0 +1,75 @@
+package io.github.d4rckh.limiterx.core;
+
+import io.github.d4rckh.limiterx.core.common.ConcurrencyLimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the calls in progress on a key rather than the calls made over a window, e.g. to keep a slow operation
+ * from holding every thread or database connection.
+ * <p>
+ * A call takes a {@link Permit} before it starts and closes it once it ended, successfully or not:
+ * <pre>
+ * {@code
+ * Optional<Permit> permit = limiter.tryAcquire(key, 10, Duration.ofMinutes(1));
+ * if (permit.isEmpty()) {
+ *     // Too many calls in progress
+ * }
+ * try (Permit held = permit.get()) {
+ *     // The call
+ * }
+ * }
+ * </pre>
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimiter {
+    // Permit ids only have to be unique among the nodes sharing the storage
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final ConcurrencyLimiterStorage storage;
+    private final AtomicLong permits = new AtomicLong();
+
+    /**
+     * @param lease the longest a shared storage holds the permit if it is not closed, e.g. because the node stopped,
+     *              it should be longer than the calls
+     * @return the permit, empty if {@code maximumConcurrentCalls} calls are already in progress on {@code key}
+     */
+    public Optional<Permit> tryAcquire(@NonNull Key key, int maximumConcurrentCalls, @NonNull Duration lease) {
+        String permitId = NODE_ID + ":" + permits.incrementAndGet();
+        if (!storage.tryAcquire(key.getKey(), permitId, maximumConcurrentCalls, lease, Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(new Permit(storage, key.getKey(), permitId));
+    }
+
+    /**
+     * A call in progress, released once by {@link #close()}.
+     */
+    public static final class Permit implements AutoCloseable {
+        private final ConcurrencyLimiterStorage storage;
+        private final String key;
+        private final String id;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(ConcurrencyLimiterStorage storage, String key, String id) {
+            this.storage = storage;
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                storage.release(key, id);
+            }
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package io.github.d4rckh.limiterx.core;
 
 import io.github.d4rckh.limiterx.core.common.LimiterStorage;
-import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
 import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
-import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @RequiredArgsConstructor
 public class Limiter {
@@ -18,91 +21,85 @@ public class Limiter {
         int maximumRequests, int windowSeconds,
         Integer blockFor
     ) {
-        final String rawKey = key.getKey();
-        ClientStats clientStats = storage.findByKey(rawKey)
-            .orElse(null);
-
-        if (clientStats == null) {
-            clientStats = new ClientStats(0, null, Instant.now());
-            storage.updateByKey(rawKey, clientStats);
-        }
-
-        // Reset request window if expired
-        resetRequestWindowIfExpired(clientStats, rawKey, windowSeconds);
+        return performLimiting(key, LimitPolicy.of(maximumRequests, windowSeconds, blockFor));
+    }
 
-        if (clientStats.getTotalRequests() == 0 && !isClientBlocked(clientStats, blockFor)) {
-            storage.setTtlByKey(rawKey, Duration.ofSeconds(windowSeconds));
-        }
+    public boolean performLimiting(@NonNull Key key, @NonNull LimitPolicy policy) {
+        return acquire(key, policy).isLimited();
+    }
 
-        // Always increment request count
-        clientStats.increaseTotalRequests();
-        storage.updateByKey(rawKey, clientStats);
+    /**
+     * Like {@link #performLimiting(Key, LimitPolicy)}, with the end of the client's block if any.
+     */
+    public Decision acquire(@NonNull Key key, @NonNull LimitPolicy policy) {
+        return storage.acquire(key.getKey(), policy, Instant.now());
+    }
 
-        // Check if client is currently blocked
-        if (isClientBlocked(clientStats, blockFor)) {
-            return true;
-        }
+    /**
+     * Counts a request against several policies at once, it is only allowed if every policy allows it.
+     * <p>
+     * Policies are checked in order, the first one on {@code key} and the following ones on {@link Key#tier(int)},
+     * see {@link LimiterStorage#acquireAll(List, List, Instant)}.
+     */
+    public boolean performLimiting(@NonNull Key key, @NonNull List<LimitPolicy> policies) {
+        return acquire(key, policies).isLimited();
+    }
 
-        // Check if client exceeded request limit and should be blocked
-        if (shouldBlockClient(clientStats, maximumRequests)) {
-            blockClient(clientStats, blockFor);
-            updateTtlForBlockedClient(rawKey, windowSeconds, blockFor);
-            storage.updateByKey(rawKey, clientStats);
-            return true;
-        }
+    /**
+     * Like {@link #performLimiting(Key, List)}, with the end of the client's block if any.
+     */
+    public Decision acquire(@NonNull Key key, @NonNull List<LimitPolicy> policies) {
+        return storage.acquireAll(tierKeys(key, policies.size()), policies, Instant.now());
+    }
 
-        return false; // Request is allowed
+    /**
+     * Like {@link #acquire(Key, List)}, with the {@link Key#tier(int)} of each policy given by {@code tiers}
+     * rather than by its position, so that reordering the policies does not move their counters to other keys.
+     */
+    public Decision acquire(@NonNull Key key, @NonNull List<LimitPolicy> policies, @NonNull int[] tiers) {
+        return storage.acquireAll(tierKeys(key, tiers), policies, Instant.now());
     }
 
     public boolean isClientRateLimited(@NonNull Key key,
                                        int maximumRequests, int windowSeconds,
                                        Integer blockFor) {
-        ClientStats cs = storage.findByKey(key.getKey()).orElse(new ClientStats(0, null, Instant.now()));
-
-        resetRequestWindowIfExpired(cs, key.getKey(), windowSeconds);
-
-        return shouldBlockClient(cs, maximumRequests)
-                || isClientBlocked(cs, blockFor);
+        return isClientRateLimited(key, LimitPolicy.of(maximumRequests, windowSeconds, blockFor));
     }
 
-    private void resetRequestWindowIfExpired(ClientStats clientStats, String rawKey, int windowSeconds) {
-        if (clientStats.getLastReset().plusSeconds(windowSeconds).isBefore(Instant.now())) {
-            clientStats.setLastReset(Instant.now());
-            clientStats.setTotalRequests(0);
-        }
+    public boolean isClientRateLimited(@NonNull Key key, @NonNull LimitPolicy policy) {
+        return storage.isLimited(key.getKey(), policy, Instant.now());
     }
 
-    private boolean isClientBlocked(ClientStats clientStats, Integer blockFor) {
-        if (clientStats.getBlockedAt() == null || blockFor == null) {
-            return false;
-        }
-
-        Instant blockedUntil = clientStats.getBlockedAt().plusSeconds(blockFor);
-        if (blockedUntil.isAfter(Instant.now())) {
-            return true;
+    public boolean isClientRateLimited(@NonNull Key key, @NonNull List<LimitPolicy> policies) {
+        Instant now = Instant.now();
+        for (int i = 0; i < policies.size(); i++) {
+            if (storage.isLimited(key.tier(i).getKey(), policies.get(i), now)) {
+                return true;
+            }
         }
-
-        // Unblock client after block duration has expired
-        clientStats.setBlockedAt(null);
         return false;
     }
 
-    private boolean shouldBlockClient(ClientStats clientStats, int maximumRequests) {
-        return clientStats.getTotalRequests() > maximumRequests; // Removed `blockFor != null`
+    /**
+     * @see LimiterStorage#supports(LimitingStrategy)
+     */
+    public boolean supports(@NonNull LimitingStrategy strategy) {
+        return storage.supports(strategy);
     }
 
-    private void blockClient(ClientStats clientStats, Integer blockFor) {
-        if (blockFor != null) {
-            clientStats.setBlockedAt(Instant.now());
+    static List<String> tierKeys(Key key, int count) {
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(key.tier(i).getKey());
         }
+        return keys;
     }
 
-    private void updateTtlForBlockedClient(String rawKey, int windowSeconds, Integer blockFor) {
-        if (blockFor == null) return; // Avoid setting TTL if blocking is disabled
-
-        Duration remainingWindow = Duration.ofSeconds(windowSeconds);
-        Duration blockDuration = Duration.ofSeconds(blockFor);
-
-        storage.setTtlByKey(rawKey, remainingWindow.plus(blockDuration).plusSeconds(1));
+    static List<String> tierKeys(Key key, int[] tiers) {
+        List<String> keys = new ArrayList<>(tiers.length);
+        for (int tier : tiers) {
+            keys.add(key.tier(tier).getKey());
+        }
+        return keys;
     }
 }
@@ -0,0 +1,154 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.AdaptiveStrategy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A limit adjusted continuously from the latency and errors of the calls it admits, between a floor and the
+ * configured limit, which stays its ceiling.
+ * <p>
+ * The limit starts at its ceiling and only shrinks once calls get slow or fail, so that enabling it does not
+ * limit a healthy service more than before.
+ * <p>
+ * The limit is kept as a fraction, so that it can grow by less than one request per call, and samples update it
+ * with a compare-and-set rather than a lock: concurrent calls of the adapted method do not queue on a monitor.
+ */
+public abstract sealed class AdaptiveLimit permits AdaptiveLimit.Aimd, AdaptiveLimit.Gradient {
+    protected final int minimumLimit;
+    protected final int maximumLimit;
+    // The bits of the fractional limit
+    private final AtomicLong limit;
+
+    private AdaptiveLimit(int minimumLimit, int maximumLimit) {
+        if (minimumLimit <= 0 || minimumLimit > maximumLimit) {
+            throw new IllegalArgumentException("minimumLimit must be positive and at most maximumLimit");
+        }
+
+        this.minimumLimit = minimumLimit;
+        this.maximumLimit = maximumLimit;
+        this.limit = new AtomicLong(Double.doubleToLongBits(maximumLimit));
+    }
+
+    /**
+     * @param latencyThreshold the latency above which {@link AdaptiveStrategy#AIMD} backs off, unused by
+     *                         {@link AdaptiveStrategy#GRADIENT}
+     */
+    public static AdaptiveLimit of(AdaptiveStrategy strategy, int minimumLimit, int maximumLimit,
+                                   Duration latencyThreshold) {
+        return switch (strategy) {
+            case AIMD -> new Aimd(minimumLimit, maximumLimit, latencyThreshold);
+            case GRADIENT -> new Gradient(minimumLimit, maximumLimit);
+        };
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limit.get());
+    }
+
+    /**
+     * Adjusts the limit after a call.
+     *
+     * @param latencyNanos how long the call took
+     * @param failed       whether the call failed
+     */
+    public void onSample(long latencyNanos, boolean failed) {
+        update(limit, current ->
+            Math.max(minimumLimit, Math.min(maximumLimit, adjust(current, latencyNanos, failed)))
+        );
+    }
+
+    /**
+     * @return the next limit, before it is bounded by the floor and the ceiling; called again if another sample
+     * changed the limit meanwhile, it must not have side effects
+     */
+    protected abstract double adjust(double limit, long latencyNanos, boolean failed);
+
+    /**
+     * Applies {@code function} to the double held as bits by {@code value}, retrying on concurrent changes.
+     *
+     * @return the new value
+     */
+    static double update(AtomicLong value, DoubleUnaryOperator function) {
+        while (true) {
+            long current = value.get();
+            double next = function.applyAsDouble(Double.longBitsToDouble(current));
+            if (value.compareAndSet(current, Double.doubleToLongBits(next))) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Grows the limit by one per window of {@code limit} quick, successful calls, i.e. by {@code 1 / limit} per call,
+     * so that how fast it recovers does not depend on the traffic of the method, and shrinks it by a tenth on each
+     * failed or slow call.
+     */
+    static final class Aimd extends AdaptiveLimit {
+        private static final double BACKOFF_RATIO = 0.9;
+
+        private final long latencyThresholdNanos;
+
+        private Aimd(int minimumLimit, int maximumLimit, Duration latencyThreshold) {
+            super(minimumLimit, maximumLimit);
+            this.latencyThresholdNanos = latencyThreshold.toNanos();
+        }
+
+        @Override
+        protected double adjust(double limit, long latencyNanos, boolean failed) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                return Math.floor(limit * BACKOFF_RATIO);
+            }
+            return limit + 1 / limit;
+        }
+    }
+
+    /**
+     * A simplified gradient limit: the ratio of the long-term average latency, with some tolerance, to the recent
+     * one scales the limit, which is then allowed to grow by a queue of its square root. The new limit is smoothed
+     * with the previous one so that a single slow call does not halve it.
+     * <p>
+     * The two averages are updated apart from the limit, a limit may be computed from averages one sample ahead.
+     */
+    static final class Gradient extends AdaptiveLimit {
+        private static final double SHORT_WEIGHT = 2.0 / (10 + 1);
+        private static final double LONG_WEIGHT = 2.0 / (600 + 1);
+        private static final double TOLERANCE = 1.5;
+        private static final double MINIMUM_GRADIENT = 0.5;
+        private static final double SMOOTHING = 0.2;
+
+        // The bits of the averages, zero until the first sample
+        private final AtomicLong shortLatency = new AtomicLong();
+        private final AtomicLong longLatency = new AtomicLong();
+
+        private Gradient(int minimumLimit, int maximumLimit) {
+            super(minimumLimit, maximumLimit);
+        }
+
+        @Override
+        public void onSample(long latencyNanos, boolean failed) {
+            double recent = update(shortLatency, average -> average == 0
+                ? latencyNanos
+                : average + (latencyNanos - average) * SHORT_WEIGHT);
+            update(longLatency, average -> {
+                double next = average == 0 ? latencyNanos : average + (latencyNanos - average) * LONG_WEIGHT;
+                // Once latency recovered, forget the slow period faster than the long average would
+                return next > 2 * recent ? next * 0.95 : next;
+            });
+            super.onSample(latencyNanos, failed);
+        }
+
+        @Override
+        protected double adjust(double limit, long latencyNanos, boolean failed) {
+            double recent = Double.longBitsToDouble(shortLatency.get());
+            double longTerm = Double.longBitsToDouble(longLatency.get());
+            double gradient = failed || recent == 0
+                ? MINIMUM_GRADIENT
+                : Math.max(MINIMUM_GRADIENT, Math.min(1.0, TOLERANCE * longTerm / recent));
+            double target = limit * gradient + Math.sqrt(limit);
+            return limit * (1 - SMOOTHING) + target * SMOOTHING;
+        }
+    }
+}
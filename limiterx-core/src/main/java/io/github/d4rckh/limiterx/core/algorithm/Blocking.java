@@ -0,0 +1,55 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+
+import java.time.Instant;
+
+/**
+ * {@code blockFor} handling shared by every algorithm.
+ */
+final class Blocking {
+
+    private Blocking() {
+    }
+
+    static boolean isBlocked(ClientStats stats, LimitPolicy policy, Instant now) {
+        if (stats.getBlockedAt() == null || policy.getBlockFor() == null) {
+            return false;
+        }
+
+        if (stats.getBlockedAt().plusSeconds(policy.getBlockFor()).isAfter(now)) {
+            return true;
+        }
+
+        // Unblock client after block duration has expired
+        stats.setBlockedAt(null);
+        return false;
+    }
+
+    static void block(ClientStats stats, LimitPolicy policy, Instant now) {
+        if (policy.getBlockFor() != null) {
+            stats.setBlockedAt(now);
+        }
+    }
+
+    /**
+     * @return a limited decision carrying the end of the client's block, if any
+     */
+    static Decision limited(ClientStats stats, LimitPolicy policy) {
+        if (stats.getBlockedAt() == null || policy.getBlockFor() == null) {
+            return Decision.LIMITED;
+        }
+        return Decision.blockedUntil(stats.getBlockedAt().plusSeconds(policy.getBlockFor()));
+    }
+
+    static Instant latest(Instant expiresAt, ClientStats stats, LimitPolicy policy) {
+        if (stats.getBlockedAt() == null || policy.getBlockFor() == null) {
+            return expiresAt;
+        }
+
+        Instant blockedUntil = stats.getBlockedAt().plusSeconds(policy.getBlockFor());
+        return blockedUntil.isAfter(expiresAt) ? blockedUntil : expiresAt;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+
+import java.time.Instant;
+
+/**
+ * Fixed window limiting: every request counts towards the window opened by the first request,
+ * and the counter resets once {@code windowSeconds} have passed since then.
+ */
+public final class FixedWindowAlgorithm implements LimitingAlgorithm {
+    public static final FixedWindowAlgorithm INSTANCE = new FixedWindowAlgorithm();
+
+    private FixedWindowAlgorithm() {
+    }
+
+    @Override
+    public Decision apply(ClientStats stats, LimitPolicy policy, Instant now) {
+        resetWindowIfExpired(stats, policy, now);
+
+        // Always increment request count
+        stats.increaseTotalRequests();
+
+        // Check if client is currently blocked
+        if (Blocking.isBlocked(stats, policy, now)) {
+            return Blocking.limited(stats, policy);
+        }
+
+        // Check if client exceeded request limit and should be blocked
+        if (stats.getTotalRequests() > policy.getMaximumRequests()) {
+            Blocking.block(stats, policy, now);
+            return Blocking.limited(stats, policy);
+        }
+
+        return Decision.ALLOWED;
+    }
+
+    @Override
+    public boolean isLimited(ClientStats stats, LimitPolicy policy, Instant now) {
+        resetWindowIfExpired(stats, policy, now);
+
+        return stats.getTotalRequests() > policy.getMaximumRequests()
+            || Blocking.isBlocked(stats, policy, now);
+    }
+
+    @Override
+    public Instant expiresAt(ClientStats stats, LimitPolicy policy) {
+        return Blocking.latest(stats.getLastReset().plusSeconds(policy.getWindowSeconds()), stats, policy);
+    }
+
+    private void resetWindowIfExpired(ClientStats stats, LimitPolicy policy, Instant now) {
+        if (stats.getLastReset().plusSeconds(policy.getWindowSeconds()).isBefore(now)) {
+            stats.setLastReset(now);
+            stats.setTotalRequests(0);
+        }
+    }
+}
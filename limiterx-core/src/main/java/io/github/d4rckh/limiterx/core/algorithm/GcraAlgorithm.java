@@ -0,0 +1,103 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Generic Cell Rate Algorithm: requests are spaced by an emission interval of
+ * {@code windowSeconds / maximumRequests}, with a tolerance of {@code capacity - 1} intervals for bursts.
+ * <p>
+ * The whole state is the theoretical arrival time (TAT) of the next request, in epoch microseconds.
+ * A request is allowed when {@code TAT - tolerance <= now}, which advances the TAT by one interval.
+ * Blocking pushes the TAT to {@code now + blockFor + tolerance}, so a block needs no extra state.
+ * Once the TAT has passed, the key is equivalent to a fresh one and can be dropped.
+ * <p>
+ * Compact storages work on the primitive methods directly, the {@link LimitingAlgorithm} methods
+ * keep the TAT in {@link ClientStats#getLastReset()} for storages that only know {@link ClientStats}.
+ */
+public final class GcraAlgorithm implements LimitingAlgorithm {
+    public static final GcraAlgorithm INSTANCE = new GcraAlgorithm();
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private GcraAlgorithm() {
+    }
+
+    public boolean isAllowed(long tat, long nowMicros, LimitPolicy policy) {
+        return tat - tolerance(policy) <= nowMicros;
+    }
+
+    /**
+     * @return the TAT after a request at {@code nowMicros}, unchanged if the request is limited and not blocking
+     */
+    public long next(long tat, long nowMicros, LimitPolicy policy) {
+        long interval = emissionInterval(policy);
+        long tolerance = tolerance(policy);
+
+        if (isAllowed(tat, nowMicros, policy)) {
+            return Math.max(tat, nowMicros) + interval;
+        }
+
+        // Without blocking the TAT never exceeds now + tolerance + interval, beyond that a block is active
+        if (policy.getBlockFor() == null || tat > nowMicros + tolerance + interval) {
+            return tat;
+        }
+
+        return Math.max(tat, nowMicros + policy.getBlockFor() * MICROS_PER_SECOND + tolerance);
+    }
+
+    /**
+     * @param tat  the TAT before the request
+     * @param next the TAT after the request, as returned by {@link #next(long, long, LimitPolicy)}
+     * @return the decision of the request, blocked until requests conform again when {@code blockFor} is set
+     */
+    public Decision decide(long tat, long next, long nowMicros, LimitPolicy policy) {
+        if (isAllowed(tat, nowMicros, policy)) {
+            return Decision.ALLOWED;
+        }
+        if (policy.getBlockFor() == null) {
+            return Decision.LIMITED;
+        }
+        return Decision.blockedUntil(toInstant(next - tolerance(policy)));
+    }
+
+    @Override
+    public Decision apply(ClientStats stats, LimitPolicy policy, Instant now) {
+        long tat = toMicros(stats.getLastReset());
+        long nowMicros = toMicros(now);
+
+        long next = next(tat, nowMicros, policy);
+        stats.setLastReset(toInstant(next));
+        return decide(tat, next, nowMicros, policy);
+    }
+
+    @Override
+    public boolean isLimited(ClientStats stats, LimitPolicy policy, Instant now) {
+        return !isAllowed(toMicros(stats.getLastReset()), toMicros(now), policy);
+    }
+
+    @Override
+    public Instant expiresAt(ClientStats stats, LimitPolicy policy) {
+        return stats.getLastReset();
+    }
+
+    public long emissionInterval(LimitPolicy policy) {
+        return Math.max(1, policy.getWindowSeconds() * MICROS_PER_SECOND / policy.getMaximumRequests());
+    }
+
+    public long tolerance(LimitPolicy policy) {
+        return (policy.getCapacity() - 1) * emissionInterval(policy);
+    }
+
+    public static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    public static Instant toInstant(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+
+import java.time.Instant;
+
+/**
+ * Decision logic of a {@link LimitingStrategy}, evaluated over {@link ClientStats}.
+ * <p>
+ * Algorithms only mutate the given stats, storages are responsible for running them
+ * atomically and persisting the result.
+ */
+public interface LimitingAlgorithm {
+
+    /**
+     * @return the stats of a client seen for the first time
+     */
+    default ClientStats newStats(LimitPolicy policy, Instant now) {
+        return new ClientStats(0, null, now);
+    }
+
+    /**
+     * Counts a request and decides whether it is limited.
+     */
+    Decision apply(ClientStats stats, LimitPolicy policy, Instant now);
+
+    /**
+     * Whether the next request would be limited, without counting one.
+     */
+    boolean isLimited(ClientStats stats, LimitPolicy policy, Instant now);
+
+    /**
+     * The instant after which the stats are equivalent to a fresh entry and can be dropped.
+     */
+    Instant expiresAt(ClientStats stats, LimitPolicy policy);
+
+    static LimitingAlgorithm of(LimitingStrategy strategy) {
+        return switch (strategy) {
+            case FIXED_WINDOW -> FixedWindowAlgorithm.INSTANCE;
+            case TOKEN_BUCKET -> TokenBucketAlgorithm.INSTANCE;
+            case SLIDING_WINDOW -> SlidingWindowAlgorithm.INSTANCE;
+            case GCRA -> GcraAlgorithm.INSTANCE;
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Sliding window counter: windows follow each other back to back from the first request, and the
+ * rate is estimated as the current window's count plus the previous window's count weighted by the
+ * share of it still inside the rolling window ending now.
+ * <p>
+ * Only admitted requests are counted, so a client sending more than the limit keeps getting
+ * {@code maximumRequests} per rolling window instead of being shut out for good.
+ */
+public final class SlidingWindowAlgorithm implements LimitingAlgorithm {
+    public static final SlidingWindowAlgorithm INSTANCE = new SlidingWindowAlgorithm();
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private SlidingWindowAlgorithm() {
+    }
+
+    @Override
+    public Decision apply(ClientStats stats, LimitPolicy policy, Instant now) {
+        roll(stats, policy, now);
+
+        if (Blocking.isBlocked(stats, policy, now)) {
+            return Blocking.limited(stats, policy);
+        }
+
+        if (estimate(stats, policy, now) + 1 > policy.getMaximumRequests()) {
+            Blocking.block(stats, policy, now);
+            return Blocking.limited(stats, policy);
+        }
+
+        stats.increaseTotalRequests();
+        return Decision.ALLOWED;
+    }
+
+    @Override
+    public boolean isLimited(ClientStats stats, LimitPolicy policy, Instant now) {
+        roll(stats, policy, now);
+
+        return estimate(stats, policy, now) + 1 > policy.getMaximumRequests()
+            || Blocking.isBlocked(stats, policy, now);
+    }
+
+    /**
+     * The current window stops weighing in once the next one has fully passed.
+     */
+    @Override
+    public Instant expiresAt(ClientStats stats, LimitPolicy policy) {
+        return Blocking.latest(stats.getLastReset().plusSeconds(2L * policy.getWindowSeconds()), stats, policy);
+    }
+
+    private void roll(ClientStats stats, LimitPolicy policy, Instant now) {
+        long windowNanos = policy.getWindowSeconds() * NANOS_PER_SECOND;
+        long windows = elapsedNanos(stats, now) / windowNanos;
+
+        if (windows > 0) {
+            stats.setPreviousRequests(windows == 1 ? stats.getTotalRequests() : 0);
+            stats.setTotalRequests(0);
+            stats.setLastReset(stats.getLastReset().plusNanos(windows * windowNanos));
+        }
+    }
+
+    private double estimate(ClientStats stats, LimitPolicy policy, Instant now) {
+        double elapsed = (double) elapsedNanos(stats, now) / (policy.getWindowSeconds() * NANOS_PER_SECOND);
+
+        return stats.getPreviousRequests() * (1 - elapsed) + stats.getTotalRequests();
+    }
+
+    private long elapsedNanos(ClientStats stats, Instant now) {
+        Duration elapsed = Duration.between(stats.getLastReset(), now);
+        return elapsed.isNegative() ? 0 : elapsed.toNanos();
+    }
+}
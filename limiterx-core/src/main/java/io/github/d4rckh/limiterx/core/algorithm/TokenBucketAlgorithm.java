@@ -0,0 +1,74 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Token bucket limiting: a bucket holds up to {@code capacity} tokens and each request takes one.
+ * <p>
+ * Tokens are refilled lazily from the time elapsed since {@code lastReset}, at
+ * {@code maximumRequests / windowSeconds} tokens per second including fractions,
+ * so no background refill is needed and admitted traffic never exceeds the rate
+ * by more than one burst.
+ */
+public final class TokenBucketAlgorithm implements LimitingAlgorithm {
+    public static final TokenBucketAlgorithm INSTANCE = new TokenBucketAlgorithm();
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private TokenBucketAlgorithm() {
+    }
+
+    @Override
+    public ClientStats newStats(LimitPolicy policy, Instant now) {
+        ClientStats stats = new ClientStats(0, null, now);
+        stats.setTokens(policy.getCapacity());
+        return stats;
+    }
+
+    @Override
+    public Decision apply(ClientStats stats, LimitPolicy policy, Instant now) {
+        stats.setTokens(availableTokens(stats, policy, now));
+        stats.setLastReset(now);
+
+        if (Blocking.isBlocked(stats, policy, now)) {
+            return Blocking.limited(stats, policy);
+        }
+
+        if (stats.getTokens() >= 1) {
+            stats.setTokens(stats.getTokens() - 1);
+            return Decision.ALLOWED;
+        }
+
+        Blocking.block(stats, policy, now);
+        return Blocking.limited(stats, policy);
+    }
+
+    @Override
+    public boolean isLimited(ClientStats stats, LimitPolicy policy, Instant now) {
+        return availableTokens(stats, policy, now) < 1
+            || Blocking.isBlocked(stats, policy, now);
+    }
+
+    /**
+     * The bucket is full again, and therefore equivalent to a fresh one, once the missing tokens are refilled.
+     */
+    @Override
+    public Instant expiresAt(ClientStats stats, LimitPolicy policy) {
+        double secondsToFull = (policy.getCapacity() - stats.getTokens()) / policy.getRefillRate();
+        Instant full = stats.getLastReset().plusNanos((long) Math.ceil(secondsToFull * NANOS_PER_SECOND));
+
+        return Blocking.latest(full, stats, policy);
+    }
+
+    private double availableTokens(ClientStats stats, LimitPolicy policy, Instant now) {
+        Duration elapsed = Duration.between(stats.getLastReset(), now);
+        double refilled = elapsed.isNegative() ? 0 : elapsed.toNanos() / NANOS_PER_SECOND * policy.getRefillRate();
+
+        return Math.min(policy.getCapacity(), stats.getTokens() + refilled);
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.d4rckh.limiterx.core.common;
+
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking counterpart of {@link LimiterStorage}, for callers that must not wait on storage I/O
+ * such as event-loop threads.
+ */
+public interface AsyncLimiterStorage {
+
+    /**
+     * Counts a request against {@code key} and decides whether it is limited, see
+     * {@link LimiterStorage#acquire(String, LimitPolicy, Instant)}.
+     */
+    CompletionStage<Decision> acquire(String key, LimitPolicy policy, Instant now);
+
+    /**
+     * Counts a request against several keys, each under its own policy, see
+     * {@link LimiterStorage#acquireAll(List, List, Instant)}. The default implementation chains
+     * {@link #acquire(String, LimitPolicy, Instant)} on each key in turn.
+     */
+    default CompletionStage<Decision> acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+        CompletionStage<Decision> decision = CompletableFuture.completedFuture(Decision.ALLOWED);
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            LimitPolicy policy = policies.get(i);
+            decision = decision.thenCompose(previous -> previous.isLimited()
+                ? CompletableFuture.completedFuture(previous)
+                : acquire(key, policy, now));
+        }
+        return decision;
+    }
+
+    /**
+     * Whether the next request on {@code key} would be limited, without counting one.
+     */
+    CompletionStage<Boolean> isLimited(String key, LimitPolicy policy, Instant now);
+
+    /**
+     * Adapts a storage that never waits on I/O, e.g. the in-memory storages, by running its operations
+     * on the calling thread.
+     */
+    static AsyncLimiterStorage of(LimiterStorage storage) {
+        return new AsyncLimiterStorage() {
+            @Override
+            public CompletionStage<Decision> acquire(String key, LimitPolicy policy, Instant now) {
+                return CompletableFuture.completedFuture(storage.acquire(key, policy, now));
+            }
+
+            @Override
+            public CompletionStage<Decision> acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+                return CompletableFuture.completedFuture(storage.acquireAll(keys, policies, now));
+            }
+
+            @Override
+            public CompletionStage<Boolean> isLimited(String key, LimitPolicy policy, Instant now) {
+                return CompletableFuture.completedFuture(storage.isLimited(key, policy, now));
+            }
+        };
+    }
+
+    /**
+     * Adapts a blocking storage by running its operations on {@code executor}.
+     */
+    static AsyncLimiterStorage of(LimiterStorage storage, Executor executor) {
+        return new AsyncLimiterStorage() {
+            @Override
+            public CompletionStage<Decision> acquire(String key, LimitPolicy policy, Instant now) {
+                return CompletableFuture.supplyAsync(() -> storage.acquire(key, policy, now), executor);
+            }
+
+            @Override
+            public CompletionStage<Decision> acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+                return CompletableFuture.supplyAsync(() -> storage.acquireAll(keys, policies, now), executor);
+            }
+
+            @Override
+            public CompletionStage<Boolean> isLimited(String key, LimitPolicy policy, Instant now) {
+                return CompletableFuture.supplyAsync(() -> storage.isLimited(key, policy, now), executor);
+            }
+        };
+    }
+}
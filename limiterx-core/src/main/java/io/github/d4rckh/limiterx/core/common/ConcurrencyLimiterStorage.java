@@ -0,0 +1,27 @@
+package io.github.d4rckh.limiterx.core.common;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Counts the calls in progress on a key, see {@link io.github.d4rckh.limiterx.core.ConcurrencyLimiter}.
+ * <p>
+ * A permit is taken when a call starts and released when it ends. Storages shared between nodes hold each permit
+ * for at most its {@code lease}, so that the permits of a node that stopped without releasing them are not lost.
+ */
+public interface ConcurrencyLimiterStorage {
+
+    /**
+     * Takes a permit on {@code key} if fewer than {@code maximumConcurrentCalls} are held, atomically.
+     *
+     * @param permitId identifies the permit when it is released, unique among the permits of {@code key}
+     * @param lease    the longest the permit is held if it is not released
+     * @return whether the permit was taken
+     */
+    boolean tryAcquire(String key, String permitId, int maximumConcurrentCalls, Duration lease, Instant now);
+
+    /**
+     * Releases a permit taken by {@link #tryAcquire(String, String, int, Duration, Instant)}.
+     */
+    void release(String key, String permitId);
+}
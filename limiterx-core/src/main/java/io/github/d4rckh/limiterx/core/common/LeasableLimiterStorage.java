@@ -0,0 +1,29 @@
+package io.github.d4rckh.limiterx.core.common;
+
+import io.github.d4rckh.limiterx.core.domain.Lease;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+
+import java.time.Instant;
+
+/**
+ * A shared storage from which nodes can reserve batches of requests, see
+ * {@link io.github.d4rckh.limiterx.core.storage.LeasingLimiterStorage}.
+ * <p>
+ * Leases are only taken on {@link LimitingStrategy#FIXED_WINDOW} policies without blocking. Leased requests
+ * count towards the window like requests passed to {@link #acquire(String, LimitPolicy, Instant)}.
+ */
+public interface LeasableLimiterStorage extends LimiterStorage {
+
+    /**
+     * Reserves up to {@code permits} requests of the current window of {@code key}, atomically.
+     *
+     * @return the lease, without permits if the window's requests are used up
+     */
+    Lease lease(String key, LimitPolicy policy, int permits, Instant now);
+
+    /**
+     * Gives back {@code permits} unused requests of {@code lease}, unless its window has ended since.
+     */
+    void release(String key, LimitPolicy policy, Lease lease, int permits);
+}
@@ -1,8 +1,14 @@
 package io.github.d4rckh.limiterx.core.common;
 
+import io.github.d4rckh.limiterx.core.algorithm.LimitingAlgorithm;
 import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface LimiterStorage {
@@ -12,4 +18,59 @@ public interface LimiterStorage {
 
     Duration getTtlByKey(String key);
     void setTtlByKey(String key, Duration ttl);
+
+    /**
+     * Counts a request against {@code key} and decides whether it is limited, in a single storage operation.
+     * <p>
+     * The default implementation is a read-modify-write over the other methods and is <b>not</b> atomic,
+     * storages shared between threads or nodes should override it.
+     */
+    default Decision acquire(String key, LimitPolicy policy, Instant now) {
+        LimitingAlgorithm algorithm = LimitingAlgorithm.of(policy.getStrategy());
+        ClientStats stats = findByKey(key).orElseGet(() -> algorithm.newStats(policy, now));
+
+        Decision decision = algorithm.apply(stats, policy, now);
+        updateByKey(key, stats);
+        setTtlByKey(key, Duration.between(now, algorithm.expiresAt(stats, policy)));
+
+        return decision;
+    }
+
+    /**
+     * Counts a request against several keys, each under its own policy, and only allows it if all of them do.
+     * <p>
+     * Policies are checked in order and a request limited by one of them is not counted by the following ones,
+     * so checking the shortest windows first keeps rejected requests from using up the longer ones. The default
+     * implementation runs {@link #acquire(String, LimitPolicy, Instant)} on each key in turn, storages with
+     * round trips should override it to check every key in one.
+     *
+     * @return the decision of the policy that limited the request, {@link Decision#ALLOWED} if none did
+     */
+    default Decision acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+        for (int i = 0; i < keys.size(); i++) {
+            Decision decision = acquire(keys.get(i), policies.get(i), now);
+            if (decision.isLimited()) {
+                return decision;
+            }
+        }
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * Whether the next request on {@code key} would be limited, without counting one.
+     */
+    default boolean isLimited(String key, LimitPolicy policy, Instant now) {
+        LimitingAlgorithm algorithm = LimitingAlgorithm.of(policy.getStrategy());
+        ClientStats stats = findByKey(key).orElseGet(() -> algorithm.newStats(policy, now));
+
+        return algorithm.isLimited(stats, policy, now);
+    }
+
+    /**
+     * Whether policies of {@code strategy} can be evaluated, so that callers can reject the others before any
+     * request. Storages wrapping another one should ask it.
+     */
+    default boolean supports(LimitingStrategy strategy) {
+        return true;
+    }
 }
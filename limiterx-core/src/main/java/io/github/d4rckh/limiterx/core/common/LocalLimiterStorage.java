@@ -0,0 +1,21 @@
+package io.github.d4rckh.limiterx.core.common;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A storage holding its keys in the memory of the current node, which can report on them for monitoring.
+ */
+public interface LocalLimiterStorage extends LimiterStorage {
+
+    /**
+     * @return the number of keys currently held, including expired keys not yet removed
+     */
+    int size();
+
+    /**
+     * Calls {@code listener} with the duration in nanoseconds of each background pass removing expired keys,
+     * replacing the previous listener. Storages without a background pass never call it.
+     */
+    default void setSweepListener(LongConsumer listener) {
+    }
+}
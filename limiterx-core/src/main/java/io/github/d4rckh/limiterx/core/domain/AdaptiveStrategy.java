@@ -0,0 +1,19 @@
+package io.github.d4rckh.limiterx.core.domain;
+
+/**
+ * How an {@link io.github.d4rckh.limiterx.core.algorithm.AdaptiveLimit} follows the latency and errors of the calls
+ * it admits.
+ */
+public enum AdaptiveStrategy {
+    /**
+     * Additive increase, multiplicative decrease: the limit grows by one per {@code limit} quick, successful calls
+     * and shrinks by a tenth on each failed call or call slower than a latency threshold.
+     */
+    AIMD,
+
+    /**
+     * Compares the recent latency with the long-term one: the limit shrinks as soon as calls get slower than usual,
+     * down to half of it at once, and grows while they are not, without a fixed threshold to tune.
+     */
+    GRADIENT
+}
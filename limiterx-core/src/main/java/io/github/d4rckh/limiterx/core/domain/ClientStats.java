@@ -1,6 +1,5 @@
 package io.github.d4rckh.limiterx.core.domain;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -8,7 +7,6 @@ import java.io.Serializable;
 import java.time.Instant;
 
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class ClientStats implements Serializable {
     private long totalRequests;
@@ -16,6 +14,22 @@ public class ClientStats implements Serializable {
     private Instant blockedAt;
     private Instant lastReset;
 
+    /**
+     * Tokens left in the bucket as of {@code lastReset}, only used by {@link LimitingStrategy#TOKEN_BUCKET}.
+     */
+    private double tokens;
+
+    /**
+     * Requests admitted in the window before {@code lastReset}, only used by {@link LimitingStrategy#SLIDING_WINDOW}.
+     */
+    private long previousRequests;
+
+    public ClientStats(long totalRequests, Instant blockedAt, Instant lastReset) {
+        this.totalRequests = totalRequests;
+        this.blockedAt = blockedAt;
+        this.lastReset = lastReset;
+    }
+
     public void increaseTotalRequests() {
         totalRequests++;
     }
@@ -0,0 +1,29 @@
+package io.github.d4rckh.limiterx.core.domain;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@RequiredArgsConstructor
+public class Decision {
+    public static final Decision ALLOWED = new Decision(false, null);
+    public static final Decision LIMITED = new Decision(true, null);
+
+    private final boolean limited;
+
+    /**
+     * The end of the block the client is in, if the request was limited by a {@code blockFor} block.
+     * Until then every request on the key is limited, whatever the storage holds.
+     */
+    private final Instant blockedUntil;
+
+    public static Decision of(boolean limited) {
+        return limited ? LIMITED : ALLOWED;
+    }
+
+    public static Decision blockedUntil(Instant blockedUntil) {
+        return new Decision(true, blockedUntil);
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.d4rckh.limiterx.core.domain;
+
+/**
+ * How requests are limited while the shared storage is unavailable.
+ */
+public enum FailureMode {
+    /**
+     * Counts requests in a node-local storage, with the limits divided by the expected number of nodes.
+     */
+    FALLBACK,
+
+    /**
+     * Allows every request.
+     */
+    FAIL_OPEN,
+
+    /**
+     * Limits every request.
+     */
+    FAIL_CLOSED
+}
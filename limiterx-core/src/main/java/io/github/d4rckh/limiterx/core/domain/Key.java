@@ -15,8 +15,50 @@ public class Key {
     }
 
     public static Key fromClass(final Class<?> clazz, final String signature, final String key) {
-        return Key.of(
-            String.format("%s#%s#%s", clazz.getName(), signature, key)
-        );
+        return fromPrefix(prefixOf(clazz, signature), key);
+    }
+
+    /**
+     * The part of a {@link #fromClass(Class, String, String)} key that does not depend on the client,
+     * callers building many keys for the same method can compute it once and use {@link #fromPrefix(String, String)}.
+     */
+    public static String prefixOf(final Class<?> clazz, final String signature) {
+        return "LimiterX(" + clazz.getName() + "#" + signature + "#";
+    }
+
+    public static Key fromPrefix(final String prefix, final String key) {
+        return new Key(prefix + key + ")");
+    }
+
+    /**
+     * The key of the {@code index}-th policy when a request is limited by several policies at once,
+     * the first policy is stored under this key itself.
+     * <p>
+     * The other keys have the same {@link #hashTag(String)} as this key, so that all of them are stored on the
+     * same Redis Cluster slot, or shard of a {@code ShardedLimiterStorage}: they use this key's own hash tag if
+     * it has one, otherwise they make this whole key their hash tag.
+     */
+    public Key tier(final int index) {
+        if (index == 0) {
+            return this;
+        }
+        // A key with a closing brace but no hash tag cannot be wrapped in one
+        boolean tagged = hashTag(key).length() != key.length() || key.indexOf('}') >= 0;
+        return new Key(tagged ? key + "#" + index : "{" + key + "}#" + index);
+    }
+
+    /**
+     * The part of {@code key} Redis Cluster hashes to pick its slot: the content of the first {@code {...}}
+     * if it is not empty, otherwise the whole key.
+     */
+    public static String hashTag(final String key) {
+        int start = key.indexOf('{');
+        if (start >= 0) {
+            int end = key.indexOf('}', start + 1);
+            if (end > start + 1) {
+                return key.substring(start + 1, end);
+            }
+        }
+        return key;
     }
 }
@@ -0,0 +1,21 @@
+package io.github.d4rckh.limiterx.core.domain;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Requests of a fixed window reserved by one node, to be admitted locally without asking the storage.
+ */
+@Data
+@RequiredArgsConstructor
+public class Lease {
+    /**
+     * The reserved requests, {@code 0} when the window's requests are used up.
+     */
+    private final int permits;
+
+    private final Instant windowStart;
+    private final Instant windowEnd;
+}
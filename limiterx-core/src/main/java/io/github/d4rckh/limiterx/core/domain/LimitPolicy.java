@@ -0,0 +1,46 @@
+package io.github.d4rckh.limiterx.core.domain;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@RequiredArgsConstructor
+public class LimitPolicy {
+    private final LimitingStrategy strategy;
+    private final int maximumRequests;
+    private final int windowSeconds;
+
+    /**
+     * Block duration in seconds once the limit is exceeded, {@code null} when blocking is disabled.
+     */
+    private final Integer blockFor;
+
+    /**
+     * Burst size of a {@link LimitingStrategy#TOKEN_BUCKET}, unused by other strategies.
+     */
+    private final int capacity;
+
+    public static LimitPolicy of(int maximumRequests, int windowSeconds, Integer blockFor) {
+        return of(LimitingStrategy.FIXED_WINDOW, maximumRequests, windowSeconds, blockFor);
+    }
+
+    public static LimitPolicy of(LimitingStrategy strategy, int maximumRequests, int windowSeconds, Integer blockFor) {
+        return of(strategy, maximumRequests, windowSeconds, blockFor, maximumRequests);
+    }
+
+    /**
+     * @param capacity the token bucket burst size, {@code maximumRequests} when not positive
+     */
+    public static LimitPolicy of(LimitingStrategy strategy, int maximumRequests, int windowSeconds, Integer blockFor,
+                                 int capacity) {
+        return new LimitPolicy(strategy, maximumRequests, windowSeconds, blockFor,
+            capacity > 0 ? capacity : maximumRequests);
+    }
+
+    /**
+     * @return tokens refilled per second by a {@link LimitingStrategy#TOKEN_BUCKET}
+     */
+    public double getRefillRate() {
+        return (double) maximumRequests / windowSeconds;
+    }
+}
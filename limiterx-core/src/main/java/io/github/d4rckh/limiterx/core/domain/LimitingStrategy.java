@@ -0,0 +1,32 @@
+package io.github.d4rckh.limiterx.core.domain;
+
+/**
+ * The algorithm used to decide whether a request is limited.
+ */
+public enum LimitingStrategy {
+    /**
+     * Counts requests in a window opened by the first request, the counter resets
+     * once the window has passed. Allows up to twice the limit across a window boundary.
+     */
+    FIXED_WINDOW,
+
+    /**
+     * A bucket of {@code capacity} tokens refilled continuously at
+     * {@code maximumRequests / windowSeconds} tokens per second, each request takes one token.
+     */
+    TOKEN_BUCKET,
+
+    /**
+     * Approximates a rolling window by weighting the previous window's count with the share of
+     * it still covered by the rolling window. Keeps O(1) state per key and removes the
+     * boundary burst of {@link #FIXED_WINDOW}.
+     */
+    SLIDING_WINDOW,
+
+    /**
+     * Generic Cell Rate Algorithm: the token bucket expressed as a single "theoretical arrival
+     * time" per key. Same limits as {@link #TOKEN_BUCKET} with a fraction of the state, storages
+     * keep one integer per key instead of {@link ClientStats}.
+     */
+    GCRA
+}
@@ -0,0 +1,287 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.algorithm.LimitingAlgorithm;
+import io.github.d4rckh.limiterx.core.common.LocalLimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-memory storage holding at most a fixed number of keys, or a fixed estimated number of bytes,
+ * so a flood of unique keys (e.g. spoofed {@code X-Forwarded-For} addresses) cannot exhaust the heap.
+ * <p>
+ * Every request is recorded in a {@link FrequencySketch}. When the storage is full, a new key
+ * competes with an eviction candidate, the least frequent of a few sampled keys (an expired key
+ * is taken right away): the new key is only admitted if it was seen more often (TinyLFU admission).
+ * One-off keys are therefore rejected while the clients sending most of the traffic stay tracked.
+ * A rejected key is evaluated against fresh stats, i.e. treated as seen for the first time.
+ * <p>
+ * Requests on held keys only lock their own entry, the storage-wide lock is taken to insert or evict.
+ * Expired keys are not removed in the background, they are reset on access and evicted first.
+ */
+public class BoundedInMemoryLimiterStorage implements LocalLimiterStorage {
+    /** Rough heap footprint of an entry besides its key: map node, entry, stats and instants. */
+    static final long ENTRY_OVERHEAD_BYTES = 256;
+
+    private static final int EVICTION_SAMPLES = 8;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Entry> slots = new ArrayList<>();
+    private final ReentrantLock structureLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final long maximumWeight;
+    private final ToLongFunction<String> weigher;
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    private BoundedInMemoryLimiterStorage(long maximumWeight, ToLongFunction<String> weigher, long expectedEntries) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    /**
+     * @param maximumEntries the maximum number of keys held
+     */
+    public static BoundedInMemoryLimiterStorage ofMaximumEntries(long maximumEntries) {
+        return new BoundedInMemoryLimiterStorage(maximumEntries, key -> 1, maximumEntries);
+    }
+
+    /**
+     * @param maximumBytes the maximum estimated heap used by the held keys and their stats
+     */
+    public static BoundedInMemoryLimiterStorage ofMaximumBytes(long maximumBytes) {
+        return new BoundedInMemoryLimiterStorage(
+            maximumBytes,
+            BoundedInMemoryLimiterStorage::estimateBytes,
+            maximumBytes / (ENTRY_OVERHEAD_BYTES + 32)
+        );
+    }
+
+    @Override
+    public Optional<ClientStats> findByKey(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.isExpired(Instant.now())) {
+            return Optional.empty();
+        }
+        synchronized (entry) {
+            return Optional.ofNullable(entry.stats);
+        }
+    }
+
+    @Override
+    public void updateByKey(String key, ClientStats stats) {
+        sketch.increment(key);
+        while (true) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                admit(key, stats);
+                return;
+            }
+            synchronized (entry) {
+                if (!entry.removed) {
+                    entry.stats = stats;
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public Duration getTtlByKey(String key) {
+        Instant now = Instant.now();
+        return Optional.ofNullable(entries.get(key))
+            .map(entry -> entry.expiresAt)
+            .filter(expiry -> !expiry.isBefore(now))
+            .map(expiry -> Duration.between(now, expiry))
+            .orElse(Duration.ZERO);
+    }
+
+    @Override
+    public void setTtlByKey(String key, Duration ttl) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.expiresAt = Instant.now().plus(ttl);
+        }
+    }
+
+    /**
+     * Runs the check under the key's entry lock. A key that is not admitted is evaluated
+     * against fresh stats and not stored.
+     */
+    @Override
+    public Decision acquire(String key, LimitPolicy policy, Instant now) {
+        LimitingAlgorithm algorithm = LimitingAlgorithm.of(policy.getStrategy());
+        sketch.increment(key);
+
+        while (true) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                entry = admit(key, algorithm.newStats(policy, now));
+                if (entry == null) {
+                    return algorithm.apply(algorithm.newStats(policy, now), policy, now);
+                }
+            } else {
+                hits.increment();
+            }
+
+            synchronized (entry) {
+                // Evicted since it was looked up, retry on the new entry if any
+                if (entry.removed) {
+                    continue;
+                }
+                if (entry.isExpired(now)) {
+                    entry.stats = algorithm.newStats(policy, now);
+                }
+
+                Decision decision = algorithm.apply(entry.stats, policy, now);
+                entry.expiresAt = algorithm.expiresAt(entry.stats, policy);
+                return decision;
+            }
+        }
+    }
+
+    /**
+     * @return the number of keys currently held, including expired keys not yet evicted
+     */
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    public StorageStats stats() {
+        structureLock.lock();
+        try {
+            return new StorageStats(
+                hits.sum(), misses.sum(), evictions.sum(), rejections.sum(), slots.size(), weight
+            );
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    private Entry admit(String key, ClientStats stats) {
+        structureLock.lock();
+        try {
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            long entryWeight = weigher.applyAsLong(key);
+            Instant now = Instant.now();
+            while (weight + entryWeight > maximumWeight) {
+                if (!evictFor(key, now)) {
+                    rejections.increment();
+                    return null;
+                }
+            }
+
+            Entry entry = new Entry(key, entryWeight, slots.size(), stats);
+            slots.add(entry);
+            entries.put(key, entry);
+            weight += entryWeight;
+            return entry;
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Evicts one sampled key in favour of {@code candidate}, unless the candidate is seen less often.
+     *
+     * @return whether a key was evicted
+     */
+    private boolean evictFor(String candidate, Instant now) {
+        if (slots.isEmpty()) {
+            return false;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Entry victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int i = 0; i < EVICTION_SAMPLES; i++) {
+            Entry sampled = slots.get(random.nextInt(slots.size()));
+            if (sampled.isExpired(now)) {
+                victim = sampled;
+                victimFrequency = -1;
+                break;
+            }
+
+            int frequency = sketch.frequency(sampled.key);
+            if (frequency < victimFrequency) {
+                victim = sampled;
+                victimFrequency = frequency;
+            }
+        }
+
+        if (sketch.frequency(candidate) <= victimFrequency) {
+            return false;
+        }
+
+        remove(victim);
+        evictions.increment();
+        return true;
+    }
+
+    private void remove(Entry entry) {
+        synchronized (entry) {
+            entry.removed = true;
+        }
+        entries.remove(entry.key, entry);
+        weight -= entry.weight;
+
+        // Swap with the last slot so removal stays O(1)
+        Entry last = slots.removeLast();
+        if (last != entry) {
+            slots.set(entry.slot, last);
+            last.slot = entry.slot;
+        }
+    }
+
+    private static long estimateBytes(String key) {
+        return ENTRY_OVERHEAD_BYTES + 2L * key.length();
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final long weight;
+        // Guarded by structureLock
+        private int slot;
+        // Guarded by the entry's monitor
+        private ClientStats stats;
+        private boolean removed;
+        private volatile Instant expiresAt;
+
+        private Entry(String key, long weight, int slot, ClientStats stats) {
+            this.key = key;
+            this.weight = weight;
+            this.slot = slot;
+            this.stats = stats;
+        }
+
+        private boolean isExpired(Instant now) {
+            return expiresAt != null && expiresAt.isBefore(now);
+        }
+    }
+}
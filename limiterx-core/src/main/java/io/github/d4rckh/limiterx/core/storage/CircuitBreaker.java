@@ -0,0 +1,132 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.storage.CircuitBreakingLimiterStorage.State;
+
+/**
+ * Count-based circuit breaker of {@link CircuitBreakingLimiterStorage}.
+ * <p>
+ * The outcomes of the latest {@code windowSize} calls are kept in a ring. Once it holds {@code minimumCalls},
+ * the circuit opens when the share of failed or of slow calls reaches its threshold. After {@code openDuration}
+ * the circuit lets {@code halfOpenCalls} probe calls through: it closes once they all succeed quickly and opens
+ * again at the first one that does not.
+ */
+final class CircuitBreaker {
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final long slowCallNanos;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    // Guarded by this
+    private final byte[] outcomes;
+    private int next;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probes;
+    private int probeSuccesses;
+
+    CircuitBreaker(CircuitBreakerSettings settings) {
+        if (settings.getWindowSize() <= 0 || settings.getMinimumCalls() <= 0 || settings.getHalfOpenCalls() <= 0) {
+            throw new IllegalArgumentException("windowSize, minimumCalls and halfOpenCalls must be positive");
+        }
+
+        this.slowCallNanos = settings.getSlowCallDuration().toNanos();
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.slowCallRateThreshold = settings.getSlowCallRateThreshold();
+        this.minimumCalls = Math.min(settings.getMinimumCalls(), settings.getWindowSize());
+        this.openNanos = settings.getOpenDuration().toNanos();
+        this.halfOpenCalls = settings.getHalfOpenCalls();
+        this.outcomes = new byte[settings.getWindowSize()];
+    }
+
+    /**
+     * @return whether a call may go to the storage, every permitted call must be followed by its outcome
+     */
+    synchronized boolean tryAcquire(long nowNanos) {
+        if (state == State.OPEN) {
+            if (nowNanos - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probes = 0;
+            probeSuccesses = 0;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (probes == halfOpenCalls) {
+                return false;
+            }
+            probes++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess(long latencyNanos, long nowNanos) {
+        record(latencyNanos >= slowCallNanos ? SLOW : SUCCESS, nowNanos);
+    }
+
+    synchronized void onFailure(long nowNanos) {
+        record(FAILURE, nowNanos);
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(byte outcome, long nowNanos) {
+        switch (state) {
+            case OPEN -> {
+                // A call started before the circuit opened
+            }
+            case HALF_OPEN -> {
+                if (outcome != SUCCESS) {
+                    open(nowNanos);
+                } else if (++probeSuccesses == halfOpenCalls) {
+                    close();
+                }
+            }
+            case CLOSED -> {
+                if (calls == outcomes.length) {
+                    forget(outcomes[next]);
+                } else {
+                    calls++;
+                }
+                outcomes[next] = outcome;
+                next = (next + 1) % outcomes.length;
+                failures += outcome == FAILURE ? 1 : 0;
+                slowCalls += outcome == SLOW ? 1 : 0;
+
+                if (calls >= minimumCalls
+                    && (failures >= failureRateThreshold * calls || slowCalls >= slowCallRateThreshold * calls)) {
+                    open(nowNanos);
+                }
+            }
+        }
+    }
+
+    private void forget(byte outcome) {
+        failures -= outcome == FAILURE ? 1 : 0;
+        slowCalls -= outcome == SLOW ? 1 : 0;
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openedAt = nowNanos;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
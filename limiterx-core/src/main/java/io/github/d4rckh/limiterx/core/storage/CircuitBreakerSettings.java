@@ -0,0 +1,46 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.domain.FailureMode;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link CircuitBreakingLimiterStorage}, the defaults keep a request within a few milliseconds
+ * of the storage even when it stops answering.
+ */
+@Data
+public class CircuitBreakerSettings {
+    /** The longest a request waits for the storage before falling back. */
+    private Duration timeout = Duration.ofMillis(5);
+
+    /** Calls taking longer are slow, a circuit opens when too many calls are slow. */
+    private Duration slowCallDuration = Duration.ofMillis(2);
+
+    /** Share of failed or timed out calls opening the circuit. */
+    private double failureRateThreshold = 0.5;
+
+    /** Share of slow calls opening the circuit. */
+    private double slowCallRateThreshold = 0.5;
+
+    /** Number of latest calls the rates are measured on. */
+    private int windowSize = 100;
+
+    /** Calls needed in the window before the rates are trusted. */
+    private int minimumCalls = 20;
+
+    /** How long an open circuit keeps the storage out of the request path before probing it. */
+    private Duration openDuration = Duration.ofSeconds(5);
+
+    /** Probe calls that must succeed, one after the other, to close the circuit again. */
+    private int halfOpenCalls = 5;
+
+    /** Calls to the storage in progress at once, further requests fall back right away. */
+    private int maximumConcurrentCalls = 1_000;
+
+    /** How requests are limited while the circuit is open or a call fails. */
+    private FailureMode failureMode = FailureMode.FALLBACK;
+
+    /** Nodes sharing the storage, the local fallback allows each node its share of the limits. */
+    private int expectedNodes = 1;
+}
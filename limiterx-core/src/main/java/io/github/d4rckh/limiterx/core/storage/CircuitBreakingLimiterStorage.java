@@ -0,0 +1,238 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.FailureMode;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a shared storage, e.g. Redis, from slowing requests down when it is slow or unavailable.
+ * <p>
+ * Every request is counted by the delegate on a virtual thread, and waits for it at most {@code timeout}. Failed
+ * and timed out calls, as well as calls slower than {@code slowCallDuration}, feed a circuit breaker: once too many
+ * of the latest calls failed or were slow, the circuit opens and the delegate is left out of the request path for
+ * {@code openDuration}, before a few probe calls decide whether it recovered. At most
+ * {@code maximumConcurrentCalls} calls wait on the delegate at once, so a storage that stopped answering cannot
+ * pile up threads.
+ * <p>
+ * Requests that cannot be counted by the delegate are limited according to the {@link FailureMode}: by a node-local
+ * {@code fallback} storage allowing each of the {@code expectedNodes} nodes its share of the limits, or by allowing
+ * or limiting them all. A timed out call is not cancelled, the delegate may still count it.
+ * <p>
+ * Only {@link #acquire}, {@link #acquireAll} and {@link #isLimited} are protected, the other operations are passed
+ * to the delegate as they are.
+ */
+public class CircuitBreakingLimiterStorage implements LimiterStorage, AutoCloseable {
+
+    public enum State {
+        /** Requests are counted by the delegate. */
+        CLOSED,
+        /** Requests are limited according to the failure mode, without calling the delegate. */
+        OPEN,
+        /** A few probe calls go to the delegate, the other requests are limited as when open. */
+        HALF_OPEN
+    }
+
+    private final LimiterStorage delegate;
+    private final LimiterStorage fallback;
+    private final boolean ownsFallback;
+    private final FailureMode failureMode;
+    private final int expectedNodes;
+    private final long timeoutNanos;
+    private final CircuitBreaker breaker;
+    private final Semaphore concurrentCalls;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentMap<LimitPolicy, LimitPolicy> localPolicies = new ConcurrentHashMap<>();
+
+    /**
+     * Falls back to an {@link InMemoryLimiterStorage} owned by this storage and closed with it.
+     */
+    public CircuitBreakingLimiterStorage(LimiterStorage delegate, CircuitBreakerSettings settings) {
+        this(delegate, new InMemoryLimiterStorage(), true, settings);
+    }
+
+    /**
+     * @param fallback the node-local storage of {@link FailureMode#FALLBACK}, left open on {@link #close()}
+     */
+    public CircuitBreakingLimiterStorage(LimiterStorage delegate, LimiterStorage fallback,
+                                         CircuitBreakerSettings settings) {
+        this(delegate, fallback, false, settings);
+    }
+
+    private CircuitBreakingLimiterStorage(LimiterStorage delegate, LimiterStorage fallback, boolean ownsFallback,
+                                          CircuitBreakerSettings settings) {
+        if (settings.getTimeout().isNegative() || settings.getTimeout().isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        if (settings.getExpectedNodes() <= 0 || settings.getMaximumConcurrentCalls() <= 0) {
+            throw new IllegalArgumentException("expectedNodes and maximumConcurrentCalls must be positive");
+        }
+
+        this.delegate = delegate;
+        this.fallback = fallback;
+        this.ownsFallback = ownsFallback;
+        this.failureMode = settings.getFailureMode();
+        this.expectedNodes = settings.getExpectedNodes();
+        this.timeoutNanos = settings.getTimeout().toNanos();
+        this.breaker = new CircuitBreaker(settings);
+        this.concurrentCalls = new Semaphore(settings.getMaximumConcurrentCalls());
+    }
+
+    @Override
+    public Optional<ClientStats> findByKey(String key) {
+        return delegate.findByKey(key);
+    }
+
+    @Override
+    public void updateByKey(String key, ClientStats stats) {
+        delegate.updateByKey(key, stats);
+    }
+
+    @Override
+    public Duration getTtlByKey(String key) {
+        return delegate.getTtlByKey(key);
+    }
+
+    @Override
+    public void setTtlByKey(String key, Duration ttl) {
+        delegate.setTtlByKey(key, ttl);
+    }
+
+    @Override
+    public Decision acquire(String key, LimitPolicy policy, Instant now) {
+        return call(
+            () -> delegate.acquire(key, policy, now),
+            () -> fallback.acquire(key, localPolicy(policy), now),
+            Decision.ALLOWED, Decision.LIMITED
+        );
+    }
+
+    @Override
+    public Decision acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+        return call(
+            () -> delegate.acquireAll(keys, policies, now),
+            () -> fallback.acquireAll(keys, policies.stream().map(this::localPolicy).toList(), now),
+            Decision.ALLOWED, Decision.LIMITED
+        );
+    }
+
+    @Override
+    public boolean isLimited(String key, LimitPolicy policy, Instant now) {
+        return call(
+            () -> delegate.isLimited(key, policy, now),
+            () -> fallback.isLimited(key, localPolicy(policy), now),
+            false, true
+        );
+    }
+
+    @Override
+    public boolean supports(LimitingStrategy strategy) {
+        return delegate.supports(strategy);
+    }
+
+    /**
+     * @return the state of the circuit, e.g. for health checks
+     */
+    public State getState() {
+        return breaker.getState();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        if (ownsFallback && fallback instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                // Nothing left to count, the fallback only held local state
+            }
+        }
+    }
+
+    /**
+     * @param allowed the result of a request allowed by {@link FailureMode#FAIL_OPEN}
+     * @param limited the result of a request limited by {@link FailureMode#FAIL_CLOSED}
+     */
+    private <T> T call(Callable<T> remote, Supplier<T> local, T allowed, T limited) {
+        long start = System.nanoTime();
+        if (!breaker.tryAcquire(start)) {
+            return degrade(local, allowed, limited);
+        }
+        if (!concurrentCalls.tryAcquire()) {
+            // Calls are piling up on a storage that stopped answering
+            breaker.onFailure(start);
+            return degrade(local, allowed, limited);
+        }
+
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                try {
+                    return remote.call();
+                } finally {
+                    concurrentCalls.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected once closed
+            concurrentCalls.release();
+            return degrade(local, allowed, limited);
+        }
+
+        try {
+            T value = result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            long end = System.nanoTime();
+            breaker.onSuccess(end - start, end);
+            return value;
+        } catch (TimeoutException | ExecutionException e) {
+            breaker.onFailure(System.nanoTime());
+        } catch (InterruptedException e) {
+            // Still report the call, a half open circuit waits for the outcome of its probes
+            breaker.onFailure(System.nanoTime());
+            Thread.currentThread().interrupt();
+        }
+        return degrade(local, allowed, limited);
+    }
+
+    private <T> T degrade(Supplier<T> local, T allowed, T limited) {
+        return switch (failureMode) {
+            case FALLBACK -> local.get();
+            case FAIL_OPEN -> allowed;
+            case FAIL_CLOSED -> limited;
+        };
+    }
+
+    /**
+     * @return the share of {@code policy} a node may admit on its own
+     */
+    private LimitPolicy localPolicy(LimitPolicy policy) {
+        if (expectedNodes == 1) {
+            return policy;
+        }
+        return localPolicies.computeIfAbsent(policy, p -> LimitPolicy.of(
+            p.getStrategy(),
+            Math.ceilDiv(p.getMaximumRequests(), expectedNodes),
+            p.getWindowSeconds(),
+            p.getBlockFor(),
+            Math.ceilDiv(p.getCapacity(), expectedNodes)
+        ));
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local deny cache in front of another {@link LimiterStorage}.
+ * <p>
+ * Once the delegate reports a key as blocked (see {@link Decision#getBlockedUntil()}), requests on that key
+ * are rejected locally without reaching the delegate until the block ends. Blocked clients are the ones sending
+ * the most requests, so this removes most of the storage traffic during an attack. A blocked client's requests
+ * never change its block, so the outcome is the same as asking the delegate, except that a block lifted on
+ * the delegate directly is only noticed once it would have ended.
+ * <p>
+ * At most {@code maximumKeys} blocks are cached, further blocks are simply not cached. Ended blocks are removed
+ * when their key is requested, or to make room once the cache is full, at most once per second so that a full cache
+ * does not cost a scan per blocked request.
+ */
+public class DenyCachingLimiterStorage implements LimiterStorage {
+    private static final int DEFAULT_MAXIMUM_KEYS = 100_000;
+    private static final Duration SWEEP_INTERVAL = Duration.ofSeconds(1);
+
+    private final LimiterStorage delegate;
+    private final int maximumKeys;
+    private final ConcurrentMap<String, Instant> blockedUntil = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    public DenyCachingLimiterStorage(LimiterStorage delegate) {
+        this(delegate, DEFAULT_MAXIMUM_KEYS);
+    }
+
+    public DenyCachingLimiterStorage(LimiterStorage delegate, int maximumKeys) {
+        this.delegate = delegate;
+        this.maximumKeys = maximumKeys;
+    }
+
+    @Override
+    public Optional<ClientStats> findByKey(String key) {
+        return delegate.findByKey(key);
+    }
+
+    @Override
+    public void updateByKey(String key, ClientStats stats) {
+        blockedUntil.remove(key);
+        delegate.updateByKey(key, stats);
+    }
+
+    @Override
+    public Duration getTtlByKey(String key) {
+        return delegate.getTtlByKey(key);
+    }
+
+    @Override
+    public void setTtlByKey(String key, Duration ttl) {
+        blockedUntil.remove(key);
+        delegate.setTtlByKey(key, ttl);
+    }
+
+    @Override
+    public Decision acquire(String key, LimitPolicy policy, Instant now) {
+        Instant cached = cachedBlock(key, now);
+        if (cached != null) {
+            return Decision.blockedUntil(cached);
+        }
+
+        Decision decision = delegate.acquire(key, policy, now);
+        if (decision.getBlockedUntil() != null && decision.getBlockedUntil().isAfter(now)) {
+            cache(key, decision.getBlockedUntil(), now);
+        }
+        return decision;
+    }
+
+    /**
+     * Like {@link #acquire(String, LimitPolicy, Instant)}, a block of any policy is cached under the first key:
+     * until it ends every request on these keys is limited by that policy anyway.
+     */
+    @Override
+    public Decision acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+        Instant cached = cachedBlock(keys.getFirst(), now);
+        if (cached != null) {
+            return Decision.blockedUntil(cached);
+        }
+
+        Decision decision = delegate.acquireAll(keys, policies, now);
+        if (decision.getBlockedUntil() != null && decision.getBlockedUntil().isAfter(now)) {
+            cache(keys.getFirst(), decision.getBlockedUntil(), now);
+        }
+        return decision;
+    }
+
+    @Override
+    public boolean isLimited(String key, LimitPolicy policy, Instant now) {
+        return cachedBlock(key, now) != null || delegate.isLimited(key, policy, now);
+    }
+
+    @Override
+    public boolean supports(LimitingStrategy strategy) {
+        return delegate.supports(strategy);
+    }
+
+    /**
+     * @return the number of keys currently blocked locally, including ended blocks not yet removed
+     */
+    public int size() {
+        return blockedUntil.size();
+    }
+
+    private Instant cachedBlock(String key, Instant now) {
+        Instant until = blockedUntil.get(key);
+        if (until == null) {
+            return null;
+        }
+        if (until.isAfter(now)) {
+            return until;
+        }
+
+        blockedUntil.remove(key, until);
+        return null;
+    }
+
+    private void cache(String key, Instant until, Instant now) {
+        if (blockedUntil.size() >= maximumKeys) {
+            // Make room from ended blocks, if there are none the block is only enforced by the delegate
+            sweepIfDue(now);
+            if (blockedUntil.size() >= maximumKeys) {
+                return;
+            }
+        }
+        blockedUntil.put(key, until);
+    }
+
+    private void sweepIfDue(Instant now) {
+        long due = nextSweep.get();
+        if (now.toEpochMilli() >= due && nextSweep.compareAndSet(due, now.plus(SWEEP_INTERVAL).toEpochMilli())) {
+            blockedUntil.values().removeIf(end -> !end.isAfter(now));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Hashed timing wheel that fires expiry callbacks off the request path.
+ * <p>
+ * Scheduling is O(1): an entry is appended to the slot of the tick it expires in, entries
+ * further away than one revolution simply stay in their slot until their tick comes around.
+ * A single daemon thread advances the wheel once per tick and only visits the slots that
+ * became due, so the cost of expiry no longer grows with the number of keys per lookup.
+ * <p>
+ * Callbacks receive the expiry the entry was scheduled with, owners are expected to ignore
+ * entries whose expiry has been moved since.
+ */
+public final class ExpiryWheel implements AutoCloseable {
+    private final long tickMillis;
+    private final Queue<?>[] slots;
+    private final BiConsumer<String, Instant> onExpiry;
+    private final ScheduledExecutorService executor;
+
+    private volatile LongConsumer tickListener = _ -> {
+    };
+    private long lastTick;
+
+    public ExpiryWheel(Duration tick, int slotCount, BiConsumer<String, Instant> onExpiry) {
+        if (tick.toMillis() <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("Tick and slot count must be positive");
+        }
+
+        this.tickMillis = tick.toMillis();
+        this.slots = new Queue<?>[slotCount];
+        this.onExpiry = onExpiry;
+
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ConcurrentLinkedQueue<Entry>();
+        }
+
+        this.lastTick = Instant.now().toEpochMilli() / tickMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "limiterx-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Calls {@code listener} with the duration in nanoseconds of each tick of the wheel thread.
+     */
+    public void setTickListener(LongConsumer listener) {
+        this.tickListener = listener;
+    }
+
+    public void schedule(String key, Instant expiry) {
+        // Round up so an entry never fires before its expiry
+        long tick = Math.ceilDiv(expiry.toEpochMilli(), tickMillis);
+        slot(tick).add(new Entry(key, expiry, tick));
+    }
+
+    /**
+     * Fires every entry due at {@code now}. Called by the wheel thread, exposed for deterministic tests.
+     */
+    public synchronized void advance(Instant now) {
+        long currentTick = now.toEpochMilli() / tickMillis;
+        long ticks = Math.min(currentTick - lastTick, slots.length);
+
+        for (long tick = currentTick - ticks + 1; tick <= currentTick; tick++) {
+            drain(slot(tick), currentTick);
+        }
+
+        lastTick = Math.max(lastTick, currentTick);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        advance(Instant.now());
+        tickListener.accept(System.nanoTime() - start);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Queue<Entry> slot(long tick) {
+        // Only ever filled with entry queues by the constructor
+        return (Queue<Entry>) slots[(int) (tick % slots.length)];
+    }
+
+    private void drain(Queue<Entry> slot, long currentTick) {
+        List<Entry> pending = new ArrayList<>();
+
+        Entry entry;
+        while ((entry = slot.poll()) != null) {
+            if (entry.tick() > currentTick) {
+                pending.add(entry); // due in a later revolution
+            } else {
+                onExpiry.accept(entry.key(), entry.expiry());
+            }
+        }
+
+        slot.addAll(pending);
+    }
+
+    private record Entry(String key, Instant expiry, long tick) {
+    }
+}
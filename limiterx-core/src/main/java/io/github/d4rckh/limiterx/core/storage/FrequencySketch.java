@@ -0,0 +1,105 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often each key was seen recently.
+ * <p>
+ * Each key maps to one counter in each of four rows, its frequency is the smallest of them.
+ * Once {@code 10 * width} increments were recorded all counters are halved, so old heavy hitters
+ * fade out. Counters are updated with compare-and-set, concurrent halving and increments may
+ * lose a count which is fine for an estimate.
+ * <p>
+ * Keys are hashed from their characters with a random seed of each sketch rather than from
+ * {@link String#hashCode()}, whose collisions are easy to craft: colliding keys would share every
+ * counter, letting fresh keys borrow the frequency of a key sent beforehand.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+        0x97cb3127L, 0xbdc1e48bL, 0xc2b2ae35L, 0x9e3779b9L
+    };
+    private static final long HALVE_MASK = 0x7777_7777_7777_7777L;
+    private static final int MAXIMUM_COUNT = 15;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+    private final long seed = new SecureRandom().nextLong();
+
+    FrequencySketch(long expectedEntries) {
+        int width = Integer.highestOneBit(Math.clamp(expectedEntries, 16, 1 << 26) * 2 - 1);
+        this.table = new AtomicLongArray(width);
+        this.tableMask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    int frequency(String key) {
+        int hash = hashOf(key);
+        int frequency = MAXIMUM_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long word = table.get(indexOf(hash, row));
+            frequency = Math.min(frequency, (int) (word >>> offsetOf(hash, row)) & MAXIMUM_COUNT);
+        }
+        return frequency;
+    }
+
+    void increment(String key) {
+        int hash = hashOf(key);
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            added |= incrementAt(indexOf(hash, row), offsetOf(hash, row));
+        }
+
+        if (added && additions.incrementAndGet() >= sampleSize) {
+            halve();
+        }
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        while (true) {
+            long word = table.get(index);
+            if (((word >>> offset) & MAXIMUM_COUNT) == MAXIMUM_COUNT) {
+                return false;
+            }
+            if (table.compareAndSet(index, word, word + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    private synchronized void halve() {
+        // Another thread may have halved already while this one waited
+        if (additions.get() < sampleSize) {
+            return;
+        }
+
+        for (int i = 0; i < table.length(); i++) {
+            long word;
+            do {
+                word = table.get(i);
+            } while (!table.compareAndSet(i, word, (word >>> 1) & HALVE_MASK));
+        }
+        additions.set(sampleSize / 2);
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return (int) (h + (h >>> 32)) & tableMask;
+    }
+
+    private static int offsetOf(int hash, int row) {
+        // Each row picks one of the 16 counters of its word from a different byte of the hash
+        return ((hash >>> (row << 3)) & 0xF) << 2;
+    }
+
+    /**
+     * {@link Hashing#hash(String, long)} with the seed of the sketch, folded to 32 bits.
+     */
+    private int hashOf(String key) {
+        long hash = Hashing.hash(key, seed);
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
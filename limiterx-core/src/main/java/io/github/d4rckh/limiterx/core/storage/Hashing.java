@@ -0,0 +1,27 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+/**
+ * The key hash shared by the storages: a 64-bit FNV-1a of the characters, followed by the MurmurHash3
+ * finalizer to spread close strings (e.g. {@code node#1} and {@code node#2}) over all 64 bits.
+ * <p>
+ * Users hashing the same keys for different purposes pick different seeds, so that keys colliding for one
+ * do not collide for the other.
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * @param seed the FNV offset basis to start from
+     */
+    static long hash(String value, long seed) {
+        long hash = seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
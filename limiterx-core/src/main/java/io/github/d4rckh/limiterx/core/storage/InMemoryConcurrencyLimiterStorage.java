@@ -0,0 +1,44 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.common.ConcurrencyLimiterStorage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Counts the calls in progress on each key in a local map, keys without calls are removed.
+ * <p>
+ * Permits live in the same process as the calls holding them and are released when they end, so leases and
+ * permit ids are not tracked.
+ */
+public class InMemoryConcurrencyLimiterStorage implements ConcurrencyLimiterStorage {
+    private final ConcurrentMap<String, Integer> calls = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(String key, String permitId, int maximumConcurrentCalls, Duration lease, Instant now) {
+        boolean[] acquired = new boolean[1];
+        calls.compute(key, (_, current) -> {
+            int count = current == null ? 0 : current;
+            if (count >= maximumConcurrentCalls) {
+                return current;
+            }
+            acquired[0] = true;
+            return count + 1;
+        });
+        return acquired[0];
+    }
+
+    @Override
+    public void release(String key, String permitId) {
+        calls.computeIfPresent(key, (_, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * @return the calls in progress on {@code key}
+     */
+    public int getCalls(String key) {
+        return calls.getOrDefault(key, 0);
+    }
+}
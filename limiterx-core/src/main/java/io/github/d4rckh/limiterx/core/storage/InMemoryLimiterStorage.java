@@ -1,24 +1,70 @@
 package io.github.d4rckh.limiterx.core.storage;
 
-import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.algorithm.GcraAlgorithm;
+import io.github.d4rckh.limiterx.core.algorithm.LimitingAlgorithm;
+import io.github.d4rckh.limiterx.core.common.LocalLimiterStorage;
 import io.github.d4rckh.limiterx.core.domain.ClientStats;
-import lombok.RequiredArgsConstructor;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Keeps client stats in local maps. Expired keys are read as absent right away and removed
+ * in the background by an {@link ExpiryWheel}, so lookups stay O(1) regardless of the key count.
+ * <p>
+ * {@link LimitingStrategy#GCRA} keys are held as a single {@link AtomicLong} updated with
+ * compare-and-set, they are exposed through {@link #findByKey(String)} as stats whose
+ * {@code lastReset} is the theoretical arrival time.
+ * <p>
+ * The keys can be written to a file with {@link #writeSnapshot(Path)} and loaded back, e.g. after a restart, with
+ * {@link #restoreSnapshot(Path)}, see {@link InMemorySnapshotter}.
+ * <p>
+ * Call {@link #close()} to stop the expiry thread.
+ */
+public class InMemoryLimiterStorage implements LocalLimiterStorage, AutoCloseable {
+    private static final Duration DEFAULT_TICK = Duration.ofSeconds(1);
+    private static final int DEFAULT_SLOTS = 512;
+    private static final long DEAD = Long.MIN_VALUE;
 
-@RequiredArgsConstructor
-public class InMemoryLimiterStorage implements LimiterStorage {
     private final ConcurrentMap<String, ClientStats> storage = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, Instant> ttlMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final ExpiryWheel expiryWheel;
+
+    public InMemoryLimiterStorage() {
+        this(DEFAULT_TICK);
+    }
+
+    public InMemoryLimiterStorage(Duration expiryTick) {
+        this.expiryWheel = new ExpiryWheel(expiryTick, DEFAULT_SLOTS, this::expire);
+    }
 
     @Override
     public Optional<ClientStats> findByKey(String key) {
-        cleanupExpiredKeys();
+        AtomicLong arrival = arrivals.get(key);
+        if (arrival != null) {
+            long tat = arrival.get();
+            return tat == DEAD
+                ? Optional.empty()
+                : Optional.of(new ClientStats(0, null, GcraAlgorithm.toInstant(tat)));
+        }
+
+        if (isExpired(key, Instant.now())) {
+            return Optional.empty();
+        }
         return Optional.ofNullable(storage.get(key));
     }
 
@@ -29,24 +75,234 @@ public class InMemoryLimiterStorage implements LimiterStorage {
 
     @Override
     public Duration getTtlByKey(String key) {
-        cleanupExpiredKeys();
-        return Optional.ofNullable(ttlMap.get(key))
-            .map(expiry -> Duration.between(Instant.now(), expiry))
+        Instant now = Instant.now();
+        AtomicLong arrival = arrivals.get(key);
+        long tat = arrival == null ? DEAD : arrival.get();
+        Instant expiresAt = tat == DEAD ? ttlMap.get(key) : GcraAlgorithm.toInstant(tat);
+
+        return Optional.ofNullable(expiresAt)
+            .filter(expiry -> !expiry.isBefore(now))
+            .map(expiry -> Duration.between(now, expiry))
             .orElse(Duration.ZERO);
     }
 
     @Override
     public void setTtlByKey(String key, Duration ttl) {
-        ttlMap.put(key, Instant.now().plus(ttl));
+        scheduleExpiry(key, Instant.now().plus(ttl));
+    }
+
+    /**
+     * Runs the whole check under the map's per-key lock, so concurrent requests
+     * on the same key can neither lose increments nor over-admit.
+     */
+    @Override
+    public Decision acquire(String key, LimitPolicy policy, Instant now) {
+        if (policy.getStrategy() == LimitingStrategy.GCRA) {
+            return acquireArrival(key, policy, now);
+        }
+
+        LimitingAlgorithm algorithm = LimitingAlgorithm.of(policy.getStrategy());
+        Decision[] decision = new Decision[1];
+
+        storage.compute(key, (k, stats) -> {
+            if (stats == null || isExpired(k, now)) {
+                stats = algorithm.newStats(policy, now);
+            }
+
+            decision[0] = algorithm.apply(stats, policy, now);
+            scheduleExpiry(k, algorithm.expiresAt(stats, policy));
+            return stats;
+        });
+
+        return decision[0];
+    }
+
+    /**
+     * Writes the live keys to {@code path}, replacing it once complete so that readers never see a partial snapshot.
+     * Requests are not held up, keys changed while the snapshot is written may be saved before or after the change.
+     *
+     * @return the number of keys written, keys too long for the snapshot format are left out
+     */
+    public long writeSnapshot(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Instant now = Instant.now();
+        long nowMicros = GcraAlgorithm.toMicros(now);
+        long keys = 0;
+
+        try (SnapshotFormat.Writer writer = new SnapshotFormat.Writer(temporary)) {
+            for (Map.Entry<String, AtomicLong> entry : arrivals.entrySet()) {
+                long tat = entry.getValue().get();
+                if (tat != DEAD && tat >= nowMicros && writer.writeArrival(entry.getKey(), tat)) {
+                    keys++;
+                }
+            }
+
+            for (String key : storage.keySet()) {
+                Instant expiry = ttlMap.get(key);
+                ClientStats stats = copyOf(key);
+                boolean live = stats != null && (expiry == null || !expiry.isBefore(now));
+                if (live && writer.writeStats(key, stats, expiry)) {
+                    keys++;
+                }
+            }
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return keys;
     }
 
-    private void cleanupExpiredKeys() {
+    /**
+     * Loads the keys of a snapshot written by {@link #writeSnapshot(Path)}, leaving out the keys that expired since.
+     * Keys already held are kept as they are.
+     *
+     * @return the number of keys loaded, {@code 0} if there is no snapshot at {@code path}
+     * @throws IOException if the snapshot cannot be read, the keys read until then are kept
+     */
+    public long restoreSnapshot(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
         Instant now = Instant.now();
-        ttlMap.forEach((key, expiry) -> {
-            if (expiry.isBefore(now)) {
-                storage.remove(key);
-                ttlMap.remove(key);
+        long nowMicros = GcraAlgorithm.toMicros(now);
+        long[] restored = new long[1];
+
+        SnapshotFormat.read(path, new SnapshotFormat.Visitor() {
+            @Override
+            public void stats(String key, ClientStats stats, Instant expiresAt) {
+                if ((expiresAt == null || !expiresAt.isBefore(now)) && storage.putIfAbsent(key, stats) == null) {
+                    if (expiresAt != null) {
+                        scheduleExpiry(key, expiresAt);
+                    }
+                    restored[0]++;
+                }
+            }
+
+            @Override
+            public void arrival(String key, long tat) {
+                if (tat >= nowMicros && arrivals.putIfAbsent(key, new AtomicLong(tat)) == null) {
+                    expiryWheel.schedule(key, GcraAlgorithm.toInstant(tat));
+                    restored[0]++;
+                }
             }
         });
+        return restored[0];
+    }
+
+    /**
+     * @return the number of keys currently held, including expired keys not yet swept
+     */
+    @Override
+    public int size() {
+        return storage.size() + arrivals.size();
+    }
+
+    /**
+     * Listens to the ticks of the {@link ExpiryWheel}, which remove the keys expired since the previous tick.
+     */
+    @Override
+    public void setSweepListener(LongConsumer listener) {
+        expiryWheel.setTickListener(listener);
+    }
+
+    @Override
+    public void close() {
+        expiryWheel.close();
+    }
+
+    private void scheduleExpiry(String key, Instant expiry) {
+        // A key always has a wheel entry due no later than its expiry, which moves itself on when it fires early,
+        // so only an expiry moved earlier needs a new one and requests pushing the expiry back are free
+        Instant previous = ttlMap.put(key, expiry);
+        if (previous == null || expiry.isBefore(previous)) {
+            expiryWheel.schedule(key, expiry);
+        }
+    }
+
+    /**
+     * Copies the stats of {@code key} under its lock, so that a concurrent request cannot be half-seen.
+     */
+    private ClientStats copyOf(String key) {
+        ClientStats[] copy = new ClientStats[1];
+        storage.computeIfPresent(key, (k, stats) -> {
+            copy[0] = new ClientStats(stats.getTotalRequests(), stats.getBlockedAt(), stats.getLastReset());
+            copy[0].setTokens(stats.getTokens());
+            copy[0].setPreviousRequests(stats.getPreviousRequests());
+            return stats;
+        });
+        return copy[0];
+    }
+
+    private boolean isExpired(String key, Instant now) {
+        Instant expiry = ttlMap.get(key);
+        return expiry != null && expiry.isBefore(now);
+    }
+
+    private Decision acquireArrival(String key, LimitPolicy policy, Instant now) {
+        GcraAlgorithm gcra = GcraAlgorithm.INSTANCE;
+        long nowMicros = GcraAlgorithm.toMicros(now);
+
+        while (true) {
+            AtomicLong arrival = arrivals.get(key);
+            if (arrival == null) {
+                AtomicLong created = new AtomicLong(nowMicros);
+                arrival = arrivals.putIfAbsent(key, created);
+                if (arrival == null) {
+                    arrival = created;
+                    expiryWheel.schedule(key, now);
+                }
+            }
+
+            long tat = arrival.get();
+            if (tat == DEAD) {
+                // Expired concurrently, retry on a fresh entry
+                arrivals.remove(key, arrival);
+                continue;
+            }
+
+            long next = gcra.next(tat, nowMicros, policy);
+            if (next == tat || arrival.compareAndSet(tat, next)) {
+                return gcra.decide(tat, next, nowMicros, policy);
+            }
+        }
+    }
+
+    private void expire(String key, Instant scheduled) {
+        AtomicLong arrival = arrivals.get(key);
+        if (arrival != null) {
+            expireArrival(key, arrival);
+            return;
+        }
+
+        // Re-checked under the key's lock, requests may have moved the expiry since it was scheduled
+        storage.compute(key, (k, stats) -> {
+            Instant expiry = ttlMap.get(k);
+            if (expiry != null && !expiry.isAfter(Instant.now()) && ttlMap.remove(k, expiry)) {
+                return null;
+            }
+
+            Instant current = ttlMap.get(k);
+            if (current != null) {
+                expiryWheel.schedule(k, current);
+            }
+            return stats;
+        });
+    }
+
+    private void expireArrival(String key, AtomicLong arrival) {
+        long tat = arrival.get();
+        if (tat == DEAD) {
+            return;
+        }
+
+        Instant arrivalTime = GcraAlgorithm.toInstant(tat);
+        if (arrivalTime.isAfter(Instant.now())) {
+            // Requests moved the arrival time since it was scheduled, check again then
+            expiryWheel.schedule(key, arrivalTime);
+        } else if (arrival.compareAndSet(tat, DEAD)) {
+            arrivals.remove(key, arrival);
+        } else {
+            expireArrival(key, arrival);
+        }
     }
 }
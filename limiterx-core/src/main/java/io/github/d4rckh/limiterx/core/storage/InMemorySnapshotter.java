@@ -0,0 +1,80 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a snapshot of an {@link InMemoryLimiterStorage} on local disk, so that a restarted node remembers
+ * the counters and blocks of its clients.
+ * <p>
+ * The snapshot is written every {@code interval} by a background thread and a last time on {@link #close()},
+ * and is loaded back by {@link #restore()}, which should run before the storage takes requests. Keys expired
+ * in the meantime are left out.
+ * <p>
+ * Failed writes are passed to {@code onError} and retried at the next interval.
+ */
+public class InMemorySnapshotter implements AutoCloseable {
+    private final InMemoryLimiterStorage storage;
+    private final Path path;
+    private final Consumer<IOException> onError;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * @param path     the snapshot file, written through a temporary file next to it
+     * @param interval the delay between two snapshots
+     * @param onError  called with the failures of the background and final snapshots
+     */
+    public InMemorySnapshotter(InMemoryLimiterStorage storage, Path path, Duration interval,
+                               Consumer<IOException> onError) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+
+        this.storage = storage;
+        this.path = path;
+        this.onError = onError;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "limiterx-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::snapshot, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Loads the last snapshot into the storage, see {@link InMemoryLimiterStorage#restoreSnapshot(Path)}.
+     *
+     * @return the number of keys loaded
+     */
+    public long restore() throws IOException {
+        return storage.restoreSnapshot(path);
+    }
+
+    /**
+     * Stops the background snapshots and writes a last one.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            // Let a running snapshot finish, the final one replaces it
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshot();
+    }
+
+    private void snapshot() {
+        try {
+            storage.writeSnapshot(path);
+        } catch (IOException e) {
+            onError.accept(e);
+        }
+    }
+}
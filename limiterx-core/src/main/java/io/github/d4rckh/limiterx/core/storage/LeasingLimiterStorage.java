@@ -0,0 +1,395 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.common.LeasableLimiterStorage;
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.Lease;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits requests on hot keys from batches reserved in a shared {@link LeasableLimiterStorage},
+ * instead of asking it for every request.
+ * <p>
+ * Each node leases part of a key's window and spends it locally. Lease sizes follow the rate the node sees
+ * on the key, so that a lease lasts about {@code renewalInterval}, within {@code maximumLeaseSize} and a tenth
+ * of the window's requests. The next lease is requested ahead, when a quarter of the current one is left, by
+ * the request taking that permit, while concurrent requests keep being admitted locally.
+ * <p>
+ * Leased requests are counted when they are reserved, so nodes together never admit more than the limit,
+ * but requests leased by one node cannot be admitted by another: up to a lease per node may go unused in
+ * a window. Unused requests are given back on {@link #close()}, at the end of a window they expire with it.
+ * Once the shared window is used up, the key is limited locally until the window ends.
+ * <p>
+ * Only {@link LimitingStrategy#FIXED_WINDOW} policies without blocking, allowing at least
+ * {@value #MINIMUM_LEASED_REQUESTS} requests, are leased. Other policies are passed to the delegate, those of
+ * {@link #acquireAll(List, List, Instant)} in a single call.
+ */
+public class LeasingLimiterStorage implements LimiterStorage, AutoCloseable {
+    static final int MINIMUM_LEASED_REQUESTS = 20;
+
+    private static final int MAXIMUM_SHARE = 10;
+    private static final Duration DEFAULT_RENEWAL_INTERVAL = Duration.ofMillis(100);
+    private static final int DEFAULT_MAXIMUM_LEASE_SIZE = 1_000;
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    private final LeasableLimiterStorage delegate;
+    private final Duration renewalInterval;
+    private final int maximumLeaseSize;
+    private final ConcurrentMap<String, LocalQuota> quotas = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    public LeasingLimiterStorage(LeasableLimiterStorage delegate) {
+        this(delegate, DEFAULT_RENEWAL_INTERVAL, DEFAULT_MAXIMUM_LEASE_SIZE);
+    }
+
+    /**
+     * @param renewalInterval  how long a lease should last at the observed rate, longer leases save more calls
+     *                         to the delegate but leave more requests unused when the rate drops
+     * @param maximumLeaseSize the most requests reserved at once by this node, per key
+     */
+    public LeasingLimiterStorage(LeasableLimiterStorage delegate, Duration renewalInterval, int maximumLeaseSize) {
+        if (renewalInterval.isNegative() || renewalInterval.isZero()) {
+            throw new IllegalArgumentException("renewalInterval must be positive");
+        }
+        if (maximumLeaseSize <= 0) {
+            throw new IllegalArgumentException("maximumLeaseSize must be positive");
+        }
+        this.delegate = delegate;
+        this.renewalInterval = renewalInterval;
+        this.maximumLeaseSize = maximumLeaseSize;
+    }
+
+    @Override
+    public Optional<ClientStats> findByKey(String key) {
+        return delegate.findByKey(key);
+    }
+
+    @Override
+    public void updateByKey(String key, ClientStats stats) {
+        delegate.updateByKey(key, stats);
+    }
+
+    @Override
+    public Duration getTtlByKey(String key) {
+        return delegate.getTtlByKey(key);
+    }
+
+    @Override
+    public void setTtlByKey(String key, Duration ttl) {
+        delegate.setTtlByKey(key, ttl);
+    }
+
+    @Override
+    public Decision acquire(String key, LimitPolicy policy, Instant now) {
+        if (!isLeased(policy)) {
+            return delegate.acquire(key, policy, now);
+        }
+
+        sweepIfDue(now);
+        return acquireLeased(key, policy, now, null);
+    }
+
+    /**
+     * Settles the leased policies locally, in order, then passes the others to the delegate in one
+     * {@link LimiterStorage#acquireAll(List, List, Instant)} call, so that tiers still take a single round trip.
+     * <p>
+     * A request the delegate limits is given back to the leased policies following the first delegated one, which
+     * would not have counted it if the policies had been checked in order.
+     */
+    @Override
+    public Decision acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+        if (policies.stream().noneMatch(this::isLeased)) {
+            return delegate.acquireAll(keys, policies, now);
+        }
+
+        sweepIfDue(now);
+        List<String> delegatedKeys = new ArrayList<>(keys.size());
+        List<LimitPolicy> delegatedPolicies = new ArrayList<>(policies.size());
+        List<LocalQuota> admittedAfterDelegated = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            LimitPolicy policy = policies.get(i);
+            if (!isLeased(policy)) {
+                delegatedKeys.add(keys.get(i));
+                delegatedPolicies.add(policy);
+                continue;
+            }
+
+            Decision decision = acquireLeased(
+                keys.get(i), policy, now, delegatedKeys.isEmpty() ? null : admittedAfterDelegated
+            );
+            if (decision.isLimited()) {
+                admittedAfterDelegated.forEach(quota -> quota.refund(now));
+                return decision;
+            }
+        }
+
+        if (delegatedKeys.isEmpty()) {
+            return Decision.ALLOWED;
+        }
+        Decision decision = delegate.acquireAll(delegatedKeys, delegatedPolicies, now);
+        if (decision.isLimited()) {
+            admittedAfterDelegated.forEach(quota -> quota.refund(now));
+        }
+        return decision;
+    }
+
+    @Override
+    public boolean isLimited(String key, LimitPolicy policy, Instant now) {
+        LocalQuota quota = isLeased(policy) ? quotas.get(key) : null;
+        Boolean limited = quota == null ? null : quota.isLimited(now);
+        return limited != null ? limited : delegate.isLimited(key, policy, now);
+    }
+
+    @Override
+    public boolean supports(LimitingStrategy strategy) {
+        return delegate.supports(strategy);
+    }
+
+    /**
+     * @return the number of keys with a local quota, including ended windows not yet swept
+     */
+    public int size() {
+        return quotas.size();
+    }
+
+    /**
+     * Gives back the unused leased requests, so that other nodes can admit them in the current windows.
+     */
+    @Override
+    public void close() {
+        quotas.values().forEach(LocalQuota::release);
+        quotas.clear();
+    }
+
+    private boolean isLeased(LimitPolicy policy) {
+        return policy.getStrategy() == LimitingStrategy.FIXED_WINDOW
+            && policy.getBlockFor() == null
+            && policy.getMaximumRequests() >= MINIMUM_LEASED_REQUESTS;
+    }
+
+    /**
+     * @param admitted collects the quota if it admits the request, {@code null} if not needed
+     */
+    private Decision acquireLeased(String key, LimitPolicy policy, Instant now, List<LocalQuota> admitted) {
+        while (true) {
+            LocalQuota quota = quotas.computeIfAbsent(key, LocalQuota::new);
+            Decision decision = quota.acquire(policy, now);
+            if (decision != null) {
+                if (admitted != null && !decision.isLimited()) {
+                    admitted.add(quota);
+                }
+                return decision;
+            }
+            // The quota was swept after it was looked up, the next lookup creates a new one
+        }
+    }
+
+    private void sweepIfDue(Instant now) {
+        long due = nextSweep.get();
+        if (now.toEpochMilli() >= due && nextSweep.compareAndSet(due, now.plus(SWEEP_INTERVAL).toEpochMilli())) {
+            // Quotas of ended windows hold nothing, drop them so that cold keys do not pile up
+            for (LocalQuota quota : quotas.values()) {
+                if (quota.retireIfIdle(now)) {
+                    quotas.remove(quota.key, quota);
+                }
+            }
+        }
+    }
+
+    private final class LocalQuota {
+        private final String key;
+        // Not a monitor, leases are requested while holding it and would pin virtual threads
+        private final ReentrantLock lock = new ReentrantLock();
+        // Guarded by the lock
+        private LimitPolicy policy;
+        private Lease lease;
+        private int remaining;
+        private int leaseSize = 1;
+        private int spent;
+        private Instant leasedAt;
+        private boolean renewing;
+        private boolean retired;
+
+        private LocalQuota(String key) {
+            this.key = key;
+        }
+
+        /**
+         * @return the decision, {@code null} if the quota was swept and must not be used anymore
+         */
+        private Decision acquire(LimitPolicy policy, Instant now) {
+            boolean renewAhead;
+            lock.lock();
+            try {
+                if (retired) {
+                    return null;
+                }
+                this.policy = policy;
+                if (lease != null && now.isAfter(lease.getWindowEnd())) {
+                    // The window ended, its unused requests expired with it
+                    lease = null;
+                    remaining = 0;
+                }
+
+                if (remaining == 0) {
+                    if (lease != null && lease.getPermits() == 0) {
+                        // The shared window is used up
+                        return Decision.LIMITED;
+                    }
+
+                    // Leased under the lock, concurrent requests on the key wait for it rather than lease too
+                    add(delegate.lease(key, policy, nextLeaseSize(policy, now), now));
+                    if (remaining == 0) {
+                        return Decision.LIMITED;
+                    }
+                }
+
+                remaining--;
+                spent++;
+                renewAhead = !renewing && remaining <= leaseSize / 4;
+                renewing |= renewAhead;
+            } finally {
+                lock.unlock();
+            }
+
+            if (renewAhead) {
+                renewAhead(policy, now);
+            }
+            return Decision.ALLOWED;
+        }
+
+        private void renewAhead(LimitPolicy policy, Instant now) {
+            try {
+                int size;
+                lock.lock();
+                try {
+                    size = nextLeaseSize(policy, now);
+                } finally {
+                    lock.unlock();
+                }
+                Lease next = delegate.lease(key, policy, size, now);
+                lock.lock();
+                try {
+                    add(next);
+                } finally {
+                    lock.unlock();
+                }
+            } catch (RuntimeException e) {
+                // This request is already admitted, the lease is retried once the permits run out
+            } finally {
+                lock.lock();
+                try {
+                    renewing = false;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Sizes the next lease to last the renewal interval at the rate seen since the previous one.
+         */
+        private int nextLeaseSize(LimitPolicy policy, Instant now) {
+            int cap = Math.min(maximumLeaseSize, policy.getMaximumRequests() / MAXIMUM_SHARE);
+            if (leasedAt != null) {
+                long elapsed = Duration.between(leasedAt, now).toNanos();
+                // Without time to measure the rate, e.g. a burst at the same instant, the lease doubles instead
+                double size = elapsed <= 0
+                    ? 2.0 * leaseSize
+                    : Math.ceil((double) spent * renewalInterval.toNanos() / elapsed);
+                leaseSize = Math.clamp((long) size, 1, cap);
+            }
+            leasedAt = now;
+            spent = 0;
+            return leaseSize;
+        }
+
+        private void add(Lease next) {
+            if (lease != null && next.getWindowStart().isBefore(lease.getWindowStart())) {
+                // Leased before the window moved on, its requests expired with the previous window
+                return;
+            }
+
+            boolean sameWindow = lease != null && next.getWindowStart().equals(lease.getWindowStart());
+            remaining = sameWindow ? remaining + next.getPermits() : next.getPermits();
+            lease = next;
+        }
+
+        /**
+         * @return whether the next request would be limited, {@code null} if only the delegate knows
+         */
+        private Boolean isLimited(Instant now) {
+            lock.lock();
+            try {
+                if (lease == null || now.isAfter(lease.getWindowEnd())) {
+                    return null;
+                }
+                if (remaining > 0) {
+                    return false;
+                }
+                return lease.getPermits() == 0 ? true : null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Retires the quota if it holds nothing, a retired quota admits no request and is to be removed.
+         *
+         * @return whether the quota is retired
+         */
+        private boolean retireIfIdle(Instant now) {
+            lock.lock();
+            try {
+                retired |= !renewing && (lease == null || now.isAfter(lease.getWindowEnd()));
+                return retired;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Gives back a request admitted at {@code now} and then limited by another policy, if its window is current.
+         */
+        private void refund(Instant now) {
+            lock.lock();
+            try {
+                if (lease != null && !now.isAfter(lease.getWindowEnd())) {
+                    remaining++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release() {
+            lock.lock();
+            try {
+                if (lease == null || remaining == 0) {
+                    return;
+                }
+
+                try {
+                    delegate.release(key, policy, lease, remaining);
+                } catch (RuntimeException e) {
+                    // Best effort, the requests expire with the window anyway
+                }
+                remaining = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.common.LocalLimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Single-node fixed window engine that keeps every key in one map entry of primitive longs.
+ * <p>
+ * The window start and request count are packed into a single {@code long} and advanced with
+ * a compare-and-set, the block start and the end of the key's lifetime are plain longs written only
+ * when a client gets blocked or its TTL is set. Once a key exists, {@link #performLimiting(String, int, long, long, long)} neither
+ * locks nor allocates. Idle keys are swept by a background thread instead of on the request path.
+ * <p>
+ * Semantics match {@link io.github.d4rckh.limiterx.core.algorithm.FixedWindowAlgorithm}, with
+ * two limits of the packed layout: request counts saturate at {@value #MAXIMUM_COUNT} and times
+ * before {@code 2020-01-01T00:00:00Z} are not supported. Other strategies are not supported either.
+ * <p>
+ * Call {@link #close()} to stop the sweeper thread.
+ */
+public class LockFreeInMemoryLimiterStorage implements LocalLimiterStorage, AutoCloseable {
+    public static final long MAXIMUM_COUNT = (1L << 24) - 1;
+
+    private static final int COUNT_BITS = 24;
+    private static final long EPOCH_MILLIS = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+    private static final long DEAD = -1L;
+    // Outcomes of acquireMillis besides the end of a block
+    private static final long ALLOWED = -1L;
+    private static final long LIMITED = 0L;
+    private static final Duration DEFAULT_SWEEP_INTERVAL = Duration.ofSeconds(1);
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Cell.class, "state", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ConcurrentMap<String, Cell> cells = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+    private volatile LongConsumer sweepListener = _ -> {
+    };
+
+    public LockFreeInMemoryLimiterStorage() {
+        this(DEFAULT_SWEEP_INTERVAL);
+    }
+
+    public LockFreeInMemoryLimiterStorage(Duration sweepInterval) {
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "limiterx-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(
+            () -> {
+                long start = System.nanoTime();
+                sweep(System.currentTimeMillis());
+                sweepListener.accept(System.nanoTime() - start);
+            },
+            sweepInterval.toMillis(), sweepInterval.toMillis(), TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Counts a request against {@code key} without locking or allocating once the key exists.
+     *
+     * @param maximumRequests requests allowed per window, below {@value #MAXIMUM_COUNT}
+     * @param windowMillis    window size in milliseconds
+     * @param blockMillis     block duration in milliseconds, {@code 0} when blocking is disabled
+     * @param nowMillis       the time of the request in epoch milliseconds
+     * @return {@code true} if the request is limited
+     */
+    public boolean performLimiting(String key, int maximumRequests, long windowMillis, long blockMillis, long nowMillis) {
+        return acquireMillis(key, maximumRequests, windowMillis, blockMillis, nowMillis) != ALLOWED;
+    }
+
+    /**
+     * Like {@link #performLimiting(String, int, long, long, long)}, with the end of the client's block.
+     *
+     * @return the end of the block in epoch milliseconds, {@link #LIMITED} if the request is limited without
+     * a block, {@link #ALLOWED} if it is not
+     */
+    private long acquireMillis(String key, int maximumRequests, long windowMillis, long blockMillis, long nowMillis) {
+        if (maximumRequests >= MAXIMUM_COUNT) {
+            throw new IllegalArgumentException("maximumRequests must be below " + MAXIMUM_COUNT);
+        }
+
+        long now = nowMillis - EPOCH_MILLIS;
+
+        while (true) {
+            Cell cell = cells.get(key);
+            if (cell == null) {
+                cell = cells.computeIfAbsent(key, _ -> new Cell());
+            }
+            if (cell.windowMillis != windowMillis) {
+                cell.windowMillis = windowMillis;
+            }
+
+            long state = cell.state;
+            if (state == DEAD) {
+                // Swept concurrently, retry on a fresh cell
+                cells.remove(key, cell);
+                continue;
+            }
+
+            long windowStart = state >>> COUNT_BITS;
+            long count = state & MAXIMUM_COUNT;
+
+            // Reset request window if expired
+            if (windowStart + windowMillis < now) {
+                windowStart = now;
+                count = 0;
+            }
+
+            if (count < MAXIMUM_COUNT) {
+                count++;
+            }
+
+            if (!STATE.compareAndSet(cell, state, windowStart << COUNT_BITS | count)) {
+                continue;
+            }
+
+            // Check if client is currently blocked
+            if (blockMillis > 0 && cell.blockedAt != 0 && cell.blockedAt + blockMillis > now) {
+                return cell.blockedAt + blockMillis + EPOCH_MILLIS;
+            }
+
+            // Check if client exceeded request limit and should be blocked
+            if (count > maximumRequests) {
+                if (blockMillis > 0) {
+                    cell.blockedAt = now;
+                    cell.keepUntil = Math.max(cell.keepUntil, now + blockMillis);
+                    return now + blockMillis + EPOCH_MILLIS;
+                }
+                return LIMITED;
+            }
+
+            return ALLOWED;
+        }
+    }
+
+    /**
+     * Only evaluates {@link LimitingStrategy#FIXED_WINDOW} policies, see {@link #supports(LimitingStrategy)}.
+     */
+    @Override
+    public Decision acquire(String key, LimitPolicy policy, Instant now) {
+        long blockedUntil = acquireMillis(
+            key,
+            policy.getMaximumRequests(),
+            policy.getWindowSeconds() * 1000L,
+            policy.getBlockFor() == null ? 0 : policy.getBlockFor() * 1000L,
+            now.toEpochMilli()
+        );
+        if (blockedUntil == ALLOWED) {
+            return Decision.ALLOWED;
+        }
+        return blockedUntil == LIMITED ? Decision.LIMITED : Decision.blockedUntil(Instant.ofEpochMilli(blockedUntil));
+    }
+
+    @Override
+    public Optional<ClientStats> findByKey(String key) {
+        Cell cell = cells.get(key);
+        long state = cell == null ? DEAD : cell.state;
+        if (state == DEAD) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new ClientStats(
+            state & MAXIMUM_COUNT,
+            cell.blockedAt == 0 ? null : Instant.ofEpochMilli(cell.blockedAt + EPOCH_MILLIS),
+            Instant.ofEpochMilli((state >>> COUNT_BITS) + EPOCH_MILLIS)
+        ));
+    }
+
+    /**
+     * Replaces the stats of {@code key}. The block end is unknown without a policy, so a key
+     * written here may be swept once its window ends even if its block lasts longer.
+     */
+    @Override
+    public void updateByKey(String key, ClientStats stats) {
+        Cell cell = new Cell();
+        cell.state = (stats.getLastReset().toEpochMilli() - EPOCH_MILLIS) << COUNT_BITS
+            | Math.min(stats.getTotalRequests(), MAXIMUM_COUNT);
+        if (stats.getBlockedAt() != null) {
+            cell.blockedAt = stats.getBlockedAt().toEpochMilli() - EPOCH_MILLIS;
+            cell.keepUntil = cell.blockedAt;
+        }
+        cells.put(key, cell);
+    }
+
+    @Override
+    public Duration getTtlByKey(String key) {
+        Cell cell = cells.get(key);
+        if (cell == null || cell.state == DEAD) {
+            return Duration.ZERO;
+        }
+
+        long remaining = cell.expiresAt(cell.state) - (System.currentTimeMillis() - EPOCH_MILLIS);
+        return remaining > 0 ? Duration.ofMillis(remaining) : Duration.ZERO;
+    }
+
+    /**
+     * Keeps {@code key} for at least {@code ttl}. Its lifetime is otherwise derived from its window and block,
+     * and is never shortened below the end of its window.
+     */
+    @Override
+    public void setTtlByKey(String key, Duration ttl) {
+        Cell cell = cells.get(key);
+        if (cell != null) {
+            long keepUntil = System.currentTimeMillis() - EPOCH_MILLIS + ttl.toMillis();
+            cell.keepUntil = Math.max(cell.keepUntil, keepUntil);
+        }
+    }
+
+    /**
+     * @return whether {@code strategy} is {@link LimitingStrategy#FIXED_WINDOW}, the only one fitting the packed layout
+     */
+    @Override
+    public boolean supports(LimitingStrategy strategy) {
+        return strategy == LimitingStrategy.FIXED_WINDOW;
+    }
+
+    /**
+     * @return the number of keys currently held, including expired keys not yet swept
+     */
+    @Override
+    public int size() {
+        return cells.size();
+    }
+
+    @Override
+    public void setSweepListener(LongConsumer listener) {
+        this.sweepListener = listener;
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    void sweep(long nowMillis) {
+        long now = nowMillis - EPOCH_MILLIS;
+
+        cells.forEach((key, cell) -> {
+            long state = cell.state;
+            // The CAS fails if a request touched the key after we looked at it
+            if (state != DEAD && cell.expiresAt(state) < now && STATE.compareAndSet(cell, state, DEAD)) {
+                cells.remove(key, cell);
+            }
+        });
+    }
+
+    private static final class Cell {
+        volatile long state;
+        volatile long windowMillis;
+        volatile long blockedAt;
+        volatile long keepUntil;
+
+        long expiresAt(long state) {
+            return Math.max((state >>> COUNT_BITS) + windowMillis, keepUntil);
+        }
+    }
+}
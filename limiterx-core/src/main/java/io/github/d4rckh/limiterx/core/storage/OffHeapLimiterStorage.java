@@ -0,0 +1,442 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.algorithm.LimitingAlgorithm;
+import io.github.d4rckh.limiterx.core.common.LocalLimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Keeps client stats outside of the Java heap, in open-addressing hash tables of fixed-size slots held by direct
+ * {@link ByteBuffer}s, for nodes tracking millions of keys.
+ * <p>
+ * A key is only held as a 64-bit hash of its characters, next to its stats and expiry, in a {@value #SLOT_BYTES}
+ * bytes slot. No Java object is kept per key, so the heap and the work of the garbage collector do not grow with
+ * the key count. Two keys with the same hash share their stats, which for 64-bit hashes is unlikely below billions
+ * of keys.
+ * <p>
+ * The table is split into {@value #SEGMENTS} segments, each behind its own lock, probed linearly. Expired keys are
+ * read as absent and their slots are reused by new keys right away, a background pass removes them every
+ * {@code sweepInterval}. A segment doubles once three quarters of its slots are used, after dropping its expired keys.
+ * Size the storage with the expected key count to avoid growing, the memory is only given back when the storage
+ * is garbage collected.
+ * <p>
+ * Every {@link io.github.d4rckh.limiterx.core.domain.LimitingStrategy} is supported, with the semantics of
+ * {@link InMemoryLimiterStorage}. Times are held in microseconds.
+ * <p>
+ * Call {@link #close()} to stop the sweeper thread.
+ */
+public class OffHeapLimiterStorage implements LocalLimiterStorage, AutoCloseable {
+    static final int SLOT_BYTES = 56;
+    static final int SEGMENTS = 64;
+
+    private static final int DEFAULT_EXPECTED_KEYS = 1 << 16;
+    private static final Duration DEFAULT_SWEEP_INTERVAL = Duration.ofSeconds(10);
+    private static final int MINIMUM_SEGMENT_SLOTS = 16;
+    // Largest power of two of slots fitting in a ByteBuffer
+    private static final int MAXIMUM_SEGMENT_SLOTS = Integer.highestOneBit(Integer.MAX_VALUE / SLOT_BYTES);
+    private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    // Slot layout, byte offsets of its longs
+    private static final int HASH = 0;
+    private static final int EXPIRES_AT = 8;
+    private static final int TOTAL_REQUESTS = 16;
+    private static final int BLOCKED_AT = 24;
+    private static final int LAST_RESET = 32;
+    private static final int TOKENS = 40;
+    private static final int PREVIOUS_REQUESTS = 48;
+
+    private static final long EMPTY = 0;
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final ScheduledExecutorService sweeper;
+    private volatile LongConsumer sweepListener = _ -> {
+    };
+
+    public OffHeapLimiterStorage() {
+        this(DEFAULT_EXPECTED_KEYS);
+    }
+
+    public OffHeapLimiterStorage(int expectedKeys) {
+        this(expectedKeys, DEFAULT_SWEEP_INTERVAL);
+    }
+
+    /**
+     * @param expectedKeys  the number of keys to allocate slots for up front
+     * @param sweepInterval the delay between two passes removing expired keys
+     */
+    public OffHeapLimiterStorage(int expectedKeys, Duration sweepInterval) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("expectedKeys must be positive");
+        }
+
+        // Slots for the expected keys at three quarters of the capacity
+        long slots = Math.ceilDiv(expectedKeys * 4L / 3, SEGMENTS);
+        int segmentSlots = Math.clamp(Long.highestOneBit(Math.max(1, slots - 1)) << 1,
+            MINIMUM_SEGMENT_SLOTS, MAXIMUM_SEGMENT_SLOTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentSlots);
+        }
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "limiterx-off-heap-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(
+            () -> {
+                long start = System.nanoTime();
+                sweep(toMicros(Instant.now()));
+                sweepListener.accept(System.nanoTime() - start);
+            },
+            sweepInterval.toMillis(), sweepInterval.toMillis(), TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public Optional<ClientStats> findByKey(String key) {
+        long hash = hash(key);
+        Segment segment = segmentOf(hash);
+
+        segment.lock.lock();
+        try {
+            int slot = segment.find(hash, toMicros(Instant.now()));
+            return slot < 0 ? Optional.empty() : Optional.of(segment.read(slot));
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the stats of {@code key}, keeping its expiry. A new key does not expire until
+     * {@link #setTtlByKey(String, Duration)} is called.
+     */
+    @Override
+    public void updateByKey(String key, ClientStats stats) {
+        long hash = hash(key);
+        Segment segment = segmentOf(hash);
+        long now = toMicros(Instant.now());
+
+        segment.lock.lock();
+        try {
+            int slot = segment.find(hash, now);
+            long expiresAt = slot < 0 ? Long.MAX_VALUE : segment.slots.getLong(slot + EXPIRES_AT);
+            segment.write(slot < 0 ? segment.insert(hash, now) : slot, stats, expiresAt);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public Duration getTtlByKey(String key) {
+        long hash = hash(key);
+        Segment segment = segmentOf(hash);
+        long now = toMicros(Instant.now());
+
+        segment.lock.lock();
+        try {
+            int slot = segment.find(hash, now);
+            long expiresAt = slot < 0 ? now : segment.slots.getLong(slot + EXPIRES_AT);
+            return expiresAt == Long.MAX_VALUE ? Duration.ZERO : Duration.of(expiresAt - now, ChronoUnit.MICROS);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void setTtlByKey(String key, Duration ttl) {
+        long hash = hash(key);
+        Segment segment = segmentOf(hash);
+        long now = toMicros(Instant.now());
+
+        segment.lock.lock();
+        try {
+            int slot = segment.find(hash, now);
+            if (slot >= 0) {
+                segment.slots.putLong(slot + EXPIRES_AT, now + ttl.toNanos() / 1_000);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the whole check under the lock of the key's segment, so concurrent requests
+     * on the same key can neither lose increments nor over-admit.
+     */
+    @Override
+    public Decision acquire(String key, LimitPolicy policy, Instant now) {
+        LimitingAlgorithm algorithm = LimitingAlgorithm.of(policy.getStrategy());
+        long hash = hash(key);
+        Segment segment = segmentOf(hash);
+        long nowMicros = toMicros(now);
+
+        segment.lock.lock();
+        try {
+            int slot = segment.find(hash, nowMicros);
+            ClientStats stats;
+            if (slot < 0) {
+                slot = segment.insert(hash, nowMicros);
+                stats = algorithm.newStats(policy, now);
+            } else {
+                stats = segment.read(slot);
+            }
+
+            Decision decision = algorithm.apply(stats, policy, now);
+            segment.write(slot, stats, toMicros(algorithm.expiresAt(stats, policy)));
+            return decision;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of keys currently held, including expired keys not yet swept
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * @return the bytes of direct memory held by the slots
+     */
+    public long getAllocatedBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.slots.capacity();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void setSweepListener(LongConsumer listener) {
+        this.sweepListener = listener;
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    void sweep(long nowMicros) {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.removeExpired(nowMicros);
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private Segment segmentOf(long hash) {
+        // High bits pick the segment, low bits the slot within it
+        return segments[(int) (hash >>> SEGMENT_SHIFT)];
+    }
+
+    /**
+     * {@link Hashing#hash(String, long)}, seeded apart from {@link ShardedLimiterStorage} so that the keys of
+     * one shard still spread over every segment.
+     */
+    static long hash(String key) {
+        long hash = Hashing.hash(key, 0x84222325cbf29ce4L);
+        // Zero marks empty slots
+        return hash == EMPTY ? 1 : hash;
+    }
+
+    private static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private static Instant toInstant(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    /**
+     * An open-addressing table with linear probing, guarded by {@link #lock}. Slots are addressed by byte offset.
+     */
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private ByteBuffer slots;
+        private int mask;
+        private volatile int size;
+
+        private Segment(int capacity) {
+            allocate(capacity);
+        }
+
+        /**
+         * @return the offset of the live slot of {@code hash}, or {@code -1}
+         */
+        private int find(long hash, long now) {
+            int index = (int) hash & mask;
+            while (true) {
+                int slot = index * SLOT_BYTES;
+                long slotHash = slots.getLong(slot + HASH);
+                if (slotHash == EMPTY) {
+                    return -1;
+                }
+                if (slotHash == hash) {
+                    return isExpired(slot, now) ? -1 : slot;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        /**
+         * Claims a slot for {@code hash}, which must not be live: its own expired slot, the first expired slot
+         * on its probe sequence or the empty slot ending it.
+         *
+         * @return the offset of the slot, to be written
+         */
+        private int insert(long hash, long now) {
+            if (size >= threshold()) {
+                makeRoom(now);
+            }
+
+            int index = (int) hash & mask;
+            int reusable = -1;
+            while (true) {
+                int slot = index * SLOT_BYTES;
+                long slotHash = slots.getLong(slot + HASH);
+                if (slotHash == hash) {
+                    return slot;
+                }
+                if (slotHash == EMPTY) {
+                    if (reusable >= 0) {
+                        slots.putLong(reusable + HASH, hash);
+                        return reusable;
+                    }
+                    slots.putLong(slot + HASH, hash);
+                    size++;
+                    return slot;
+                }
+                if (reusable < 0 && isExpired(slot, now)) {
+                    reusable = slot;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        private ClientStats read(int slot) {
+            long blockedAt = slots.getLong(slot + BLOCKED_AT);
+            ClientStats stats = new ClientStats(
+                slots.getLong(slot + TOTAL_REQUESTS),
+                blockedAt == NONE ? null : toInstant(blockedAt),
+                toInstant(slots.getLong(slot + LAST_RESET))
+            );
+            stats.setTokens(Double.longBitsToDouble(slots.getLong(slot + TOKENS)));
+            stats.setPreviousRequests(slots.getLong(slot + PREVIOUS_REQUESTS));
+            return stats;
+        }
+
+        private void write(int slot, ClientStats stats, long expiresAt) {
+            slots.putLong(slot + EXPIRES_AT, expiresAt);
+            slots.putLong(slot + TOTAL_REQUESTS, stats.getTotalRequests());
+            slots.putLong(slot + BLOCKED_AT, stats.getBlockedAt() == null ? NONE : toMicros(stats.getBlockedAt()));
+            slots.putLong(slot + LAST_RESET, toMicros(stats.getLastReset()));
+            slots.putLong(slot + TOKENS, Double.doubleToRawLongBits(stats.getTokens()));
+            slots.putLong(slot + PREVIOUS_REQUESTS, stats.getPreviousRequests());
+        }
+
+        private boolean isExpired(int slot, long now) {
+            return slots.getLong(slot + EXPIRES_AT) < now;
+        }
+
+        private void makeRoom(long now) {
+            int before = size;
+            removeExpired(now);
+            // Growing is cheaper than sweeping again soon if few keys expired
+            if (size > before - before / 4) {
+                grow(now);
+            }
+        }
+
+        private void removeExpired(long now) {
+            for (int index = 0; index <= mask; index++) {
+                int slot = index * SLOT_BYTES;
+                // A removal shifts the next key of the probe sequence into the slot, check it again
+                while (slots.getLong(slot + HASH) != EMPTY && isExpired(slot, now)) {
+                    remove(index);
+                }
+            }
+        }
+
+        /**
+         * Empties the slot at {@code index} by shifting back the following keys of its probe sequence,
+         * so that lookups never stop early on a hole.
+         */
+        private void remove(int index) {
+            int hole = index;
+            int next = (hole + 1) & mask;
+            while (true) {
+                long nextHash = slots.getLong(next * SLOT_BYTES + HASH);
+                if (nextHash == EMPTY) {
+                    break;
+                }
+                int home = (int) nextHash & mask;
+                // The key may fill the hole unless its home lies cyclically after the hole
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    slots.put(hole * SLOT_BYTES, slots, next * SLOT_BYTES, SLOT_BYTES);
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            slots.putLong(hole * SLOT_BYTES + HASH, EMPTY);
+            size--;
+        }
+
+        private void grow(long now) {
+            int capacity = mask + 1;
+            if (capacity == MAXIMUM_SEGMENT_SLOTS) {
+                if (size < capacity - 1) {
+                    // Over the load factor but not full, probes get longer
+                    return;
+                }
+                throw new IllegalStateException("Off-heap storage segment is full at " + capacity + " keys");
+            }
+
+            ByteBuffer previous = slots;
+            allocate(capacity * 2);
+            size = 0;
+            for (int slot = 0; slot < previous.capacity(); slot += SLOT_BYTES) {
+                long hash = previous.getLong(slot + HASH);
+                if (hash != EMPTY && previous.getLong(slot + EXPIRES_AT) >= now) {
+                    int index = (int) hash & mask;
+                    while (slots.getLong(index * SLOT_BYTES + HASH) != EMPTY) {
+                        index = (index + 1) & mask;
+                    }
+                    slots.put(index * SLOT_BYTES, previous, slot, SLOT_BYTES);
+                    size++;
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            slots = ByteBuffer.allocateDirect(capacity * SLOT_BYTES).order(ByteOrder.nativeOrder());
+            mask = capacity - 1;
+        }
+
+        private int threshold() {
+            return (mask + 1) / 4 * 3;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.common.LeasableLimiterStorage;
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.Lease;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Spreads keys across several storages, e.g. one per Redis node, by consistent hashing.
+ * <p>
+ * Every shard is placed on a hash ring at {@code virtualNodes} points derived from its name, and a key belongs to
+ * the first shard point following the hash of the key. Adding or removing a shard only moves the keys of its own
+ * points, about one in {@code shards} keys, and the virtual nodes keep the shards evenly loaded.
+ * <p>
+ * Keys are hashed by their {@link Key#hashTag(String)}, like Redis Cluster does, so the keys of
+ * {@link Key#tier(int)} are on the same shard and {@link #acquireAll(List, List, Instant)} takes a single call.
+ * <p>
+ * Leases are passed to the shard of the key, which must be a {@link LeasableLimiterStorage}.
+ */
+public class ShardedLimiterStorage implements LeasableLimiterStorage {
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private static final int SHARD_BITS = 16;
+    private static final int MAXIMUM_SHARDS = 1 << SHARD_BITS;
+    private static final long POINT_MASK = -1L << SHARD_BITS;
+
+    private final LimiterStorage[] shards;
+    // Sorted points of the ring, and the index of the shard owning each point
+    private final long[] points;
+    private final int[] owners;
+
+    public ShardedLimiterStorage(Map<String, ? extends LimiterStorage> shards) {
+        this(shards, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * @param shards       the storages by name, a shard keeps its keys as long as its name does not change
+     * @param virtualNodes the number of points of each shard on the ring
+     */
+    public ShardedLimiterStorage(Map<String, ? extends LimiterStorage> shards, int virtualNodes) {
+        if (shards.isEmpty() || shards.size() > MAXIMUM_SHARDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAXIMUM_SHARDS + " shards are required");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+
+        this.shards = new LimiterStorage[shards.size()];
+        long[] ring = new long[shards.size() * virtualNodes];
+        int shard = 0;
+        for (Map.Entry<String, ? extends LimiterStorage> entry : shards.entrySet()) {
+            this.shards[shard] = entry.getValue();
+            for (int node = 0; node < virtualNodes; node++) {
+                // Shard in the low bits, so that sorting the points keeps their owner
+                ring[shard * virtualNodes + node] = hash(entry.getKey() + "#" + node) & POINT_MASK | shard;
+            }
+            shard++;
+        }
+        Arrays.sort(ring);
+
+        this.points = new long[ring.length];
+        this.owners = new int[ring.length];
+        for (int i = 0; i < ring.length; i++) {
+            points[i] = ring[i] & POINT_MASK;
+            owners[i] = (int) (ring[i] & ~POINT_MASK);
+        }
+    }
+
+    @Override
+    public Optional<ClientStats> findByKey(String key) {
+        return shardOf(key).findByKey(key);
+    }
+
+    @Override
+    public void updateByKey(String key, ClientStats stats) {
+        shardOf(key).updateByKey(key, stats);
+    }
+
+    @Override
+    public Duration getTtlByKey(String key) {
+        return shardOf(key).getTtlByKey(key);
+    }
+
+    @Override
+    public void setTtlByKey(String key, Duration ttl) {
+        shardOf(key).setTtlByKey(key, ttl);
+    }
+
+    @Override
+    public Decision acquire(String key, LimitPolicy policy, Instant now) {
+        return shardOf(key).acquire(key, policy, now);
+    }
+
+    @Override
+    public Decision acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+        LimiterStorage shard = shardOf(keys.getFirst());
+        for (String key : keys) {
+            if (shardOf(key) != shard) {
+                // Keys without a common hash tag, each policy is counted on its own shard
+                return LeasableLimiterStorage.super.acquireAll(keys, policies, now);
+            }
+        }
+        return shard.acquireAll(keys, policies, now);
+    }
+
+    @Override
+    public boolean isLimited(String key, LimitPolicy policy, Instant now) {
+        return shardOf(key).isLimited(key, policy, now);
+    }
+
+    @Override
+    public boolean supports(LimitingStrategy strategy) {
+        return Arrays.stream(shards).allMatch(shard -> shard.supports(strategy));
+    }
+
+    @Override
+    public Lease lease(String key, LimitPolicy policy, int permits, Instant now) {
+        return leasableShardOf(key).lease(key, policy, permits, now);
+    }
+
+    @Override
+    public void release(String key, LimitPolicy policy, Lease lease, int permits) {
+        leasableShardOf(key).release(key, policy, lease, permits);
+    }
+
+    /**
+     * @return the shards, in the order they were given
+     */
+    public List<LimiterStorage> getShards() {
+        return List.of(shards);
+    }
+
+    /**
+     * @return the shard holding {@code key}
+     */
+    public LimiterStorage shardOf(String key) {
+        long hash = hash(Key.hashTag(key)) & POINT_MASK;
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        // Past the last point, the ring wraps around to the first one
+        return shards[owners[index == points.length ? 0 : index]];
+    }
+
+    private LeasableLimiterStorage leasableShardOf(String key) {
+        if (shardOf(key) instanceof LeasableLimiterStorage leasable) {
+            return leasable;
+        }
+        throw new UnsupportedOperationException("The shard of " + key + " does not support leases");
+    }
+
+    /**
+     * {@link Hashing#hash(String, long)} with the standard FNV offset basis, spreading close strings over the
+     * whole ring.
+     */
+    static long hash(String value) {
+        return Hashing.hash(value, 0xcbf29ce484222325L);
+    }
+}
@@ -0,0 +1,235 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import static io.github.d4rckh.limiterx.core.algorithm.GcraAlgorithm.toInstant;
+import static io.github.d4rckh.limiterx.core.algorithm.GcraAlgorithm.toMicros;
+
+/**
+ * Binary snapshot of in-memory keys, written as a stream and read back through memory-mapped regions.
+ * <p>
+ * After a 4 bytes magic number, each key is written as its UTF-8 length on 2 bytes and its bytes, a flags byte,
+ * then its longs: the expiry if it has one and the stats, times in epoch microseconds, leaving out a missing block,
+ * tokens and previous requests, or only the theoretical arrival time of a {@code GCRA} key. The snapshot ends with
+ * a {@value #END} length followed by the number of keys, so that a truncated file is detected.
+ * Keys longer than {@value #MAXIMUM_KEY_BYTES} bytes are not written.
+ */
+final class SnapshotFormat {
+    static final int MAGIC = 0x4c585301;
+    static final int END = 0xffff;
+    static final int MAXIMUM_KEY_BYTES = END - 1;
+
+    private static final int ARRIVAL = 1;
+    private static final int EXPIRES = 1 << 1;
+    private static final int BLOCKED = 1 << 2;
+    private static final int TOKENS = 1 << 3;
+    private static final int PREVIOUS_REQUESTS = 1 << 4;
+
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int REGION_BYTES = 1 << 28;
+
+    private SnapshotFormat() {
+    }
+
+    interface Visitor {
+
+        /**
+         * @param expiresAt the expiry of the key, {@code null} if it does not expire
+         */
+        void stats(String key, ClientStats stats, Instant expiresAt);
+
+        void arrival(String key, long tat);
+    }
+
+    static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private long keys;
+
+        Writer(Path path) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+            out.writeInt(MAGIC);
+        }
+
+        /**
+         * @return whether the key was written, it is not if it is longer than {@value #MAXIMUM_KEY_BYTES} bytes
+         */
+        boolean writeStats(String key, ClientStats stats, Instant expiresAt) throws IOException {
+            if (!writeKey(key)) {
+                return false;
+            }
+
+            int flags = (expiresAt != null ? EXPIRES : 0)
+                | (stats.getBlockedAt() != null ? BLOCKED : 0)
+                | (stats.getTokens() != 0 ? TOKENS : 0)
+                | (stats.getPreviousRequests() != 0 ? PREVIOUS_REQUESTS : 0);
+            out.writeByte(flags);
+            if (expiresAt != null) {
+                out.writeLong(toMicros(expiresAt));
+            }
+            out.writeLong(stats.getTotalRequests());
+            out.writeLong(stats.getLastReset() == null ? NONE : toMicros(stats.getLastReset()));
+            if (stats.getBlockedAt() != null) {
+                out.writeLong(toMicros(stats.getBlockedAt()));
+            }
+            if (stats.getTokens() != 0) {
+                out.writeDouble(stats.getTokens());
+            }
+            if (stats.getPreviousRequests() != 0) {
+                out.writeLong(stats.getPreviousRequests());
+            }
+            keys++;
+            return true;
+        }
+
+        /**
+         * @return whether the key was written, see {@link #writeStats(String, ClientStats, Instant)}
+         */
+        boolean writeArrival(String key, long tat) throws IOException {
+            if (!writeKey(key)) {
+                return false;
+            }
+
+            out.writeByte(ARRIVAL);
+            out.writeLong(tat);
+            keys++;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (out) {
+                out.writeShort(END);
+                out.writeLong(keys);
+            }
+        }
+
+        private boolean writeKey(String key) throws IOException {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAXIMUM_KEY_BYTES) {
+                return false;
+            }
+            out.writeShort(bytes.length);
+            out.write(bytes);
+            return true;
+        }
+    }
+
+    /**
+     * Passes every key of the snapshot at {@code path} to {@code visitor}, in the order they were written.
+     *
+     * @return the number of keys read
+     * @throws IOException if the file is not a snapshot or is truncated, after the keys read until then
+     */
+    static long read(Path path, Visitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedInput in = new MappedInput(channel);
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a limiter snapshot: " + path);
+            }
+
+            long keys = 0;
+            while (true) {
+                int keyLength = in.getShort() & 0xffff;
+                if (keyLength == END) {
+                    if (in.getLong() != keys) {
+                        throw new IOException("Corrupted limiter snapshot: " + path);
+                    }
+                    return keys;
+                }
+
+                String key = in.getString(keyLength);
+                int flags = in.getByte();
+                if ((flags & ARRIVAL) != 0) {
+                    visitor.arrival(key, in.getLong());
+                } else {
+                    Instant expiresAt = (flags & EXPIRES) != 0 ? toInstant(in.getLong()) : null;
+                    long totalRequests = in.getLong();
+                    long lastReset = in.getLong();
+                    ClientStats stats = new ClientStats(
+                        totalRequests,
+                        (flags & BLOCKED) != 0 ? toInstant(in.getLong()) : null,
+                        lastReset == NONE ? null : toInstant(lastReset)
+                    );
+                    if ((flags & TOKENS) != 0) {
+                        stats.setTokens(in.getDouble());
+                    }
+                    if ((flags & PREVIOUS_REQUESTS) != 0) {
+                        stats.setPreviousRequests(in.getLong());
+                    }
+                    visitor.stats(key, stats, expiresAt);
+                }
+                keys++;
+            }
+        }
+    }
+
+    /**
+     * Reads a file through a sliding memory-mapped region, so that files larger than a buffer can be read
+     * without copying them to the heap.
+     */
+    private static final class MappedInput {
+        private final FileChannel channel;
+        private final long size;
+        private long regionStart;
+        private ByteBuffer region = ByteBuffer.allocate(0);
+
+        private MappedInput(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        private int getInt() throws IOException {
+            return ensure(Integer.BYTES).getInt();
+        }
+
+        private short getShort() throws IOException {
+            return ensure(Short.BYTES).getShort();
+        }
+
+        private byte getByte() throws IOException {
+            return ensure(Byte.BYTES).get();
+        }
+
+        private long getLong() throws IOException {
+            return ensure(Long.BYTES).getLong();
+        }
+
+        private double getDouble() throws IOException {
+            return ensure(Double.BYTES).getDouble();
+        }
+
+        private String getString(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            ensure(length).get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (region.remaining() >= bytes) {
+                return region;
+            }
+
+            // Map the next region from the current position, the value may straddle the previous one
+            long position = regionStart + region.position();
+            if (size - position < bytes) {
+                throw new EOFException("Truncated limiter snapshot");
+            }
+            regionStart = position;
+            region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_BYTES, size - position));
+            return region;
+        }
+    }
+}
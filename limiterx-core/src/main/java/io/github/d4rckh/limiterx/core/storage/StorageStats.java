@@ -0,0 +1,29 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Point-in-time counters of a {@link BoundedInMemoryLimiterStorage}.
+ */
+@Data
+@RequiredArgsConstructor
+public class StorageStats {
+    /** Requests on a key that was already held. */
+    private final long hitCount;
+    /** Requests on a key that was not held. */
+    private final long missCount;
+    /** Keys removed to make room for a new one. */
+    private final long evictionCount;
+    /** New keys not admitted because they were seen less often than the eviction candidate. */
+    private final long rejectionCount;
+    /** Keys currently held. */
+    private final long size;
+    /** Current weight, in entries or estimated bytes depending on how the storage is bounded. */
+    private final long weight;
+
+    public double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.d4rckh.limiterx.core;
+
+import io.github.d4rckh.limiterx.core.common.AsyncLimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.storage.InMemoryLimiterStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncLimiterTest {
+
+    private final InMemoryLimiterStorage storage = new InMemoryLimiterStorage();
+    private final Key key = Key.of("hello");
+    private final LimitPolicy policy = LimitPolicy.of(2, 10, 30);
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    void performLimiting_shouldCompleteImmediately_whenStorageIsNonBlocking() {
+        AsyncLimiter limiter = new AsyncLimiter(AsyncLimiterStorage.of(storage));
+
+        assertThat(limiter.performLimiting(key, policy).toCompletableFuture()).isCompletedWithValue(false);
+        assertThat(limiter.performLimiting(key, policy).toCompletableFuture()).isCompletedWithValue(false);
+        assertThat(limiter.acquire(key, policy).toCompletableFuture().join().getBlockedUntil()).isNotNull();
+        assertThat(limiter.isClientRateLimited(key, policy).toCompletableFuture()).isCompletedWithValue(true);
+    }
+
+    @Test
+    void performLimiting_shouldRunOnExecutor_whenStorageIsBlocking() {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        AtomicInteger submitted = new AtomicInteger();
+        Executor executor = command -> {
+            submitted.incrementAndGet();
+            pool.execute(command);
+        };
+        try {
+            AsyncLimiter limiter = new AsyncLimiter(AsyncLimiterStorage.of(storage, executor));
+
+            assertThat(limiter.performLimiting(key, policy).toCompletableFuture().join()).isFalse();
+            assertThat(limiter.performLimiting(key, policy).toCompletableFuture().join()).isFalse();
+            assertThat(limiter.performLimiting(key, policy).toCompletableFuture().join()).isTrue();
+            assertThat(submitted).hasValue(3);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.d4rckh.limiterx.core;
+
+import io.github.d4rckh.limiterx.core.ConcurrencyLimiter.Permit;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.storage.InMemoryConcurrencyLimiterStorage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimiterTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    private final InMemoryConcurrencyLimiterStorage storage = new InMemoryConcurrencyLimiterStorage();
+    private final ConcurrencyLimiter limiter = new ConcurrencyLimiter(storage);
+    private final Key key = Key.of("key");
+
+    @Test
+    void tryAcquire_shouldDeny_whenMaximumCallsInProgress() {
+        Optional<Permit> first = limiter.tryAcquire(key, 2, LEASE);
+        Optional<Permit> second = limiter.tryAcquire(key, 2, LEASE);
+
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(limiter.tryAcquire(key, 2, LEASE)).isEmpty();
+        assertThat(limiter.tryAcquire(Key.of("other"), 2, LEASE)).isPresent();
+    }
+
+    @Test
+    void tryAcquire_shouldAllow_oncePermitClosed() {
+        Permit permit = limiter.tryAcquire(key, 1, LEASE).orElseThrow();
+        assertThat(limiter.tryAcquire(key, 1, LEASE)).isEmpty();
+
+        permit.close();
+
+        assertThat(limiter.tryAcquire(key, 1, LEASE)).isPresent();
+    }
+
+    @Test
+    void close_shouldReleaseOnce_whenCalledRepeatedly() {
+        Permit permit = limiter.tryAcquire(key, 2, LEASE).orElseThrow();
+        limiter.tryAcquire(key, 2, LEASE).orElseThrow();
+
+        permit.close();
+        permit.close();
+
+        assertThat(storage.getCalls(key.getKey())).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_shouldNeverExceedMaximum_whenCalledConcurrently() throws Exception {
+        AtomicInteger inProgress = new AtomicInteger();
+        AtomicInteger highest = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    start.await();
+                    for (int i = 0; i < 1_000; i++) {
+                        Optional<Permit> permit = limiter.tryAcquire(key, 3, LEASE);
+                        if (permit.isEmpty()) {
+                            continue;
+                        }
+                        try (Permit _ = permit.get()) {
+                            highest.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+                            inProgress.decrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            List<Future<Void>> results = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(highest.get()).isBetween(1, 3);
+        assertThat(storage.getCalls(key.getKey())).isZero();
+    }
+}
@@ -1,11 +1,13 @@
 package io.github.d4rckh.limiterx.core;
 
 import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
 import io.github.d4rckh.limiterx.core.storage.InMemoryLimiterStorage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
@@ -114,4 +116,51 @@ class LimiterTest {
         boolean req5 = limiter.performLimiting(key, 3, 3, null);
         assertThat(req5).isFalse(); // should be allowed again after full reset
     }
-}
\ No newline at end of file
+
+    @Test
+    void performLimiting_shouldLimit_whenAnyPolicyIsExceeded() {
+        List<LimitPolicy> policies = List.of(LimitPolicy.of(2, 1, null), LimitPolicy.of(3, 3600, null));
+
+        assertThat(limiter.performLimiting(key, policies)).isFalse();
+        assertThat(limiter.performLimiting(key, policies)).isFalse();
+        assertThat(limiter.performLimiting(key, policies)).isTrue(); // burst limit
+
+        await().atMost(Duration.ofSeconds(3)).until(() -> !limiter.isClientRateLimited(key, policies.subList(0, 1)));
+
+        assertThat(limiter.performLimiting(key, policies)).isFalse();
+        assertThat(limiter.performLimiting(key, policies)).isTrue(); // sustained limit
+        assertThat(limiter.isClientRateLimited(key, policies)).isTrue();
+    }
+
+    @Test
+    void performLimiting_shouldNotCountFollowingPolicies_whenLimited() {
+        InMemoryLimiterStorage storage = new InMemoryLimiterStorage();
+        Limiter limiter = new Limiter(storage);
+        List<LimitPolicy> policies = List.of(LimitPolicy.of(1, 60, null), LimitPolicy.of(2, 3600, null));
+
+        for (int i = 0; i < 10; i++) {
+            limiter.performLimiting(key, policies);
+        }
+
+        // Only the allowed request was counted by the sustained limit
+        assertThat(storage.findByKey(key.getKey()).orElseThrow().getTotalRequests()).isEqualTo(10);
+        assertThat(storage.findByKey(key.tier(1).getKey()).orElseThrow().getTotalRequests()).isEqualTo(1);
+        storage.close();
+    }
+
+    @Test
+    void acquire_shouldCountEachPolicyOnItsTier_whateverItsPosition() {
+        InMemoryLimiterStorage storage = new InMemoryLimiterStorage();
+        Limiter limiter = new Limiter(storage);
+        List<LimitPolicy> policies = List.of(LimitPolicy.of(1, 60, null), LimitPolicy.of(10, 3600, null));
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(key, policies, new int[]{1, 0});
+        }
+
+        // The first policy is counted on the first tier, only the allowed request reached the key itself
+        assertThat(storage.findByKey(key.tier(1).getKey()).orElseThrow().getTotalRequests()).isEqualTo(3);
+        assertThat(storage.findByKey(key.getKey()).orElseThrow().getTotalRequests()).isEqualTo(1);
+        storage.close();
+    }
+}
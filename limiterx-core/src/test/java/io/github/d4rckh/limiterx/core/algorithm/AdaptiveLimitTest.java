@@ -0,0 +1,104 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.AdaptiveStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptiveLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(200).toNanos();
+
+    @Test
+    void aimd_shouldBackOff_onFailedOrSlowCalls() {
+        AdaptiveLimit limit = AdaptiveLimit.of(AdaptiveStrategy.AIMD, 1, 100, Duration.ofMillis(100));
+
+        limit.onSample(FAST, true);
+        assertThat(limit.getLimit()).isEqualTo(90);
+
+        limit.onSample(SLOW, false);
+        assertThat(limit.getLimit()).isEqualTo(81);
+    }
+
+    @Test
+    void aimd_shouldGrowBack_byOnePerWindowOfCalls_upToCeiling() {
+        AdaptiveLimit limit = AdaptiveLimit.of(AdaptiveStrategy.AIMD, 1, 100, Duration.ofMillis(100));
+        limit.onSample(FAST, true);
+
+        for (int i = 0; i < 45; i++) {
+            limit.onSample(FAST, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(90);
+
+        for (int i = 0; i < 55; i++) {
+            limit.onSample(FAST, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(91);
+
+        for (int i = 0; i < 1_000; i++) {
+            limit.onSample(FAST, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void aimd_shouldNotGoBelowFloor() {
+        AdaptiveLimit limit = AdaptiveLimit.of(AdaptiveStrategy.AIMD, 10, 100, Duration.ofMillis(100));
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST, true);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void gradient_shouldStayAtCeiling_whileLatencyIsSteady() {
+        AdaptiveLimit limit = AdaptiveLimit.of(AdaptiveStrategy.GRADIENT, 1, 100, Duration.ZERO);
+
+        for (int i = 0; i < 1_000; i++) {
+            limit.onSample(FAST + (i % 3) * 1_000_000, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void gradient_shouldShrink_whenLatencyRises_andRecoverAfterwards() {
+        AdaptiveLimit limit = AdaptiveLimit.of(AdaptiveStrategy.GRADIENT, 1, 100, Duration.ZERO);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST, false);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(SLOW, false);
+        }
+        assertThat(limit.getLimit()).isLessThan(20);
+
+        for (int i = 0; i < 500; i++) {
+            limit.onSample(FAST, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void gradient_shouldShrink_onFailedCalls() {
+        AdaptiveLimit limit = AdaptiveLimit.of(AdaptiveStrategy.GRADIENT, 5, 100, Duration.ZERO);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST, true);
+        }
+
+        assertThat(limit.getLimit()).isBetween(5, 10);
+    }
+
+    @Test
+    void of_shouldReject_floorAboveCeiling() {
+        assertThatThrownBy(() -> AdaptiveLimit.of(AdaptiveStrategy.AIMD, 101, 100, Duration.ofSeconds(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
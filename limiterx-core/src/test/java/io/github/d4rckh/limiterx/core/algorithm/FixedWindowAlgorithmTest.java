@@ -0,0 +1,62 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FixedWindowAlgorithmTest {
+
+    private final FixedWindowAlgorithm algorithm = FixedWindowAlgorithm.INSTANCE;
+    private final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void apply_shouldLimit_whenMaximumRequestsExceeded() {
+        ClientStats stats = new ClientStats(0, null, now);
+        LimitPolicy policy = LimitPolicy.of(2, 10, null);
+
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isFalse();
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isFalse();
+        assertThat(algorithm.apply(stats, policy, now)).isEqualTo(Decision.LIMITED);
+        assertThat(stats.getTotalRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void apply_shouldResetCounter_whenWindowExpired() {
+        ClientStats stats = new ClientStats(5, null, now);
+        LimitPolicy policy = LimitPolicy.of(2, 10, null);
+
+        assertThat(algorithm.apply(stats, policy, now.plusSeconds(11)).isLimited()).isFalse();
+        assertThat(stats.getTotalRequests()).isEqualTo(1);
+        assertThat(stats.getLastReset()).isEqualTo(now.plusSeconds(11));
+    }
+
+    @Test
+    void apply_shouldKeepBlocking_untilBlockExpires() {
+        ClientStats stats = new ClientStats(0, null, now);
+        LimitPolicy policy = LimitPolicy.of(1, 10, 60);
+
+        algorithm.apply(stats, policy, now);
+        assertThat(algorithm.apply(stats, policy, now).getBlockedUntil()).isEqualTo(now.plusSeconds(60));
+        assertThat(stats.getBlockedAt()).isEqualTo(now);
+
+        assertThat(algorithm.apply(stats, policy, now.plusSeconds(30)).getBlockedUntil()).isEqualTo(now.plusSeconds(60));
+        assertThat(algorithm.apply(stats, policy, now.plusSeconds(61)).isLimited()).isFalse();
+        assertThat(stats.getBlockedAt()).isNull();
+    }
+
+    @Test
+    void expiresAt_shouldCoverWindowAndBlock() {
+        ClientStats stats = new ClientStats(0, null, now);
+
+        assertThat(algorithm.expiresAt(stats, LimitPolicy.of(1, 10, null))).isEqualTo(now.plusSeconds(10));
+
+        stats.setBlockedAt(now.plusSeconds(5));
+        assertThat(algorithm.expiresAt(stats, LimitPolicy.of(1, 10, 60))).isEqualTo(now.plusSeconds(65));
+        assertThat(algorithm.expiresAt(stats, LimitPolicy.of(1, 10, null))).isEqualTo(now.plusSeconds(10));
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GcraAlgorithmTest {
+
+    private final GcraAlgorithm algorithm = GcraAlgorithm.INSTANCE;
+    private final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    // One request per second, bursts of 3
+    private final LimitPolicy policy = LimitPolicy.of(LimitingStrategy.GCRA, 10, 10, null, 3);
+
+    @Test
+    void apply_shouldAllowBurstUpToCapacity() {
+        ClientStats stats = algorithm.newStats(policy, now);
+
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isFalse();
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isFalse();
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isFalse();
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isTrue();
+    }
+
+    @Test
+    void apply_shouldAllowOneRequestPerEmissionInterval() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        for (int i = 0; i < 3; i++) {
+            algorithm.apply(stats, policy, now);
+        }
+
+        assertThat(algorithm.apply(stats, policy, now.plusMillis(500)).isLimited()).isTrue();
+        assertThat(algorithm.apply(stats, policy, now.plusMillis(1000)).isLimited()).isFalse();
+        assertThat(algorithm.apply(stats, policy, now.plusMillis(1000)).isLimited()).isTrue();
+    }
+
+    @Test
+    void apply_shouldNotMoveArrivalTime_whenLimitedWithoutBlocking() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        for (int i = 0; i < 3; i++) {
+            algorithm.apply(stats, policy, now);
+        }
+        Instant tat = stats.getLastReset();
+
+        algorithm.apply(stats, policy, now);
+
+        assertThat(stats.getLastReset()).isEqualTo(tat);
+        assertThat(tat).isEqualTo(now.plusSeconds(3));
+    }
+
+    @Test
+    void apply_shouldBlock_whenLimitedAndBlockForIsSet() {
+        LimitPolicy blocking = LimitPolicy.of(LimitingStrategy.GCRA, 1, 1, 60);
+        ClientStats stats = algorithm.newStats(blocking, now);
+
+        algorithm.apply(stats, blocking, now);
+        assertThat(algorithm.apply(stats, blocking, now).getBlockedUntil()).isEqualTo(now.plusSeconds(60));
+
+        assertThat(algorithm.apply(stats, blocking, now.plusSeconds(30)).getBlockedUntil()).isEqualTo(now.plusSeconds(60));
+        assertThat(algorithm.apply(stats, blocking, now.plusSeconds(61)).isLimited()).isFalse();
+    }
+
+    @Test
+    void isLimited_shouldNotConsume() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        algorithm.apply(stats, policy, now);
+
+        assertThat(algorithm.isLimited(stats, policy, now)).isFalse();
+        assertThat(stats.getLastReset()).isEqualTo(now.plusSeconds(1));
+    }
+
+    @Test
+    void expiresAt_shouldBeTheArrivalTime() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        algorithm.apply(stats, policy, now);
+        algorithm.apply(stats, policy, now);
+
+        assertThat(algorithm.expiresAt(stats, policy)).isEqualTo(now.plusSeconds(2));
+    }
+}
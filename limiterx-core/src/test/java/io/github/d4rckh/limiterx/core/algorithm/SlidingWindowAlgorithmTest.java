@@ -0,0 +1,82 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlidingWindowAlgorithmTest {
+
+    private final SlidingWindowAlgorithm algorithm = SlidingWindowAlgorithm.INSTANCE;
+    private final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+    private final LimitPolicy policy = LimitPolicy.of(LimitingStrategy.SLIDING_WINDOW, 10, 10, null);
+
+    @Test
+    void apply_shouldLimit_whenMaximumRequestsReachedInWindow() {
+        ClientStats stats = algorithm.newStats(policy, now);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(algorithm.apply(stats, policy, now).isLimited()).isFalse();
+        }
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isTrue();
+        assertThat(stats.getTotalRequests()).isEqualTo(10);
+    }
+
+    @Test
+    void apply_shouldPreventBurstAcrossWindowBoundary() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        for (int i = 0; i < 10; i++) {
+            algorithm.apply(stats, policy, now.plusMillis(9_900));
+        }
+
+        // Just after the boundary the previous window still weighs ~99%
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (!algorithm.apply(stats, policy, now.plusMillis(10_100)).isLimited()) allowed++;
+        }
+
+        assertThat(allowed).isZero();
+        assertThat(stats.getPreviousRequests()).isEqualTo(10);
+        assertThat(stats.getLastReset()).isEqualTo(now.plusSeconds(10));
+    }
+
+    @Test
+    void apply_shouldAdmitProportionally_asPreviousWindowSlidesOut() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        for (int i = 0; i < 10; i++) {
+            algorithm.apply(stats, policy, now);
+        }
+
+        // Halfway through the next window the previous one counts for 5 requests
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (!algorithm.apply(stats, policy, now.plusSeconds(15)).isLimited()) allowed++;
+        }
+
+        assertThat(allowed).isEqualTo(5);
+    }
+
+    @Test
+    void apply_shouldForgetPreviousWindow_afterTwoWindows() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        for (int i = 0; i < 10; i++) {
+            algorithm.apply(stats, policy, now);
+        }
+
+        assertThat(algorithm.apply(stats, policy, now.plusSeconds(25)).isLimited()).isFalse();
+        assertThat(stats.getPreviousRequests()).isZero();
+        assertThat(stats.getLastReset()).isEqualTo(now.plusSeconds(20));
+    }
+
+    @Test
+    void expiresAt_shouldCoverNextWindow() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        algorithm.apply(stats, policy, now);
+
+        assertThat(algorithm.expiresAt(stats, policy)).isEqualTo(now.plusSeconds(20));
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.d4rckh.limiterx.core.algorithm;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+public class TokenBucketAlgorithmTest {
+
+    private final TokenBucketAlgorithm algorithm = TokenBucketAlgorithm.INSTANCE;
+    private final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    // 10 tokens per 10 seconds, i.e. one token per second
+    private final LimitPolicy policy = LimitPolicy.of(LimitingStrategy.TOKEN_BUCKET, 10, 10, null, 3);
+
+    @Test
+    void apply_shouldAllowBurstUpToCapacity() {
+        ClientStats stats = algorithm.newStats(policy, now);
+
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isFalse();
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isFalse();
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isFalse();
+        assertThat(algorithm.apply(stats, policy, now).isLimited()).isTrue();
+    }
+
+    @Test
+    void apply_shouldRefillFractionally() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        for (int i = 0; i < 3; i++) {
+            algorithm.apply(stats, policy, now);
+        }
+
+        assertThat(algorithm.apply(stats, policy, now.plusMillis(500)).isLimited()).isTrue();
+        assertThat(stats.getTokens()).isCloseTo(0.5, offset(1e-9));
+
+        assertThat(algorithm.apply(stats, policy, now.plusMillis(1000)).isLimited()).isFalse();
+        assertThat(algorithm.apply(stats, policy, now.plusMillis(1000)).isLimited()).isTrue();
+    }
+
+    @Test
+    void apply_shouldNotRefillAboveCapacity() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        algorithm.apply(stats, policy, now);
+
+        algorithm.apply(stats, policy, now.plusSeconds(3600));
+
+        assertThat(stats.getTokens()).isEqualTo(2);
+    }
+
+    @Test
+    void apply_shouldBlock_whenBucketIsEmptyAndBlockForIsSet() {
+        LimitPolicy blocking = LimitPolicy.of(LimitingStrategy.TOKEN_BUCKET, 1, 1, 60);
+        ClientStats stats = algorithm.newStats(blocking, now);
+
+        algorithm.apply(stats, blocking, now);
+        assertThat(algorithm.apply(stats, blocking, now).isLimited()).isTrue();
+
+        assertThat(algorithm.apply(stats, blocking, now.plusSeconds(30)).isLimited()).isTrue();
+        assertThat(algorithm.apply(stats, blocking, now.plusSeconds(61)).isLimited()).isFalse();
+    }
+
+    @Test
+    void expiresAt_shouldBeWhenBucketIsFullAgain() {
+        ClientStats stats = algorithm.newStats(policy, now);
+        algorithm.apply(stats, policy, now);
+        algorithm.apply(stats, policy, now);
+
+        assertThat(algorithm.expiresAt(stats, policy)).isEqualTo(now.plusSeconds(2));
+    }
+}
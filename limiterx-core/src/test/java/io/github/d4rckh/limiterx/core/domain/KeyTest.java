@@ -24,4 +24,39 @@ public class KeyTest {
         assertThat(key.getKey()).containsIgnoringCase("limiterx");
     }
 
+    @Test
+    void fromPrefix_shouldMatchFromClass() {
+        String prefix = Key.prefixOf(KeyTest.class, "methodName");
+
+        assertThat(Key.fromPrefix(prefix, "key")).isEqualTo(Key.fromClass(KeyTest.class, "methodName", "key"));
+        assertThat(Key.fromClass(KeyTest.class, "methodName", "key").getKey())
+            .isEqualTo("LimiterX(" + KeyTest.class.getName() + "#methodName#key)");
+    }
+
+    @Test
+    void tier_shouldKeepKeyForFirstPolicy() {
+        Key key = Key.of("hello");
+
+        assertThat(key.tier(0)).isSameAs(key);
+        assertThat(key.tier(2).getKey()).isEqualTo("{LimiterX(hello)}#2");
+    }
+
+    @Test
+    void tier_shouldKeepHashTagOfKey() {
+        Key plain = Key.of("hello");
+        Key tagged = Key.of("{tenant}:hello");
+
+        assertThat(Key.hashTag(plain.tier(1).getKey())).isEqualTo(Key.hashTag(plain.getKey()));
+        assertThat(tagged.tier(1).getKey()).isEqualTo("LimiterX({tenant}:hello)#1");
+        assertThat(Key.hashTag(tagged.tier(1).getKey())).isEqualTo("tenant");
+    }
+
+    @Test
+    void hashTag_shouldFollowRedisCluster() {
+        assertThat(Key.hashTag("{user1000}.following")).isEqualTo("user1000");
+        assertThat(Key.hashTag("foo{}{bar}")).isEqualTo("foo{}{bar}");
+        assertThat(Key.hashTag("foo{{bar}}zap")).isEqualTo("{bar");
+        assertThat(Key.hashTag("foo{bar}{zap}")).isEqualTo("bar");
+        assertThat(Key.hashTag("foo")).isEqualTo("foo");
+    }
 }
@@ -0,0 +1,107 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedInMemoryLimiterStorageTest {
+
+    private final LimitPolicy policy = LimitPolicy.of(100, 60, null);
+
+    @Test
+    void acquire_shouldLimit_whenMaximumRequestsExceeded() {
+        BoundedInMemoryLimiterStorage storage = BoundedInMemoryLimiterStorage.ofMaximumEntries(10);
+        LimitPolicy strict = LimitPolicy.of(2, 60, null);
+
+        assertThat(storage.acquire("key", strict, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", strict, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", strict, Instant.now()).isLimited()).isTrue();
+    }
+
+    @Test
+    void acquire_shouldStayWithinMaximumEntries_whenUniqueKeysFlood() {
+        BoundedInMemoryLimiterStorage storage = BoundedInMemoryLimiterStorage.ofMaximumEntries(100);
+
+        for (int i = 0; i < 10_000; i++) {
+            storage.acquire("client-" + i, policy, Instant.now());
+        }
+
+        assertThat(storage.size()).isLessThanOrEqualTo(100);
+        assertThat(storage.stats().getSize()).isEqualTo(storage.size());
+    }
+
+    @Test
+    void acquire_shouldKeepFrequentKey_whenOneOffKeysFlood() {
+        BoundedInMemoryLimiterStorage storage = BoundedInMemoryLimiterStorage.ofMaximumEntries(100);
+        LimitPolicy generous = LimitPolicy.of(1000, 60, null);
+
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 50 == 0) {
+                storage.acquire("heavy", generous, Instant.now());
+            }
+            storage.acquire("client-" + i, generous, Instant.now());
+        }
+
+        assertThat(storage.findByKey("heavy")).get().extracting(ClientStats::getTotalRequests).isEqualTo(200L);
+        assertThat(storage.stats().getRejectionCount()).isPositive();
+    }
+
+    @Test
+    void acquire_shouldAdmitNewKey_whenSeenMoreOftenThanCandidate() {
+        BoundedInMemoryLimiterStorage storage = BoundedInMemoryLimiterStorage.ofMaximumEntries(1);
+        storage.acquire("old", policy, Instant.now());
+
+        storage.acquire("new", policy, Instant.now());
+        assertThat(storage.findByKey("new")).isEmpty();
+
+        storage.acquire("new", policy, Instant.now());
+        assertThat(storage.findByKey("new")).isPresent();
+        assertThat(storage.findByKey("old")).isEmpty();
+        assertThat(storage.stats().getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_shouldEvictExpiredKey_regardlessOfFrequency() {
+        BoundedInMemoryLimiterStorage storage = BoundedInMemoryLimiterStorage.ofMaximumEntries(1);
+        LimitPolicy shortWindow = LimitPolicy.of(10, 1, null);
+        for (int i = 0; i < 5; i++) {
+            storage.acquire("expired", shortWindow, Instant.now().minusSeconds(10));
+        }
+
+        storage.acquire("new", shortWindow, Instant.now());
+
+        assertThat(storage.findByKey("new")).isPresent();
+        assertThat(storage.size()).isEqualTo(1);
+    }
+
+    @Test
+    void ofMaximumBytes_shouldBoundEstimatedWeight() {
+        long maximumBytes = 100 * BoundedInMemoryLimiterStorage.ENTRY_OVERHEAD_BYTES;
+        BoundedInMemoryLimiterStorage storage = BoundedInMemoryLimiterStorage.ofMaximumBytes(maximumBytes);
+
+        for (int i = 0; i < 10_000; i++) {
+            storage.acquire("client-" + i, policy, Instant.now());
+        }
+
+        assertThat(storage.stats().getWeight()).isLessThanOrEqualTo(maximumBytes);
+        assertThat(storage.size()).isLessThan(100);
+    }
+
+    @Test
+    void stats_shouldCountHitsAndMisses() {
+        BoundedInMemoryLimiterStorage storage = BoundedInMemoryLimiterStorage.ofMaximumEntries(10);
+
+        storage.acquire("key", policy, Instant.now());
+        storage.acquire("key", policy, Instant.now());
+        storage.acquire("key", policy, Instant.now());
+
+        StorageStats stats = storage.stats();
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getHitCount()).isEqualTo(2);
+        assertThat(stats.getHitRatio()).isEqualTo(2.0 / 3);
+    }
+}
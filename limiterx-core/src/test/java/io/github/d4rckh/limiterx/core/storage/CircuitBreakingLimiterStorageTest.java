@@ -0,0 +1,181 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.FailureMode;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.storage.CircuitBreakingLimiterStorage.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakingLimiterStorageTest {
+
+    private final Instant now = Instant.now();
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private volatile boolean failing;
+    private volatile long delayMillis;
+    private final InMemoryLimiterStorage delegate = new InMemoryLimiterStorage() {
+        @Override
+        public Decision acquire(String key, LimitPolicy policy, Instant now) {
+            delegateCalls.incrementAndGet();
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                throw new IllegalStateException("Storage unavailable");
+            }
+            return super.acquire(key, policy, now);
+        }
+
+        @Override
+        public boolean isLimited(String key, LimitPolicy policy, Instant now) {
+            if (failing) {
+                throw new IllegalStateException("Storage unavailable");
+            }
+            return super.isLimited(key, policy, now);
+        }
+    };
+    private final CircuitBreakerSettings settings = new CircuitBreakerSettings();
+    private CircuitBreakingLimiterStorage storage;
+
+    CircuitBreakingLimiterStorageTest() {
+        settings.setTimeout(Duration.ofMillis(100));
+        settings.setSlowCallDuration(Duration.ofMillis(50));
+        settings.setWindowSize(10);
+        settings.setMinimumCalls(4);
+        settings.setOpenDuration(Duration.ofMillis(200));
+        settings.setHalfOpenCalls(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+        delegate.close();
+    }
+
+    @Test
+    void acquire_shouldUseDelegate_whileHealthy() {
+        storage = new CircuitBreakingLimiterStorage(delegate, settings);
+        LimitPolicy policy = LimitPolicy.of(2, 10, null);
+
+        assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, now).isLimited()).isTrue();
+        assertThat(delegateCalls).hasValue(3);
+        assertThat(storage.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void acquire_shouldFallBack_withinTimeout_whenDelegateHangs() {
+        storage = new CircuitBreakingLimiterStorage(delegate, settings);
+        delayMillis = 2_000;
+
+        long start = System.nanoTime();
+        assertThat(storage.acquire("key", LimitPolicy.of(1, 10, null), now).isLimited()).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void acquire_shouldOpenCircuit_andSkipDelegate_afterFailures() {
+        storage = new CircuitBreakingLimiterStorage(delegate, settings);
+        failing = true;
+        LimitPolicy policy = LimitPolicy.of(100, 10, null);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+        }
+        assertThat(storage.getState()).isEqualTo(State.OPEN);
+
+        for (int i = 0; i < 100; i++) {
+            storage.acquire("key", policy, now);
+        }
+        assertThat(delegateCalls).hasValue(4);
+    }
+
+    @Test
+    void acquire_shouldOpenCircuit_whenCallsAreSlow() {
+        storage = new CircuitBreakingLimiterStorage(delegate, settings);
+        delayMillis = 60;
+
+        for (int i = 0; i < 4; i++) {
+            storage.acquire("key", LimitPolicy.of(100, 10, null), now);
+        }
+
+        assertThat(storage.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void acquire_shouldCloseCircuit_onceProbesSucceed() throws InterruptedException {
+        storage = new CircuitBreakingLimiterStorage(delegate, settings);
+        failing = true;
+        LimitPolicy policy = LimitPolicy.of(100, 10, null);
+        for (int i = 0; i < 4; i++) {
+            storage.acquire("key", policy, now);
+        }
+        failing = false;
+
+        Thread.sleep(250);
+        storage.acquire("key", policy, now);
+        assertThat(storage.getState()).isEqualTo(State.HALF_OPEN);
+        storage.acquire("key", policy, now);
+
+        assertThat(storage.getState()).isEqualTo(State.CLOSED);
+        assertThat(delegateCalls).hasValue(6);
+    }
+
+    @Test
+    void acquire_shouldReopenCircuit_whenProbeFails() throws InterruptedException {
+        storage = new CircuitBreakingLimiterStorage(delegate, settings);
+        failing = true;
+        LimitPolicy policy = LimitPolicy.of(100, 10, null);
+        for (int i = 0; i < 4; i++) {
+            storage.acquire("key", policy, now);
+        }
+
+        Thread.sleep(250);
+        storage.acquire("key", policy, now);
+
+        assertThat(storage.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void acquire_shouldFollowFailureMode_whenDelegateFails() {
+        failing = true;
+        LimitPolicy policy = LimitPolicy.of(100, 10, null);
+
+        settings.setFailureMode(FailureMode.FAIL_OPEN);
+        try (CircuitBreakingLimiterStorage failOpen = new CircuitBreakingLimiterStorage(delegate, settings)) {
+            assertThat(failOpen.acquire("key", policy, now)).isEqualTo(Decision.ALLOWED);
+            assertThat(failOpen.isLimited("key", policy, now)).isFalse();
+        }
+
+        settings.setFailureMode(FailureMode.FAIL_CLOSED);
+        storage = new CircuitBreakingLimiterStorage(delegate, settings);
+        assertThat(storage.acquire("key", policy, now)).isEqualTo(Decision.LIMITED);
+        assertThat(storage.isLimited("key", policy, now)).isTrue();
+    }
+
+    @Test
+    void acquire_shouldScaleFallbackLimits_byExpectedNodes() {
+        settings.setExpectedNodes(4);
+        storage = new CircuitBreakingLimiterStorage(delegate, settings);
+        failing = true;
+        LimitPolicy policy = LimitPolicy.of(10, 10, null);
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            allowed += storage.acquire("key", policy, now).isLimited() ? 0 : 1;
+        }
+
+        assertThat(allowed).isEqualTo(3);
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DenyCachingLimiterStorageTest {
+
+    private final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private final InMemoryLimiterStorage delegate = new InMemoryLimiterStorage() {
+        @Override
+        public Decision acquire(String key, LimitPolicy policy, Instant now) {
+            delegateCalls.incrementAndGet();
+            return super.acquire(key, policy, now);
+        }
+    };
+
+    @Test
+    void acquire_shouldNotReachDelegate_whileBlocked() {
+        DenyCachingLimiterStorage storage = new DenyCachingLimiterStorage(delegate);
+        LimitPolicy policy = LimitPolicy.of(1, 10, 60);
+
+        storage.acquire("key", policy, now);
+        assertThat(storage.acquire("key", policy, now).getBlockedUntil()).isEqualTo(now.plusSeconds(60));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(storage.acquire("key", policy, now.plusSeconds(30)).isLimited()).isTrue();
+        }
+        assertThat(storage.isLimited("key", policy, now.plusSeconds(30))).isTrue();
+        assertThat(delegateCalls).hasValue(2);
+    }
+
+    @Test
+    void acquire_shouldReachDelegate_onceBlockEnded() {
+        DenyCachingLimiterStorage storage = new DenyCachingLimiterStorage(delegate);
+        LimitPolicy policy = LimitPolicy.of(1, 10, 60);
+        storage.acquire("key", policy, now);
+        storage.acquire("key", policy, now);
+
+        assertThat(storage.acquire("key", policy, now.plusSeconds(61)).isLimited()).isFalse();
+        assertThat(delegateCalls).hasValue(3);
+        assertThat(storage.size()).isZero();
+    }
+
+    @Test
+    void acquire_shouldNotCache_whenLimitedWithoutBlock() {
+        DenyCachingLimiterStorage storage = new DenyCachingLimiterStorage(delegate);
+        LimitPolicy policy = LimitPolicy.of(1, 10, null);
+
+        storage.acquire("key", policy, now);
+        storage.acquire("key", policy, now);
+        storage.acquire("key", policy, now);
+
+        assertThat(delegateCalls).hasValue(3);
+        assertThat(storage.size()).isZero();
+    }
+
+    @Test
+    void updateByKey_shouldDropCachedBlock() {
+        DenyCachingLimiterStorage storage = new DenyCachingLimiterStorage(delegate);
+        LimitPolicy policy = LimitPolicy.of(1, 10, 60);
+        storage.acquire("key", policy, now);
+        storage.acquire("key", policy, now);
+
+        storage.updateByKey("key", new ClientStats(0, null, now));
+
+        assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+    }
+
+    @Test
+    void acquire_shouldStopCaching_whenMaximumKeysReached() {
+        DenyCachingLimiterStorage storage = new DenyCachingLimiterStorage(delegate, 2);
+        LimitPolicy policy = LimitPolicy.of(1, 10, 60);
+
+        for (int i = 0; i < 5; i++) {
+            storage.acquire("key-" + i, policy, now);
+            storage.acquire("key-" + i, policy, now);
+        }
+
+        assertThat(storage.size()).isEqualTo(2);
+        assertThat(storage.acquire("key-4", policy, now).isLimited()).isTrue();
+    }
+
+    @Test
+    void acquire_shouldMakeRoomFromEndedBlocks_atMostOncePerSecond() {
+        DenyCachingLimiterStorage storage = new DenyCachingLimiterStorage(delegate, 2);
+        LimitPolicy policy = LimitPolicy.of(1, 10, 1);
+        block(storage, "key-0", policy, now);
+        block(storage, "key-1", policy, now.plusMillis(1_500));
+
+        block(storage, "key-2", policy, now.plusMillis(2_000)); // sweeps the block of key-0
+        assertThat(storage.size()).isEqualTo(2);
+
+        // The block of key-1 ended, but the cache was swept less than a second ago
+        block(storage, "key-3", policy, now.plusMillis(2_600));
+        int calls = delegateCalls.get();
+        storage.acquire("key-3", policy, now.plusMillis(2_700));
+        assertThat(delegateCalls).hasValue(calls + 1);
+
+        block(storage, "key-4", policy, now.plusMillis(3_100)); // sweeps the blocks of key-1 and key-2
+        calls = delegateCalls.get();
+        storage.acquire("key-4", policy, now.plusMillis(3_200));
+        assertThat(delegateCalls).hasValue(calls);
+        assertThat(storage.size()).isEqualTo(1);
+    }
+
+    @Test
+    void acquireAll_shouldNotReachDelegate_whileAnyPolicyBlocks() {
+        DenyCachingLimiterStorage storage = new DenyCachingLimiterStorage(delegate);
+        List<String> keys = List.of("key", "key#1");
+        List<LimitPolicy> policies = List.of(LimitPolicy.of(10, 1, null), LimitPolicy.of(1, 3600, 60));
+
+        assertThat(storage.acquireAll(keys, policies, now).isLimited()).isFalse();
+        assertThat(storage.acquireAll(keys, policies, now).getBlockedUntil()).isEqualTo(now.plusSeconds(60));
+        int calls = delegateCalls.get();
+
+        assertThat(storage.acquireAll(keys, policies, now.plusSeconds(30)).getBlockedUntil()).isEqualTo(now.plusSeconds(60));
+        assertThat(delegateCalls).hasValue(calls);
+    }
+
+    private static void block(DenyCachingLimiterStorage storage, String key, LimitPolicy policy, Instant now) {
+        storage.acquire(key, policy, now);
+        storage.acquire(key, policy, now);
+    }
+}
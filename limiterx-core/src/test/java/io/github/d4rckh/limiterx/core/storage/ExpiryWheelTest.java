@@ -0,0 +1,60 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpiryWheelTest {
+
+    private final List<String> expired = new CopyOnWriteArrayList<>();
+    private final ExpiryWheel wheel = new ExpiryWheel(Duration.ofHours(1), 8, (key, _) -> expired.add(key));
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void advance_shouldFireOnlyDueEntries() {
+        Instant now = Instant.now();
+        wheel.schedule("soon", now.plus(Duration.ofHours(2)));
+        wheel.schedule("later", now.plus(Duration.ofHours(5)));
+
+        wheel.advance(now.plus(Duration.ofHours(3)));
+        assertThat(expired).containsExactly("soon");
+
+        wheel.advance(now.plus(Duration.ofHours(6)));
+        assertThat(expired).containsExactly("soon", "later");
+    }
+
+    @Test
+    void advance_shouldKeepEntriesDueInLaterRevolutions() {
+        Instant now = Instant.now();
+        wheel.schedule("far", now.plus(Duration.ofHours(20)));
+
+        wheel.advance(now.plus(Duration.ofHours(10)));
+        assertThat(expired).isEmpty();
+
+        wheel.advance(now.plus(Duration.ofHours(21)));
+        assertThat(expired).containsExactly("far");
+    }
+
+    @Test
+    void advance_shouldPassScheduledExpiry() {
+        Instant expiry = Instant.now().plus(Duration.ofHours(1));
+        List<Instant> fired = new CopyOnWriteArrayList<>();
+
+        try (ExpiryWheel recordingWheel = new ExpiryWheel(Duration.ofHours(1), 8, (_, at) -> fired.add(at))) {
+            recordingWheel.schedule("key", expiry);
+            recordingWheel.advance(expiry.plus(Duration.ofHours(1)));
+        }
+
+        assertThat(fired).containsExactly(expiry);
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FrequencySketchTest {
+
+    @Test
+    void frequency_shouldCountIncrements() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("key");
+        }
+
+        assertThat(sketch.frequency("key")).isEqualTo(5);
+        assertThat(sketch.frequency("other")).isZero();
+    }
+
+    @Test
+    void frequency_shouldNotShareCounters_betweenKeysWithSameHashCode() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("Aa");
+        }
+
+        assertThat(sketch.frequency("BB")).isZero();
+    }
+
+    @Test
+    void frequency_shouldSaturateAtFifteen() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("key");
+        }
+
+        assertThat(sketch.frequency("key")).isEqualTo(15);
+    }
+
+    @Test
+    void increment_shouldHalveCounters_whenSampleSizeReached() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment("heavy");
+        }
+
+        // 16 counters wide, so 160 additions trigger the halving
+        for (int i = 0; i < 200; i++) {
+            sketch.increment("key-" + i);
+        }
+
+        assertThat(sketch.frequency("heavy")).isLessThan(8);
+    }
+}
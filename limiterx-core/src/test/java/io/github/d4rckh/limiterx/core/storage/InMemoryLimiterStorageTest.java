@@ -1,11 +1,27 @@
 package io.github.d4rckh.limiterx.core.storage;
 
 import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
 public class InMemoryLimiterStorageTest {
@@ -58,4 +74,200 @@ public class InMemoryLimiterStorageTest {
 
         assertThat(storage.getTtlByKey("key")).isCloseTo(Duration.ofSeconds(10), Duration.ofMillis(500));
     }
+
+    @Test
+    void acquire_shouldCreateKeyWithTtl() {
+        InMemoryLimiterStorage storage = new InMemoryLimiterStorage();
+
+        assertThat(storage.acquire("key", LimitPolicy.of(1, 10, null), Instant.now()).isLimited()).isFalse();
+
+        assertThat(storage.findByKey("key")).get().extracting(ClientStats::getTotalRequests).isEqualTo(1L);
+        assertThat(storage.getTtlByKey("key")).isCloseTo(Duration.ofSeconds(10), Duration.ofMillis(500));
+    }
+
+    @Test
+    void acquire_shouldNotOverAdmit_whenCalledConcurrently() throws Exception {
+        InMemoryLimiterStorage storage = new InMemoryLimiterStorage();
+        LimitPolicy policy = LimitPolicy.of(100, 60, null);
+
+        List<Callable<Boolean>> requests = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            requests.add(() -> storage.acquire("key", policy, Instant.now()).isLimited());
+        }
+
+        int allowed = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<Boolean> result : executor.invokeAll(requests)) {
+                if (!result.get()) allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(100);
+        assertThat(storage.findByKey("key")).get().extracting(ClientStats::getTotalRequests).isEqualTo(1000L);
+    }
+
+    @Test
+    void acquire_shouldRemoveKeyInBackground_whenKeyExpired() {
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage(Duration.ofMillis(100))) {
+            storage.acquire("key", LimitPolicy.of(1, 1, null), Instant.now());
+            assertThat(storage.size()).isEqualTo(1);
+
+            await().atMost(Duration.ofSeconds(3)).until(() -> storage.size() == 0);
+            assertThat(storage.getTtlByKey("key")).isEqualTo(Duration.ZERO);
+        }
+    }
+
+    @Test
+    void acquire_shouldKeepKey_whenExpiryMovedByLaterRequest() {
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage(Duration.ofMillis(100))) {
+            storage.acquire("key", LimitPolicy.of(1, 1, 5), Instant.now());
+            storage.acquire("key", LimitPolicy.of(1, 1, 5), Instant.now()); // blocks, moves expiry
+
+            await().during(Duration.ofMillis(1500)).atMost(Duration.ofSeconds(3)).until(() -> storage.size() == 1);
+            assertThat(storage.findByKey("key")).isPresent();
+        }
+    }
+
+    @Test
+    void acquire_shouldRemoveTokenBucketKeyInBackground_onceBucketIsFull() {
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage(Duration.ofMillis(100))) {
+            LimitPolicy policy = LimitPolicy.of(LimitingStrategy.TOKEN_BUCKET, 10, 1, null, 5);
+            for (int i = 0; i < 5; i++) {
+                storage.acquire("key", policy, Instant.now()); // every request moves the expiry back
+            }
+
+            await().atMost(Duration.ofSeconds(3)).until(() -> storage.size() == 0);
+            assertThat(storage.findByKey("key")).isEmpty();
+        }
+    }
+
+    @Test
+    void acquire_shouldUseTokenBucket_whenPolicySelectsIt() {
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage()) {
+            LimitPolicy policy = LimitPolicy.of(LimitingStrategy.TOKEN_BUCKET, 1, 60, null, 2);
+            Instant now = Instant.now();
+
+            assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+            assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+            assertThat(storage.acquire("key", policy, now).isLimited()).isTrue();
+
+            assertThat(storage.findByKey("key")).get().extracting(ClientStats::getTokens).isEqualTo(0d);
+            assertThat(storage.getTtlByKey("key")).isCloseTo(Duration.ofSeconds(120), Duration.ofSeconds(1));
+        }
+    }
+
+    @Test
+    void acquire_shouldUseGcra_whenPolicySelectsIt() {
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage()) {
+            LimitPolicy policy = LimitPolicy.of(LimitingStrategy.GCRA, 1, 60, null, 2);
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+            assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+            assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+            assertThat(storage.acquire("key", policy, now).isLimited()).isTrue();
+
+            assertThat(storage.findByKey("key")).get()
+                .extracting(ClientStats::getLastReset).isEqualTo(now.plusSeconds(120));
+            assertThat(storage.getTtlByKey("key")).isCloseTo(Duration.ofSeconds(120), Duration.ofSeconds(1));
+        }
+    }
+
+    @Test
+    void acquire_shouldRemoveGcraKeyInBackground_whenArrivalTimePassed() {
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage(Duration.ofMillis(100))) {
+            storage.acquire("key", LimitPolicy.of(LimitingStrategy.GCRA, 1, 1, null), Instant.now());
+            assertThat(storage.size()).isEqualTo(1);
+
+            await().atMost(Duration.ofSeconds(3)).until(() -> storage.size() == 0);
+            assertThat(storage.findByKey("key")).isEmpty();
+        }
+    }
+
+    @Test
+    void restoreSnapshot_shouldKeepCountsAndBlocks(@TempDir Path directory) throws IOException {
+        Path snapshot = directory.resolve("limiter.snapshot");
+        LimitPolicy blocking = LimitPolicy.of(1, 60, 600);
+        LimitPolicy gcra = LimitPolicy.of(LimitingStrategy.GCRA, 1, 60, null);
+        LimitPolicy tokenBucket = LimitPolicy.of(LimitingStrategy.TOKEN_BUCKET, 2, 60, null);
+        Instant now = Instant.now();
+
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage()) {
+            storage.acquire("blocked", blocking, now);
+            storage.acquire("blocked", blocking, now);
+            storage.acquire("gcra", gcra, now);
+            storage.acquire("bucket", tokenBucket, now);
+            storage.acquire("bucket", tokenBucket, now);
+
+            assertThat(storage.writeSnapshot(snapshot)).isEqualTo(3);
+        }
+
+        try (InMemoryLimiterStorage restored = new InMemoryLimiterStorage()) {
+            assertThat(restored.restoreSnapshot(snapshot)).isEqualTo(3);
+
+            assertThat(restored.acquire("blocked", blocking, now.plusSeconds(120)).isLimited()).isTrue();
+            assertThat(restored.acquire("gcra", gcra, now).isLimited()).isTrue();
+            assertThat(restored.acquire("bucket", tokenBucket, now).isLimited()).isTrue();
+            assertThat(restored.getTtlByKey("blocked")).isGreaterThan(Duration.ofSeconds(590));
+        }
+    }
+
+    @Test
+    void restoreSnapshot_shouldDropKeysExpiredSinceSnapshot(@TempDir Path directory) throws IOException {
+        Path snapshot = directory.resolve("limiter.snapshot");
+
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage()) {
+            storage.acquire("short", LimitPolicy.of(1, 1, null), Instant.now().minusSeconds(5));
+            storage.acquire("long", LimitPolicy.of(1, 60, null), Instant.now());
+            storage.updateByKey("forever", new ClientStats(1, null, Instant.now()));
+
+            assertThat(storage.writeSnapshot(snapshot)).isEqualTo(2);
+        }
+
+        try (InMemoryLimiterStorage restored = new InMemoryLimiterStorage()) {
+            assertThat(restored.restoreSnapshot(snapshot)).isEqualTo(2);
+            assertThat(restored.findByKey("short")).isEmpty();
+            assertThat(restored.findByKey("long")).isPresent();
+            assertThat(restored.findByKey("forever")).isPresent();
+        }
+    }
+
+    @Test
+    void writeSnapshot_shouldNotCount_keysTooLongToBeWritten(@TempDir Path directory) throws IOException {
+        Path snapshot = directory.resolve("limiter.snapshot");
+        String longKey = "k".repeat(SnapshotFormat.MAXIMUM_KEY_BYTES + 1);
+
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage()) {
+            storage.acquire("key", LimitPolicy.of(1, 60, null), Instant.now());
+            storage.acquire(longKey, LimitPolicy.of(1, 60, null), Instant.now());
+            storage.acquire("gcra-" + longKey, LimitPolicy.of(LimitingStrategy.GCRA, 1, 60, null), Instant.now());
+
+            assertThat(storage.writeSnapshot(snapshot)).isEqualTo(1);
+        }
+
+        try (InMemoryLimiterStorage restored = new InMemoryLimiterStorage()) {
+            assertThat(restored.restoreSnapshot(snapshot)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void restoreSnapshot_shouldLoadNothing_whenSnapshotIsMissing(@TempDir Path directory) throws IOException {
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage()) {
+            assertThat(storage.restoreSnapshot(directory.resolve("missing"))).isZero();
+        }
+    }
+
+    @Test
+    void restoreSnapshot_shouldThrow_whenSnapshotIsTruncated(@TempDir Path directory) throws IOException {
+        Path snapshot = directory.resolve("limiter.snapshot");
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage()) {
+            storage.acquire("key", LimitPolicy.of(1, 60, null), Instant.now());
+            storage.writeSnapshot(snapshot);
+        }
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 4));
+
+        try (InMemoryLimiterStorage restored = new InMemoryLimiterStorage()) {
+            assertThatThrownBy(() -> restored.restoreSnapshot(snapshot)).isInstanceOf(IOException.class);
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+public class InMemorySnapshotterTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void close_shouldWriteSnapshot_restoredByNextNode() throws IOException {
+        Path snapshot = directory.resolve("limiter.snapshot");
+        LimitPolicy policy = LimitPolicy.of(1, 60, null);
+
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage();
+             InMemorySnapshotter _ = new InMemorySnapshotter(storage, snapshot, Duration.ofHours(1), e -> {
+             })) {
+            storage.acquire("key", policy, Instant.now());
+        }
+
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage();
+             InMemorySnapshotter snapshotter = new InMemorySnapshotter(storage, snapshot, Duration.ofHours(1), e -> {
+             })) {
+            assertThat(snapshotter.restore()).isEqualTo(1);
+            assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isTrue();
+        }
+    }
+
+    @Test
+    void snapshotter_shouldWriteSnapshotPeriodically() {
+        Path snapshot = directory.resolve("limiter.snapshot");
+
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage();
+             InMemorySnapshotter _ = new InMemorySnapshotter(storage, snapshot, Duration.ofMillis(100), e -> {
+             })) {
+            storage.acquire("key", LimitPolicy.of(1, 60, null), Instant.now());
+
+            await().atMost(Duration.ofSeconds(3)).until(() -> Files.exists(snapshot));
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.common.LeasableLimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.Lease;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LeasingLimiterStorageTest {
+
+    private final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+    private final SharedStorage shared = new SharedStorage();
+
+    @Test
+    void acquire_shouldAdmitFromLeases_withFewCallsToDelegate() {
+        LeasingLimiterStorage storage = new LeasingLimiterStorage(shared);
+        LimitPolicy policy = LimitPolicy.of(10_000, 60, null);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(storage.acquire("key", policy, now.plusMillis(i)).isLimited()).isFalse();
+        }
+
+        assertThat(shared.leases).isLessThan(50);
+        assertThat(shared.acquires).isZero();
+    }
+
+    @Test
+    void acquire_shouldNotAdmitMoreThanLimit_acrossNodes() {
+        LeasingLimiterStorage first = new LeasingLimiterStorage(shared);
+        LeasingLimiterStorage second = new LeasingLimiterStorage(shared);
+        LimitPolicy policy = LimitPolicy.of(100, 60, null);
+
+        int allowed = 0;
+        for (int i = 0; i < 300; i++) {
+            LeasingLimiterStorage node = i % 2 == 0 ? first : second;
+            allowed += node.acquire("key", policy, now.plusMillis(i)).isLimited() ? 0 : 1;
+        }
+
+        assertThat(allowed).isEqualTo(100);
+    }
+
+    @Test
+    void acquire_shouldLimitLocally_onceWindowUsedUp() {
+        LeasingLimiterStorage storage = new LeasingLimiterStorage(shared);
+        LimitPolicy policy = LimitPolicy.of(20, 60, null);
+        for (int i = 0; i < 20; i++) {
+            assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+        }
+        assertThat(storage.acquire("key", policy, now).isLimited()).isTrue();
+        int leases = shared.leases;
+
+        assertThat(storage.acquire("key", policy, now.plusSeconds(30)).isLimited()).isTrue();
+        assertThat(storage.isLimited("key", policy, now.plusSeconds(30))).isTrue();
+        assertThat(shared.leases).isEqualTo(leases);
+    }
+
+    @Test
+    void acquire_shouldLeaseAgain_inNextWindow() {
+        LeasingLimiterStorage storage = new LeasingLimiterStorage(shared);
+        LimitPolicy policy = LimitPolicy.of(20, 60, null);
+        for (int i = 0; i < 21; i++) {
+            storage.acquire("key", policy, now);
+        }
+
+        assertThat(storage.acquire("key", policy, now.plusSeconds(61)).isLimited()).isFalse();
+    }
+
+    @Test
+    void acquire_shouldLeaseFewRequests_whenTrafficIsSlow() {
+        LeasingLimiterStorage storage = new LeasingLimiterStorage(shared, Duration.ofMillis(100), 1_000);
+        LimitPolicy policy = LimitPolicy.of(10_000, 3600, null);
+
+        for (int i = 0; i < 10; i++) {
+            storage.acquire("key", policy, now.plusSeconds(i));
+        }
+
+        assertThat(shared.window("key").total).isLessThanOrEqualTo(11);
+    }
+
+    @Test
+    void acquire_shouldPassToDelegate_whenPolicyIsNotLeased() {
+        LeasingLimiterStorage storage = new LeasingLimiterStorage(shared);
+
+        storage.acquire("key", LimitPolicy.of(100, 60, 60), now);
+        storage.acquire("key", LimitPolicy.of(10, 60, null), now);
+
+        assertThat(shared.acquires).isEqualTo(2);
+        assertThat(shared.leases).isZero();
+        assertThat(storage.size()).isZero();
+    }
+
+    @Test
+    void acquire_shouldSweepQuotasOfEndedWindows() {
+        LeasingLimiterStorage storage = new LeasingLimiterStorage(shared);
+        LimitPolicy policy = LimitPolicy.of(20, 60, null);
+        storage.acquire("key", policy, now);
+
+        storage.acquire("other", policy, now.plusSeconds(61));
+
+        assertThat(storage.size()).isEqualTo(1);
+        assertThat(storage.acquire("key", policy, now.plusSeconds(62)).isLimited()).isFalse();
+        assertThat(storage.size()).isEqualTo(2);
+    }
+
+    @Test
+    void acquireAll_shouldCallDelegateOnce_whenNoTierIsLeased() {
+        LeasingLimiterStorage storage = new LeasingLimiterStorage(shared);
+        List<LimitPolicy> policies = List.of(LimitPolicy.of(10, 1, null), LimitPolicy.of(100, 3600, 60));
+
+        storage.acquireAll(List.of("key", "key#1"), policies, now);
+
+        assertThat(shared.acquireAlls).isEqualTo(1);
+        assertThat(shared.acquires).isZero();
+        assertThat(shared.leases).isZero();
+    }
+
+    @Test
+    void acquireAll_shouldLeaseTiersLocally_andDelegateTheOthersInOneCall() {
+        LeasingLimiterStorage storage = new LeasingLimiterStorage(shared);
+        List<LimitPolicy> policies = List.of(
+            LimitPolicy.of(10, 1, null), LimitPolicy.of(10_000, 60, null), LimitPolicy.of(100, 3600, 60)
+        );
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(storage.acquireAll(List.of("key", "key#1", "key#2"), policies, now).isLimited()).isFalse();
+        }
+
+        assertThat(shared.acquireAlls).isEqualTo(10);
+        assertThat(shared.delegatedKeys).containsExactly("key", "key#2");
+        assertThat(shared.acquires).isZero();
+        assertThat(shared.leases).isPositive();
+    }
+
+    @Test
+    void acquireAll_shouldGiveBackLeasedRequest_whenDelegateLimits() {
+        LeasingLimiterStorage storage = new LeasingLimiterStorage(shared);
+        List<LimitPolicy> policies = List.of(LimitPolicy.of(10, 1, null), LimitPolicy.of(10_000, 60, null));
+        storage.acquireAll(List.of("key", "key#1"), policies, now);
+        shared.limited = true;
+
+        storage.acquireAll(List.of("key", "key#1"), policies, now);
+        storage.close();
+
+        // Only the request the delegate allowed is left counted once the unused leased requests are given back
+        assertThat(shared.window("key#1").total).isEqualTo(1);
+    }
+
+    @Test
+    void close_shouldReleaseUnusedRequests() {
+        LeasingLimiterStorage storage = new LeasingLimiterStorage(shared);
+        LimitPolicy policy = LimitPolicy.of(10_000, 60, null);
+        for (int i = 0; i < 100; i++) {
+            storage.acquire("key", policy, now.plusMillis(i));
+        }
+
+        storage.close();
+
+        assertThat(shared.window("key").total).isEqualTo(100);
+        assertThat(storage.size()).isZero();
+    }
+
+    /**
+     * A fixed window counter shared by the nodes, standing for Redis.
+     */
+    private static class SharedStorage implements LeasableLimiterStorage {
+        private final Map<String, Window> windows = new HashMap<>();
+        private int leases;
+        private int acquires;
+        private int acquireAlls;
+        private List<String> delegatedKeys;
+        private boolean limited;
+
+        @Override
+        public synchronized Lease lease(String key, LimitPolicy policy, int permits, Instant now) {
+            leases++;
+            Window window = windows.get(key);
+            if (window == null || window.start.plusSeconds(policy.getWindowSeconds()).isBefore(now)) {
+                window = new Window(now);
+                windows.put(key, window);
+            }
+
+            int granted = Math.max(0, Math.min(permits, policy.getMaximumRequests() - window.total));
+            window.total += granted;
+            return new Lease(granted, window.start, window.start.plusSeconds(policy.getWindowSeconds()));
+        }
+
+        @Override
+        public synchronized void release(String key, LimitPolicy policy, Lease lease, int permits) {
+            Window window = windows.get(key);
+            if (window != null && window.start.equals(lease.getWindowStart())) {
+                window.total -= permits;
+            }
+        }
+
+        @Override
+        public synchronized Decision acquire(String key, LimitPolicy policy, Instant now) {
+            acquires++;
+            return Decision.ALLOWED;
+        }
+
+        @Override
+        public synchronized Decision acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+            acquireAlls++;
+            delegatedKeys = keys;
+            return limited ? Decision.LIMITED : Decision.ALLOWED;
+        }
+
+        @Override
+        public Optional<ClientStats> findByKey(String key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void updateByKey(String key, ClientStats stats) {
+        }
+
+        @Override
+        public Duration getTtlByKey(String key) {
+            return Duration.ZERO;
+        }
+
+        @Override
+        public void setTtlByKey(String key, Duration ttl) {
+        }
+
+        synchronized Window window(String key) {
+            return windows.get(key);
+        }
+    }
+
+    private static class Window {
+        private final Instant start;
+        private int total;
+
+        private Window(Instant start) {
+            this.start = start;
+        }
+    }
+}
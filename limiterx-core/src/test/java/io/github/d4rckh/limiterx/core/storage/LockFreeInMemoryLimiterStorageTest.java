@@ -0,0 +1,148 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LockFreeInMemoryLimiterStorageTest {
+
+    private final LockFreeInMemoryLimiterStorage storage = new LockFreeInMemoryLimiterStorage(Duration.ofHours(1));
+    private final long now = System.currentTimeMillis();
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    void performLimiting_shouldLimit_whenMaximumRequestsExceeded() {
+        assertThat(storage.performLimiting("key", 2, 10_000, 0, now)).isFalse();
+        assertThat(storage.performLimiting("key", 2, 10_000, 0, now)).isFalse();
+        assertThat(storage.performLimiting("key", 2, 10_000, 0, now)).isTrue();
+    }
+
+    @Test
+    void performLimiting_shouldAllow_whenWindowExpires() {
+        storage.performLimiting("key", 1, 10_000, 0, now);
+        assertThat(storage.performLimiting("key", 1, 10_000, 0, now)).isTrue();
+
+        assertThat(storage.performLimiting("key", 1, 10_000, 0, now + 10_001)).isFalse();
+    }
+
+    @Test
+    void performLimiting_shouldKeepBlocking_untilBlockExpires() {
+        storage.performLimiting("key", 1, 10_000, 60_000, now);
+        assertThat(storage.performLimiting("key", 1, 10_000, 60_000, now)).isTrue();
+
+        assertThat(storage.performLimiting("key", 1, 10_000, 60_000, now + 30_000)).isTrue();
+        assertThat(storage.performLimiting("key", 1, 10_000, 60_000, now + 60_001)).isFalse();
+    }
+
+    @Test
+    void performLimiting_shouldRejectLimitsAboveCountCapacity() {
+        assertThatThrownBy(() -> storage.performLimiting("key", Integer.MAX_VALUE, 10_000, 0, now))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void performLimiting_shouldNotOverAdmit_whenCalledConcurrently() throws Exception {
+        List<Callable<Boolean>> requests = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            requests.add(() -> storage.performLimiting("key", 1_000, 60_000, 0, now));
+        }
+
+        int allowed = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<Boolean> result : executor.invokeAll(requests)) {
+                if (!result.get()) allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(1_000);
+        assertThat(storage.findByKey("key")).get().extracting(ClientStats::getTotalRequests).isEqualTo(10_000L);
+    }
+
+    @Test
+    void acquire_shouldExposeStatsThroughFindByKey() {
+        Instant instant = Instant.ofEpochMilli(now);
+        storage.acquire("key", LimitPolicy.of(1, 10, 30), instant);
+        storage.acquire("key", LimitPolicy.of(1, 10, 30), instant);
+
+        ClientStats stats = storage.findByKey("key").orElseThrow();
+        assertThat(stats.getTotalRequests()).isEqualTo(2);
+        assertThat(stats.getLastReset()).isEqualTo(instant);
+        assertThat(stats.getBlockedAt()).isEqualTo(instant);
+        assertThat(storage.getTtlByKey("key")).isCloseTo(Duration.ofSeconds(30), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void acquire_shouldReturnEndOfBlock_whenBlocked() {
+        Instant instant = Instant.ofEpochMilli(now);
+        LimitPolicy policy = LimitPolicy.of(1, 10, 60);
+        assertThat(storage.acquire("key", policy, instant)).isEqualTo(Decision.ALLOWED);
+
+        Decision blocked = storage.acquire("key", policy, instant);
+        assertThat(blocked.isLimited()).isTrue();
+        assertThat(blocked.getBlockedUntil()).isEqualTo(instant.plusSeconds(60));
+
+        Decision stillBlocked = storage.acquire("key", policy, instant.plusSeconds(30));
+        assertThat(stillBlocked.getBlockedUntil()).isEqualTo(instant.plusSeconds(60));
+    }
+
+    @Test
+    void acquire_shouldNotReturnEndOfBlock_whenPolicyDoesNotBlock() {
+        Instant instant = Instant.ofEpochMilli(now);
+        LimitPolicy policy = LimitPolicy.of(1, 10, null);
+        storage.acquire("key", policy, instant);
+
+        assertThat(storage.acquire("key", policy, instant)).isEqualTo(Decision.LIMITED);
+    }
+
+    @Test
+    void setTtlByKey_shouldKeepKey_pastItsWindow() {
+        storage.performLimiting("key", 1, 1_000, 0, System.currentTimeMillis());
+
+        storage.setTtlByKey("key", Duration.ofMinutes(1));
+        storage.sweep(System.currentTimeMillis() + 2_000);
+
+        assertThat(storage.findByKey("key")).isPresent();
+        assertThat(storage.getTtlByKey("key")).isCloseTo(Duration.ofMinutes(1), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void supports_shouldOnlyAcceptFixedWindow() {
+        assertThat(storage.supports(LimitingStrategy.FIXED_WINDOW)).isTrue();
+        assertThat(storage.supports(LimitingStrategy.TOKEN_BUCKET)).isFalse();
+        assertThat(storage.supports(LimitingStrategy.GCRA)).isFalse();
+    }
+
+    @Test
+    void sweep_shouldRemoveOnlyExpiredKeys() {
+        storage.performLimiting("short", 1, 1_000, 0, now);
+        storage.performLimiting("blocked", 1, 1_000, 60_000, now);
+        storage.performLimiting("blocked", 1, 1_000, 60_000, now);
+
+        storage.sweep(now + 2_000);
+
+        assertThat(storage.findByKey("short")).isEmpty();
+        assertThat(storage.findByKey("blocked")).isPresent();
+        assertThat(storage.size()).isEqualTo(1);
+
+        assertThat(storage.performLimiting("short", 1, 1_000, 0, now + 2_000)).isFalse();
+    }
+}
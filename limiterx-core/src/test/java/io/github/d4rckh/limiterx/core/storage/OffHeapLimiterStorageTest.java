@@ -0,0 +1,152 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffHeapLimiterStorageTest {
+
+    private final OffHeapLimiterStorage storage = new OffHeapLimiterStorage(1_000, Duration.ofHours(1));
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    void acquire_shouldLimit_whenMaximumRequestsExceeded() {
+        LimitPolicy policy = LimitPolicy.of(2, 10, null);
+
+        assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, now).isLimited()).isTrue();
+        assertThat(storage.acquire("other", policy, now).isLimited()).isFalse();
+    }
+
+    @Test
+    void acquire_shouldBlockUntilBlockEnds() {
+        LimitPolicy policy = LimitPolicy.of(1, 10, 60);
+        storage.acquire("key", policy, now);
+
+        assertThat(storage.acquire("key", policy, now)).isEqualTo(Decision.blockedUntil(now.plusSeconds(60)));
+        assertThat(storage.acquire("key", policy, now.plusSeconds(30)).isLimited()).isTrue();
+        assertThat(storage.acquire("key", policy, now.plusSeconds(61)).isLimited()).isFalse();
+    }
+
+    @Test
+    void acquire_shouldSupportEveryStrategy() {
+        for (LimitingStrategy strategy : LimitingStrategy.values()) {
+            LimitPolicy policy = LimitPolicy.of(strategy, 2, 10, null);
+            String key = strategy.name();
+
+            assertThat(storage.acquire(key, policy, now).isLimited()).isFalse();
+            assertThat(storage.acquire(key, policy, now).isLimited()).isFalse();
+            assertThat(storage.acquire(key, policy, now).isLimited()).as(key).isTrue();
+            assertThat(storage.isLimited(key, policy, now)).as(key).isTrue();
+        }
+    }
+
+    @Test
+    void acquire_shouldReadExpiredKeyAsNew() {
+        LimitPolicy policy = LimitPolicy.of(1, 1, null);
+        Instant past = now.minusSeconds(10);
+        storage.acquire("key", policy, past);
+        storage.acquire("key", policy, past);
+
+        assertThat(storage.findByKey("key")).isEmpty();
+        assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+        assertThat(storage.size()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_shouldKeepEveryKey_whenGrowingPastExpectedKeys() {
+        LimitPolicy policy = LimitPolicy.of(1, 60, null);
+        long allocated = storage.getAllocatedBytes();
+
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(storage.acquire("client-" + i, policy, now).isLimited()).isFalse();
+        }
+
+        assertThat(storage.size()).isEqualTo(20_000);
+        assertThat(storage.getAllocatedBytes()).isGreaterThan(allocated);
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(storage.acquire("client-" + i, policy, now).isLimited()).isTrue();
+        }
+    }
+
+    @Test
+    void sweep_shouldRemoveExpiredKeys_andKeepLiveOnes() {
+        for (int i = 0; i < 5_000; i++) {
+            storage.acquire("client-" + i, LimitPolicy.of(10, i % 2 == 0 ? 1 : 3600, null), now);
+        }
+
+        storage.sweep(toMicros(now.plusSeconds(5)));
+
+        assertThat(storage.size()).isEqualTo(2_500);
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(storage.findByKey("client-" + i).isPresent()).isEqualTo(i % 2 == 1);
+        }
+    }
+
+    @Test
+    void updateByKey_shouldStoreStats_withoutExpiry() {
+        ClientStats stats = new ClientStats(3, now, now.minusSeconds(1));
+        stats.setTokens(1.5);
+        stats.setPreviousRequests(7);
+
+        storage.updateByKey("key", stats);
+
+        assertThat(storage.findByKey("key")).contains(stats);
+        assertThat(storage.getTtlByKey("key")).isEqualTo(Duration.ZERO);
+
+        storage.setTtlByKey("key", Duration.ofMinutes(1));
+        assertThat(storage.getTtlByKey("key")).isBetween(Duration.ofSeconds(59), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void acquire_shouldNotOverAdmit_whenCalledConcurrently() throws Exception {
+        LimitPolicy policy = LimitPolicy.of(500, 60, null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    int allowed = 0;
+                    for (int i = 0; i < 200; i++) {
+                        allowed += storage.acquire("key", policy, Instant.now()).isLimited() ? 0 : 1;
+                    }
+                    return allowed;
+                });
+            }
+
+            int allowed = 0;
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                allowed += result.get();
+            }
+            assertThat(allowed).isEqualTo(500);
+            assertThat(storage.findByKey("key").orElseThrow().getTotalRequests()).isEqualTo(1_600);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.d4rckh.limiterx.core.storage;
+
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardedLimiterStorageTest {
+
+    private final Instant now = Instant.now();
+    private final Map<String, InMemoryLimiterStorage> shards = new LinkedHashMap<>();
+
+    @AfterEach
+    void closeShards() {
+        shards.values().forEach(InMemoryLimiterStorage::close);
+    }
+
+    @Test
+    void shardOf_shouldSpreadKeysEvenly() {
+        ShardedLimiterStorage storage = new ShardedLimiterStorage(shards("redis-1", "redis-2", "redis-3"));
+
+        Map<LimiterStorage, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            counts.merge(storage.shardOf(Key.of("client-" + i).getKey()), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(8_000, 12_000));
+    }
+
+    @Test
+    void shardOf_shouldOnlyMoveKeysToNewShard_whenShardIsAdded() {
+        ShardedLimiterStorage before = new ShardedLimiterStorage(shards("redis-1", "redis-2", "redis-3"));
+        ShardedLimiterStorage after = new ShardedLimiterStorage(shards("redis-1", "redis-2", "redis-3", "redis-4"));
+        LimiterStorage added = shards.get("redis-4");
+
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String key = Key.of("client-" + i).getKey();
+            if (before.shardOf(key) != after.shardOf(key)) {
+                assertThat(after.shardOf(key)).isSameAs(added);
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(1_500, 3_500);
+    }
+
+    @Test
+    void acquireAll_shouldCountTiersOnShardOfKey() {
+        ShardedLimiterStorage storage = new ShardedLimiterStorage(shards("redis-1", "redis-2", "redis-3"));
+        Key key = Key.of("client");
+        List<String> keys = List.of(key.getKey(), key.tier(1).getKey(), key.tier(2).getKey());
+        List<LimitPolicy> policies = List.of(LimitPolicy.of(10, 1, null), LimitPolicy.of(100, 60, null), LimitPolicy.of(1000, 3600, null));
+
+        storage.acquireAll(keys, policies, now);
+
+        LimiterStorage shard = storage.shardOf(key.getKey());
+        for (String tierKey : keys) {
+            assertThat(storage.shardOf(tierKey)).isSameAs(shard);
+            assertThat(shard.findByKey(tierKey)).isPresent();
+        }
+    }
+
+    @Test
+    void acquire_shouldKeepCountsOnShardOfKey() {
+        ShardedLimiterStorage storage = new ShardedLimiterStorage(shards("redis-1", "redis-2"));
+        LimitPolicy policy = LimitPolicy.of(1, 60, null);
+
+        assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, now).isLimited()).isTrue();
+        assertThat(storage.isLimited("key", policy, now)).isTrue();
+        assertThat(storage.shardOf("key").findByKey("key").orElseThrow().getTotalRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void lease_shouldThrow_whenShardCannotLease() {
+        ShardedLimiterStorage storage = new ShardedLimiterStorage(shards("redis-1"));
+
+        assertThatThrownBy(() -> storage.lease("key", LimitPolicy.of(100, 60, null), 10, now))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private Map<String, InMemoryLimiterStorage> shards(String... names) {
+        Map<String, InMemoryLimiterStorage> selected = new LinkedHashMap<>();
+        for (String name : names) {
+            selected.put(name, shards.computeIfAbsent(name, _ -> new InMemoryLimiterStorage()));
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.d4rckh.limiterx.spring.annotation;
+
+import io.github.d4rckh.limiterx.core.algorithm.AdaptiveLimit;
+import io.github.d4rckh.limiterx.core.domain.AdaptiveStrategy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Adapts the limits of a {@link RateLimited} method to the latency and errors of its own calls.
+ * <p>
+ * The duration of every call, and whether it threw, is fed to an {@link AdaptiveLimit} of the method: when calls
+ * get slow or fail, the method admits fewer requests, when they are quick again it admits more, up to the
+ * {@code maximumRequests} of the annotation, which stays the ceiling. The limit is shared by every client of the
+ * method and kept by each node for its own calls. Tiers are scaled by the same factor.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * @RateLimited(key = IPExtractor.class, maximumRequests = 100, windowSize = 1)
+ * @Adaptive(strategy = AdaptiveStrategy.GRADIENT, minimumRequests = 10)
+ * public Report search() { ... }
+ * }
+ * </pre>
+ * <p>
+ * Calls rejected by the limiter are not sampled. Methods returning a {@code Mono} or {@code Flux} cannot be
+ * adaptive, their work is done after they returned.
+ * </p>
+ *
+ * @see AdaptiveStrategy
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Adaptive {
+
+    /**
+     * The algorithm adjusting the limit.
+     *
+     * @return the adaptive strategy
+     */
+    AdaptiveStrategy strategy() default AdaptiveStrategy.GRADIENT;
+
+    /**
+     * The lowest value the {@code maximumRequests} of the method is lowered to.
+     *
+     * @return the request limit floor
+     */
+    int minimumRequests() default 1;
+
+    /**
+     * The latency (in milliseconds) above which a call counts as a sign of overload, only used by
+     * {@link AdaptiveStrategy#AIMD}.
+     *
+     * @return the latency threshold in milliseconds
+     */
+    long latencyThresholdMillis() default 1000;
+}
@@ -0,0 +1,92 @@
+package io.github.d4rckh.limiterx.spring.annotation;
+
+import io.github.d4rckh.limiterx.spring.aspect.ConcurrencyLimitedAspect;
+import io.github.d4rckh.limiterx.spring.common.KeyExtractor;
+import io.github.d4rckh.limiterx.spring.domain.NullKeyStrategy;
+import io.github.d4rckh.limiterx.spring.extractor.NoopExtractor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation for limiting the calls of a method in progress at once.
+ * <p>
+ * Where {@link RateLimited} counts the calls made within a time window, this annotation caps the calls running
+ * at the same time, per key and optionally across all keys, like a bulkhead. A permit is taken when the method
+ * is called and released when it returns or throws, so that slow calls keep the method busy for as long as
+ * they run.
+ * </p>
+ *
+ * <p>
+ * The key is extracted like the one of {@link RateLimited}, see {@link #keyExpression()}, {@link #key()}
+ * and {@link #fallbackKey()}. Both annotations can be put on the same method.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * @ConcurrencyLimited(key = UsernameExtractor.class, maximumConcurrentCalls = 2, globalMaximumConcurrentCalls = 20)
+ * public Report generateReport() { ... }
+ * }
+ * </pre>
+ *
+ * @see ConcurrencyLimitedAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+
+    /**
+     * The primary key extractor used to generate a unique key for concurrency limiting.
+     *
+     * @return the key extractor class
+     */
+    Class<? extends KeyExtractor> key() default NoopExtractor.class;
+
+    /**
+     * SPeL expression checked before the key extractors, see {@link RateLimited#keyExpression()}.
+     *
+     * @return the SPeL expression used
+     */
+    String keyExpression() default "";
+
+    /**
+     * The fallback key extractor in case the primary key extractor returns null.
+     *
+     * @return the fallback key extractor class
+     */
+    Class<? extends KeyExtractor> fallbackKey() default NoopExtractor.class;
+
+    /**
+     * Strategy for handling cases where both key extractors return a null key.
+     *
+     * @return the null key handling strategy
+     * @see NullKeyStrategy
+     */
+    NullKeyStrategy nullKeyStrategy() default NullKeyStrategy.AUTO;
+
+    /**
+     * The maximum number of calls in progress at once on the same key.
+     *
+     * @return the per-key call limit
+     */
+    int maximumConcurrentCalls();
+
+    /**
+     * The maximum number of calls in progress at once across all keys. If set to 0, only the per-key limit applies.
+     *
+     * @return the global call limit
+     */
+    int globalMaximumConcurrentCalls() default 0;
+
+    /**
+     * The longest (in seconds) a permit is held by Redis when it is not released, e.g. because the node stopped
+     * during the call. It should be longer than the calls of the method, the permit of a longer call is dropped
+     * before the call ends.
+     *
+     * @return the lease duration in seconds
+     */
+    int leaseSeconds() default 60;
+}
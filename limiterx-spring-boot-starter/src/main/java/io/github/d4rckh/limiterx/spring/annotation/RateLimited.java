@@ -1,5 +1,6 @@
 package io.github.d4rckh.limiterx.spring.annotation;
 
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
 import io.github.d4rckh.limiterx.spring.common.KeyExtractor;
 import io.github.d4rckh.limiterx.spring.domain.NullKeyStrategy;
 import io.github.d4rckh.limiterx.spring.extractor.NoopExtractor;
@@ -24,10 +25,13 @@ import java.lang.annotation.Target;
  *     <li>Optional fallback key extraction strategy.</li>
  *     <li>Blocking mechanism for requests exceeding the limit.</li>
  *     <li>Handling of null or missing keys.</li>
+ *     <li>Selectable limiting strategy (fixed window, sliding window, token bucket or GCRA).</li>
+ *     <li>Additional limits on the same key, see {@link #tiers()}.</li>
  * </ul>
  *
  * @see KeyExtractor
  * @see NullKeyStrategy
+ * @see Tier
  * @see RateLimitedAspect
  */
 @Target(ElementType.METHOD)
@@ -53,6 +57,11 @@ public @interface RateLimited {
      * SPeL expression that will be checked before the key extractors, if it returns
      * an empty string, the key will be generated using the key and fallbackKey
      * extractors.
+     * <p>
+     * The expression can reference the extractors by class name ({@code #IPExtractor.extract()})
+     * and the method arguments by position ({@code #p0}) or by name ({@code #tenantId},
+     * {@code #request.apiKey}), the latter requires compiling with {@code -parameters}.
+     * </p>
      *
      * @return the SPeL expression used
      */
@@ -94,4 +103,36 @@ public @interface RateLimited {
      * @return the window size in seconds
      */
     int windowSize();
+
+    /**
+     * The algorithm used to enforce the limit.
+     * <p>
+     * With {@link LimitingStrategy#TOKEN_BUCKET}, {@code maximumRequests} tokens are refilled
+     * continuously over every {@code windowSize} seconds, up to {@link #capacity()} tokens.
+     * {@link LimitingStrategy#GCRA} enforces the same rate and burst while storing a single timestamp per key.
+     * </p>
+     *
+     * @return the limiting strategy
+     * @see LimitingStrategy
+     */
+    LimitingStrategy strategy() default LimitingStrategy.FIXED_WINDOW;
+
+    /**
+     * The burst size of a {@link LimitingStrategy#TOKEN_BUCKET} or {@link LimitingStrategy#GCRA}. If set to 0, {@code maximumRequests} is used.
+     *
+     * @return the bucket capacity
+     */
+    int capacity() default 0;
+
+    /**
+     * Further limits enforced together with the one of this annotation, on the same key.
+     * <p>
+     * A call is only allowed if every limit allows it. All limits are checked at once, in a single Redis round
+     * trip, from the shortest window to the longest: a call rejected by a limit is not counted by the longer ones,
+     * so that a client sending bursts does not use up its sustained quota with rejected calls.
+     * </p>
+     *
+     * @return the additional limits
+     */
+    Tier[] tiers() default {};
 }
@@ -0,0 +1,69 @@
+package io.github.d4rckh.limiterx.spring.annotation;
+
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An additional limit of a {@link RateLimited} method, see {@link RateLimited#tiers()}.
+ * <p>
+ * A tier is enforced on the same client key as the method's own limit, and a call is only allowed if
+ * the method's limit and every tier allow it, e.g. a burst limit of 10 requests per second together with
+ * a sustained limit of 1000 requests per hour:
+ * </p>
+ * <pre>
+ * {@code
+ * @RateLimited(
+ *     key = IPExtractor.class,
+ *     maximumRequests = 10,
+ *     windowSize = 1,
+ *     tiers = @Tier(maximumRequests = 1000, windowSize = 3600)
+ * )
+ * }
+ * </pre>
+ *
+ * @see RateLimited
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Tier {
+
+    /**
+     * The maximum number of requests allowed within the given {@code windowSize}.
+     *
+     * @return the request limit
+     */
+    int maximumRequests();
+
+    /**
+     * The size of the time window (in seconds) during which the {@code maximumRequests} applies.
+     *
+     * @return the window size in seconds
+     */
+    int windowSize();
+
+    /**
+     * The duration (in seconds) for which requests should be blocked once this tier's limit is exceeded.
+     * If set to 0, no additional blocking occurs beyond normal rate limiting.
+     *
+     * @return the block duration in seconds
+     */
+    int blockFor() default 0;
+
+    /**
+     * The algorithm used to enforce this tier's limit.
+     *
+     * @return the limiting strategy
+     * @see RateLimited#strategy()
+     */
+    LimitingStrategy strategy() default LimitingStrategy.FIXED_WINDOW;
+
+    /**
+     * The burst size of a {@link LimitingStrategy#TOKEN_BUCKET} or {@link LimitingStrategy#GCRA}. If set to 0, {@code maximumRequests} is used.
+     *
+     * @return the bucket capacity
+     */
+    int capacity() default 0;
+}
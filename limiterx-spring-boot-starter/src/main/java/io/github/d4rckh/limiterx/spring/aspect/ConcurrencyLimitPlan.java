@@ -0,0 +1,101 @@
+package io.github.d4rckh.limiterx.spring.aspect;
+
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.spring.annotation.ConcurrencyLimited;
+import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExtractorSpelEvaluator;
+import org.springframework.context.ApplicationContext;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+/**
+ * Everything {@link ConcurrencyLimitedAspect} needs to limit the calls of one {@link ConcurrencyLimited} method,
+ * resolved once from the annotation.
+ * <p>
+ * Permits are held under keys of their own, {@code method:in-flight} taking the place of the method name in
+ * {@link Key#prefixOf(Class, String)}, so that they never share a key with the counters of {@code @RateLimited}.
+ * The global limit is held under the {@code method:in-flight:all} key.
+ * </p>
+ */
+final class ConcurrencyLimitPlan {
+    private final KeySource keys;
+    private final int maximumConcurrentCalls;
+    private final Key globalKey;
+    private final int globalMaximumConcurrentCalls;
+    private final Duration lease;
+
+    private ConcurrencyLimitPlan(KeySource keys, int maximumConcurrentCalls, Key globalKey,
+                                 int globalMaximumConcurrentCalls, Duration lease) {
+        this.keys = keys;
+        this.maximumConcurrentCalls = maximumConcurrentCalls;
+        this.globalKey = globalKey;
+        this.globalMaximumConcurrentCalls = globalMaximumConcurrentCalls;
+        this.lease = lease;
+    }
+
+    /**
+     * Compiles the plan of {@code method} called on an instance of {@code targetClass}.
+     *
+     * @throws IllegalStateException if the method returns before its work is done, e.g. a {@code Mono} or a
+     *                               {@code CompletableFuture}, its permit would be released too early
+     */
+    static ConcurrencyLimitPlan compile(ConcurrencyLimited annotation, Class<?> targetClass, Method method,
+                                        ApplicationContext context, KeyExtractorSpelEvaluator evaluator) {
+        Class<?> returnType = method.getReturnType();
+        if (RateLimitPlan.isReactive(method)
+            || CompletionStage.class.isAssignableFrom(returnType) || Future.class.isAssignableFrom(returnType)) {
+            throw new IllegalStateException(
+                "@ConcurrencyLimited cannot limit " + method + ", it returns before its work is done"
+            );
+        }
+        if (annotation.maximumConcurrentCalls() <= 0 || annotation.leaseSeconds() <= 0) {
+            throw new IllegalStateException(
+                "@ConcurrencyLimited of " + method + " needs positive maximumConcurrentCalls and leaseSeconds"
+            );
+        }
+
+        String signature = method.getName() + ":in-flight";
+        return new ConcurrencyLimitPlan(
+            KeySource.compile(
+                annotation.keyExpression(), annotation.key(), annotation.fallbackKey(), annotation.nullKeyStrategy(),
+                Key.prefixOf(targetClass, signature), method, context, evaluator
+            ),
+            annotation.maximumConcurrentCalls(),
+            Key.fromClass(targetClass, signature + ":all", ""),
+            annotation.globalMaximumConcurrentCalls(),
+            Duration.ofSeconds(annotation.leaseSeconds())
+        );
+    }
+
+    /**
+     * Extracts the client key of a call, see {@link KeySource#keyOf(Object[])}.
+     */
+    Key keyOf(Object[] arguments) {
+        return keys.keyOf(arguments);
+    }
+
+    int getMaximumConcurrentCalls() {
+        return maximumConcurrentCalls;
+    }
+
+    /**
+     * @return whether the calls across all keys are limited as well
+     */
+    boolean hasGlobalLimit() {
+        return globalMaximumConcurrentCalls > 0;
+    }
+
+    Key getGlobalKey() {
+        return globalKey;
+    }
+
+    int getGlobalMaximumConcurrentCalls() {
+        return globalMaximumConcurrentCalls;
+    }
+
+    Duration getLease() {
+        return lease;
+    }
+}
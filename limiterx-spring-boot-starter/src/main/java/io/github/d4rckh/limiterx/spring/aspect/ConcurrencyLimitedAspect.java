@@ -0,0 +1,88 @@
+package io.github.d4rckh.limiterx.spring.aspect;
+
+import io.github.d4rckh.limiterx.core.ConcurrencyLimiter;
+import io.github.d4rckh.limiterx.core.ConcurrencyLimiter.Permit;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.spring.annotation.ConcurrencyLimited;
+import io.github.d4rckh.limiterx.spring.exception.LimiterXMissingKey;
+import io.github.d4rckh.limiterx.spring.exception.LimiterXTooManyRequests;
+import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExtractorSpelEvaluator;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodClassKey;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspect limiting the calls in progress of the methods annotated with {@link ConcurrencyLimited}.
+ * <p>
+ * Unlike {@link RateLimitedAspect}, which only has to count a call before it starts, this aspect runs around
+ * the call: the permits of the client key and, if set, of the method as a whole are taken before the method is
+ * invoked and released in a {@code finally} once it returned or threw. A call finding no permit left fails with
+ * {@link LimiterXTooManyRequests} without invoking the method.
+ * </p>
+ * <p>
+ * The permits of a call are held by the {@link ConcurrencyLimiter}, locally or in Redis depending on
+ * {@code limiterx.storage}. Redis drops the permits of calls lasting longer than
+ * {@link ConcurrencyLimited#leaseSeconds()}, so that a node stopping mid-call does not hold them forever.
+ * </p>
+ *
+ * @see ConcurrencyLimited
+ * @see ConcurrencyLimiter
+ */
+@Aspect
+@Component
+public class ConcurrencyLimitedAspect {
+    private final ConcurrencyLimiter limiter;
+    private final ApplicationContext context;
+    private final KeyExtractorSpelEvaluator evaluator;
+    private final Map<MethodClassKey, ConcurrencyLimitPlan> plans = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitedAspect(ConcurrencyLimiter limiter, ApplicationContext context,
+                                    KeyExtractorSpelEvaluator evaluator) {
+        this.limiter = limiter;
+        this.context = context;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Intercepts methods annotated with {@link ConcurrencyLimited} and holds permits while they run.
+     *
+     * @param joinPoint  the intercepted method invocation
+     * @param annotation the {@code ConcurrencyLimited} annotation instance
+     * @return the result of the method
+     * @throws LimiterXMissingKey      if both key extractors return null and the null key strategy is {@code FORBID}
+     * @throws LimiterXTooManyRequests if too many calls are in progress
+     * @throws Throwable               if the method throws
+     */
+    @Around("@annotation(annotation)")
+    public Object limitConcurrency(ProceedingJoinPoint joinPoint, ConcurrencyLimited annotation) throws Throwable {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        ConcurrencyLimitPlan plan = plans.computeIfAbsent(
+            new MethodClassKey(method, targetClass),
+            _ -> ConcurrencyLimitPlan.compile(annotation, targetClass, method, context, evaluator)
+        );
+
+        Key key = plan.keyOf(joinPoint.getArgs());
+        // The client's permit first, so that a client over its own limit does not take a global permit
+        try (Permit _ = acquire(key, plan.getMaximumConcurrentCalls(), plan);
+             Permit _ = plan.hasGlobalLimit()
+                 ? acquire(plan.getGlobalKey(), plan.getGlobalMaximumConcurrentCalls(), plan)
+                 : null) {
+            return joinPoint.proceed();
+        }
+    }
+
+    private Permit acquire(Key key, int maximumConcurrentCalls, ConcurrencyLimitPlan plan) {
+        return limiter.tryAcquire(key, maximumConcurrentCalls, plan.getLease())
+            .orElseThrow(() -> new LimiterXTooManyRequests("Too many concurrent requests"));
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.d4rckh.limiterx.spring.aspect;
+
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.spring.common.KeyExtractor;
+import io.github.d4rckh.limiterx.spring.domain.NullKeyStrategy;
+import io.github.d4rckh.limiterx.spring.exception.LimiterXMissingKey;
+import io.github.d4rckh.limiterx.spring.extractor.NoopExtractor;
+import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExpression;
+import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExtractorSpelEvaluator;
+import org.springframework.context.ApplicationContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * How the client key of a limited method is found: the compiled key expression, the primary and fallback
+ * {@link KeyExtractor} beans and the effective {@link NullKeyStrategy}, shared by the plans of
+ * {@link RateLimitedAspect} and {@link ConcurrencyLimitedAspect}.
+ */
+final class KeySource {
+    private final KeyExpression keyExpression;
+    private final KeyExtractor keyExtractor;
+    private final KeyExtractor fallbackKeyExtractor;
+    private final NullKeyStrategy nullKeyStrategy;
+    private final String keyPrefix;
+
+    private KeySource(KeyExpression keyExpression, KeyExtractor keyExtractor, KeyExtractor fallbackKeyExtractor,
+                      NullKeyStrategy nullKeyStrategy, String keyPrefix) {
+        this.keyExpression = keyExpression;
+        this.keyExtractor = keyExtractor;
+        this.fallbackKeyExtractor = fallbackKeyExtractor;
+        this.nullKeyStrategy = nullKeyStrategy;
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * @param keyPrefix the part of the keys that does not depend on the client, see {@link Key#prefixOf(Class, String)}
+     */
+    static KeySource compile(String keyExpression, Class<? extends KeyExtractor> key,
+                             Class<? extends KeyExtractor> fallbackKey, NullKeyStrategy nullKeyStrategy,
+                             String keyPrefix, Method method, ApplicationContext context,
+                             KeyExtractorSpelEvaluator evaluator) {
+        return new KeySource(
+            keyExpression.isBlank() ? null : evaluator.compile(keyExpression, method),
+            context.getBean(key),
+            context.getBean(fallbackKey),
+            resolveNullKeyStrategy(keyExpression, key, fallbackKey, nullKeyStrategy),
+            keyPrefix
+        );
+    }
+
+    /**
+     * Extracts the client key from the key expression, then the primary extractor, then the fallback extractor.
+     *
+     * @param arguments the arguments of the intercepted call
+     * @return the client key, or {@code null} if none could be extracted
+     */
+    private String extractKey(Object[] arguments) {
+        String key = keyExpression == null ? "" : keyExpression.evaluate(arguments);
+
+        if (key != null && key.isEmpty()) {
+            key = keyExtractor.extract();
+        }
+
+        // Attempt to use fallback key if primary key extraction fails
+        if (key == null) {
+            key = fallbackKeyExtractor.extract();
+        }
+
+        return key;
+    }
+
+    /**
+     * Extracts the client key and builds the limiter key of the call.
+     *
+     * @throws LimiterXMissingKey if no key is found and the null key strategy is {@code FORBID}
+     */
+    Key keyOf(Object[] arguments) {
+        String key = extractKey(arguments);
+
+        // Enforce FORBID strategy if no key is found
+        if (key == null && nullKeyStrategy == NullKeyStrategy.FORBID) {
+            throw new LimiterXMissingKey();
+        }
+        return Key.fromPrefix(keyPrefix, key == null ? "" : key);
+    }
+
+    /**
+     * @return whether the key expression needs the arguments of the call
+     */
+    boolean referencesArguments() {
+        return keyExpression != null && keyExpression.referencesArguments();
+    }
+
+    private static NullKeyStrategy resolveNullKeyStrategy(String keyExpression, Class<? extends KeyExtractor> key,
+                                                          Class<? extends KeyExtractor> fallbackKey,
+                                                          NullKeyStrategy nullKeyStrategy) {
+        if (nullKeyStrategy != NullKeyStrategy.AUTO) {
+            return nullKeyStrategy;
+        }
+
+        // A method without any key source limits all callers together
+        boolean keyless = key == NoopExtractor.class
+            && fallbackKey == NoopExtractor.class
+            && keyExpression.isBlank();
+        return keyless ? NullKeyStrategy.LIMIT : NullKeyStrategy.FORBID;
+    }
+}
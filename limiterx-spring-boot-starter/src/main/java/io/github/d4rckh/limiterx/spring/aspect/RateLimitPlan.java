@@ -0,0 +1,258 @@
+package io.github.d4rckh.limiterx.spring.aspect;
+
+import io.github.d4rckh.limiterx.core.algorithm.AdaptiveLimit;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import io.github.d4rckh.limiterx.spring.annotation.Adaptive;
+import io.github.d4rckh.limiterx.spring.annotation.RateLimited;
+import io.github.d4rckh.limiterx.spring.annotation.Tier;
+import io.github.d4rckh.limiterx.spring.common.KeyExtractor;
+import io.github.d4rckh.limiterx.spring.domain.NullKeyStrategy;
+import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExtractorSpelEvaluator;
+import io.github.d4rckh.limiterx.spring.metrics.LimiterMetrics;
+import io.github.d4rckh.limiterx.spring.metrics.MethodMetrics;
+import org.springframework.context.ApplicationContext;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Everything {@link RateLimitedAspect} needs to limit calls to one {@link RateLimited} method,
+ * resolved once from the annotation so that a call only has to extract the client key.
+ * <p>
+ * A plan holds:
+ * </p>
+ * <ul>
+ *     <li>the {@link KeySource} of the client key: the compiled key expression, bound to the method's arguments,
+ *     the primary and fallback {@link KeyExtractor} beans and the effective {@link NullKeyStrategy}, with
+ *     {@code AUTO} already resolved,</li>
+ *     <li>the {@link LimitPolicy} built from the annotation attributes, followed by the policies of its tiers,
+ *     ordered from the shortest window to the longest, and the {@link Key#tier(int)} of each policy, its position
+ *     in the annotation,</li>
+ *     <li>the key prefix of the target class and method, see {@link Key#prefixOf(Class, String)},</li>
+ *     <li>whether the method is reactive, i.e. limited on subscription,</li>
+ *     <li>the {@link MethodMetrics} of the method, registered up front,</li>
+ *     <li>the {@link AdaptiveLimit} of an {@link Adaptive} method, scaling its policies.</li>
+ * </ul>
+ * <p>
+ * Extractor beans are looked up when the plan is compiled and reused for every call,
+ * they are expected to be singletons.
+ * </p>
+ */
+final class RateLimitPlan {
+    private final KeySource keys;
+    private final List<LimitPolicy> policies;
+    private final int[] tiers;
+    private final boolean reactive;
+    private final MethodMetrics metrics;
+    private final AdaptiveLimit adaptiveLimit;
+    private final int ceiling;
+    private volatile ScaledPolicies scaled;
+
+    private RateLimitPlan(KeySource keys, List<LimitPolicy> policies, int[] tiers, boolean reactive,
+                          MethodMetrics metrics, AdaptiveLimit adaptiveLimit, int ceiling) {
+        this.keys = keys;
+        this.policies = policies;
+        this.tiers = tiers;
+        this.reactive = reactive;
+        this.metrics = metrics;
+        this.adaptiveLimit = adaptiveLimit;
+        this.ceiling = ceiling;
+        this.scaled = new ScaledPolicies(ceiling, policies);
+    }
+
+    /**
+     * The policies of an adaptive method for one value of its limit, published together.
+     */
+    private record ScaledPolicies(int limit, List<LimitPolicy> policies) {
+    }
+
+    /**
+     * Compiles the plan of {@code method} called on an instance of {@code targetClass}.
+     *
+     * @param annotation          the {@code RateLimited} annotation of the method
+     * @param targetClass         the class of the bean the method is called on, part of the key
+     * @param method              the annotated method
+     * @param context             the application context holding the extractor beans
+     * @param evaluator           the evaluator compiling the key expression
+     * @param metrics             the metrics registering the meters of the method
+     * @param supportedStrategies the strategies the limiter storage can evaluate
+     * @return the plan of the method
+     * @throws IllegalStateException if a policy uses a strategy the storage does not support, or if a reactive
+     *                               method is {@link Adaptive}
+     */
+    static RateLimitPlan compile(RateLimited annotation, Class<?> targetClass, Method method,
+                                 ApplicationContext context, KeyExtractorSpelEvaluator evaluator,
+                                 LimiterMetrics metrics, Predicate<LimitingStrategy> supportedStrategies) {
+        List<LimitPolicy> declared = policiesOf(annotation);
+        int[] tiers = evaluationOrder(declared);
+        List<LimitPolicy> policies = IntStream.of(tiers).mapToObj(declared::get).toList();
+        for (LimitPolicy policy : policies) {
+            if (!supportedStrategies.test(policy.getStrategy())) {
+                throw new IllegalStateException(
+                    "@RateLimited of " + method + " uses " + policy.getStrategy()
+                        + ", which the configured limiter storage does not support"
+                );
+            }
+        }
+        return new RateLimitPlan(
+            KeySource.compile(
+                annotation.keyExpression(), annotation.key(), annotation.fallbackKey(), annotation.nullKeyStrategy(),
+                Key.prefixOf(targetClass, method.getName()), method, context, evaluator
+            ),
+            policies,
+            tiers,
+            isReactive(method),
+            metrics.forMethod(targetClass, method, policies),
+            adaptiveLimitOf(annotation, method),
+            annotation.maximumRequests()
+        );
+    }
+
+    /**
+     * Extracts the client key of a call, see {@link KeySource#keyOf(Object[])}.
+     */
+    Key keyOf(Object[] arguments) {
+        return keys.keyOf(arguments);
+    }
+
+    /**
+     * @return whether the key expression needs the arguments of the call
+     */
+    boolean referencesArguments() {
+        return keys.referencesArguments();
+    }
+
+    /**
+     * @return whether the method returns a Reactor {@code Mono} or {@code Flux}
+     */
+    boolean isReactive() {
+        return reactive;
+    }
+
+    /**
+     * @return the policy of the annotation, when it has no tiers
+     */
+    LimitPolicy getPolicy() {
+        return getPolicies().getFirst();
+    }
+
+    /**
+     * @return the policies of the annotation and its tiers, in the order they are checked, scaled to the current
+     * limit of an adaptive method
+     */
+    List<LimitPolicy> getPolicies() {
+        if (adaptiveLimit == null) {
+            return policies;
+        }
+
+        // Rebuilt only when the limit changed, racing calls build equal policies
+        int limit = adaptiveLimit.getLimit();
+        ScaledPolicies current = scaled;
+        if (current.limit() != limit) {
+            current = new ScaledPolicies(limit, scale(limit));
+            scaled = current;
+        }
+        return current.policies();
+    }
+
+    /**
+     * @return the {@link Key#tier(int)} of each policy of {@link #getPolicies()}, its position in the annotation
+     * so that its counter keeps its key whatever the windows of the other tiers; not to be modified
+     */
+    int[] getTiers() {
+        return tiers;
+    }
+
+    /**
+     * @return the limit adapted to the calls of an {@link Adaptive} method, {@code null} if the method is not
+     */
+    AdaptiveLimit getAdaptiveLimit() {
+        return adaptiveLimit;
+    }
+
+    boolean isTiered() {
+        return policies.size() > 1;
+    }
+
+    MethodMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the policies scaled by {@code limit / ceiling}, allowing at least one request
+     */
+    private List<LimitPolicy> scale(int limit) {
+        List<LimitPolicy> scaledPolicies = new ArrayList<>(policies.size());
+        for (LimitPolicy policy : policies) {
+            scaledPolicies.add(LimitPolicy.of(
+                policy.getStrategy(),
+                (int) Math.max(1, Math.ceilDiv((long) policy.getMaximumRequests() * limit, ceiling)),
+                policy.getWindowSeconds(),
+                policy.getBlockFor(),
+                (int) Math.max(1, Math.ceilDiv((long) policy.getCapacity() * limit, ceiling))
+            ));
+        }
+        return List.copyOf(scaledPolicies);
+    }
+
+    private static AdaptiveLimit adaptiveLimitOf(RateLimited annotation, Method method) {
+        Adaptive adaptive = method.getAnnotation(Adaptive.class);
+        if (adaptive == null) {
+            return null;
+        }
+        if (isReactive(method)) {
+            throw new IllegalStateException("@Adaptive cannot sample " + method + ", it returns before its work is done");
+        }
+        return AdaptiveLimit.of(
+            adaptive.strategy(), adaptive.minimumRequests(), annotation.maximumRequests(),
+            Duration.ofMillis(adaptive.latencyThresholdMillis())
+        );
+    }
+
+    private static List<LimitPolicy> policiesOf(RateLimited annotation) {
+        List<LimitPolicy> policies = new ArrayList<>(1 + annotation.tiers().length);
+        policies.add(policyOf(
+            annotation.strategy(), annotation.maximumRequests(), annotation.windowSize(),
+            annotation.blockFor(), annotation.capacity()
+        ));
+        for (Tier tier : annotation.tiers()) {
+            policies.add(policyOf(
+                tier.strategy(), tier.maximumRequests(), tier.windowSize(), tier.blockFor(), tier.capacity()
+            ));
+        }
+        return policies;
+    }
+
+    /**
+     * @return the positions of {@code policies} from the shortest window to the longest, so that calls they
+     * reject are not counted by the longer ones
+     */
+    private static int[] evaluationOrder(List<LimitPolicy> policies) {
+        return IntStream.range(0, policies.size())
+            .boxed()
+            .sorted(Comparator.comparingInt(index -> policies.get(index).getWindowSeconds()))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    private static LimitPolicy policyOf(LimitingStrategy strategy, int maximumRequests, int windowSize, int blockFor,
+                                        int capacity) {
+        return LimitPolicy.of(strategy, maximumRequests, windowSize, blockFor == 0 ? null : blockFor, capacity);
+    }
+
+    /**
+     * @return whether {@code method} returns a Reactor {@code Mono} or {@code Flux}
+     */
+    static boolean isReactive(Method method) {
+        // Compared by name, Reactor is optional
+        String returnType = method.getReturnType().getName();
+        return returnType.equals("reactor.core.publisher.Mono") || returnType.equals("reactor.core.publisher.Flux");
+    }
+}
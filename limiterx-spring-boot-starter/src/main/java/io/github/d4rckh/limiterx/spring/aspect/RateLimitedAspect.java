@@ -1,20 +1,38 @@
 package io.github.d4rckh.limiterx.spring.aspect;
 
+import io.github.d4rckh.limiterx.core.AsyncLimiter;
 import io.github.d4rckh.limiterx.core.Limiter;
+import io.github.d4rckh.limiterx.core.algorithm.AdaptiveLimit;
+import io.github.d4rckh.limiterx.core.domain.Decision;
 import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.spring.annotation.Adaptive;
 import io.github.d4rckh.limiterx.spring.annotation.RateLimited;
 import io.github.d4rckh.limiterx.spring.domain.NullKeyStrategy;
 import io.github.d4rckh.limiterx.spring.exception.LimiterXMissingKey;
 import io.github.d4rckh.limiterx.spring.exception.LimiterXTooManyRequests;
-import io.github.d4rckh.limiterx.spring.extractor.NoopExtractor;
 import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExtractorSpelEvaluator;
+import io.github.d4rckh.limiterx.spring.metrics.LimiterMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodClassKey;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 /**
  * Aspect for handling rate limiting using the {@link RateLimited} annotation.
  * <p>
@@ -47,6 +65,26 @@ import org.springframework.stereotype.Component;
  * }
  * </pre>
  *
+ * <p>
+ * Methods returning a Reactor {@code Mono} or {@code Flux} are not limited when called: the key is extracted
+ * right away, but the check runs when the returned publisher is subscribed to, through the {@link AsyncLimiter}
+ * so that no event-loop thread waits on the storage, and the returned publisher is only subscribed to if the check
+ * allowed it.
+ * A limited call fails the publisher with {@link LimiterXTooManyRequests}.
+ * </p>
+ * <p>
+ * Web handlers can be limited ahead of the aspect, before their arguments are resolved, through
+ * {@link #limitAhead(Method, Class)}. The aspect then lets the call through without counting it twice.
+ * </p>
+ * <p>
+ * Every decision is recorded by the {@link LimiterMetrics}, along with the time the aspect spent on the call
+ * before reaching the storage.
+ * </p>
+ * <p>
+ * The calls of {@link Adaptive} methods are timed around the method, their latency and errors lowering or raising
+ * the limit applied by the next checks. The rejections of the aspect itself are not timed.
+ * </p>
+ *
  * @author d4rck
  * @see RateLimited
  * @see Limiter
@@ -56,20 +94,48 @@ import org.springframework.stereotype.Component;
 @Aspect
 @Component
 public class RateLimitedAspect {
+    private static final Object[] NO_ARGUMENTS = new Object[0];
 
     private final Limiter limiter;
+    private final AsyncLimiter asyncLimiter;
     private final ApplicationContext context;
     private final KeyExtractorSpelEvaluator evaluator;
+    private final LimiterMetrics metrics;
+    private final Map<MethodClassKey, RateLimitPlan> plans = new ConcurrentHashMap<>();
+    private final ThreadLocal<Method> limitedAhead = new ThreadLocal<>();
 
     public RateLimitedAspect(Limiter limiter, ApplicationContext context, KeyExtractorSpelEvaluator evaluator) {
+        this(limiter, null, context, evaluator);
+    }
+
+    /**
+     * @param asyncLimiter the limiter of reactive methods, if {@code null} they are checked with the blocking
+     *                     {@code limiter} on subscription
+     */
+    public RateLimitedAspect(Limiter limiter, @Nullable AsyncLimiter asyncLimiter, ApplicationContext context,
+                             KeyExtractorSpelEvaluator evaluator) {
+        this(limiter, asyncLimiter, context, evaluator, null);
+    }
+
+    /**
+     * @param metrics the metrics of the rate limited methods, none are recorded if {@code null}
+     */
+    @Autowired
+    public RateLimitedAspect(Limiter limiter, @Nullable AsyncLimiter asyncLimiter, ApplicationContext context,
+                             KeyExtractorSpelEvaluator evaluator, @Nullable LimiterMetrics metrics) {
         this.limiter = limiter;
+        this.asyncLimiter = asyncLimiter;
         this.context = context;
         this.evaluator = evaluator;
-
+        this.metrics = metrics != null ? metrics : LimiterMetrics.NOOP;
     }
 
     /**
      * Intercepts methods annotated with {@link RateLimited} and enforces rate limiting.
+     * <p>
+     * The annotation is compiled into a {@link RateLimitPlan} on the first call of each method
+     * and target class, later calls only extract the key and perform the limiting.
+     * </p>
      *
      * @param joinPoint  the intercepted method invocation
      * @param annotation the {@code RateLimited} annotation instance
@@ -78,45 +144,168 @@ public class RateLimitedAspect {
      */
     @Before("@annotation(annotation)")
     public void rateLimitFunction(JoinPoint joinPoint, RateLimited annotation) {
-        String key = evaluator.evaluate(annotation.keyExpression());
+        long start = System.nanoTime();
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+
+        // Already counted by limitAhead on this thread
+        if (method.equals(limitedAhead.get())) {
+            limitedAhead.remove();
+            return;
+        }
 
-        if (key.isEmpty()) {
-            key = context.getBean(annotation.key()).extract();
+        RateLimitPlan plan = planOf(method, targetClass, annotation);
+        // Limited by rateLimitPublisher once subscribed to
+        if (plan.isReactive()) {
+            return;
         }
 
-        // Attempt to use fallback key if primary key extraction fails
-        if (key == null) {
-            key = context.getBean(annotation.fallbackKey()).extract();
+        if (isLimited(plan, joinPoint.getArgs(), start)) {
+            throw new LimiterXTooManyRequests("Too many requests");
         }
+    }
 
-        NullKeyStrategy nullKeyStrategy = annotation.nullKeyStrategy();
+    /**
+     * Intercepts methods annotated with {@link RateLimited} returning a {@code Mono} or a {@code Flux},
+     * deferring the limiting into the returned publisher.
+     *
+     * @param joinPoint  the intercepted method invocation
+     * @param annotation the {@code RateLimited} annotation instance
+     * @return a publisher of the method's return type, failing with {@link LimiterXTooManyRequests} if limited
+     * or with {@link LimiterXMissingKey} if no key is found and the null key strategy is {@code FORBID}
+     * @throws Throwable if the method throws instead of returning a publisher
+     */
+    @Around("@annotation(annotation)"
+        + " && (execution(reactor.core.publisher.Mono *(..)) || execution(reactor.core.publisher.Flux *(..)))")
+    public Object rateLimitPublisher(ProceedingJoinPoint joinPoint, RateLimited annotation) throws Throwable {
+        long start = System.nanoTime();
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        RateLimitPlan plan = planOf(method, targetClass, annotation);
 
-        // Automatically determine null key handling strategy if set to AUTO
-        if (nullKeyStrategy.equals(NullKeyStrategy.AUTO)) {
-            if (annotation.key() == NoopExtractor.class && annotation.fallbackKey() == NoopExtractor.class && annotation.keyExpression().isBlank()) {
-                nullKeyStrategy = NullKeyStrategy.LIMIT;
-            } else {
-                nullKeyStrategy = NullKeyStrategy.FORBID;
-            }
+        // The key is extracted on the calling thread, where extractors find the request's context
+        Supplier<CompletionStage<Boolean>> check;
+        try {
+            Key key = plan.keyOf(joinPoint.getArgs());
+            plan.getMetrics().recordOverhead(System.nanoTime() - start);
+            check = asyncLimiter != null
+                ? () -> acquire(asyncLimiter, key, plan).thenApply(decision -> isLimited(plan, decision))
+                : () -> CompletableFuture.completedFuture(isLimited(plan, acquire(limiter, key, plan)));
+        } catch (LimiterXMissingKey e) {
+            check = () -> CompletableFuture.failedFuture(e);
         }
+        return ReactiveRateLimiting.limit(joinPoint.proceed(), method.getReturnType(), check);
+    }
 
-        // Enforce FORBID strategy if no key is found
-        if (key == null && nullKeyStrategy.equals(NullKeyStrategy.FORBID)) {
-            throw new LimiterXMissingKey();
+    /**
+     * Intercepts methods annotated with both {@link RateLimited} and {@link Adaptive}, feeding the duration of each
+     * call to the adaptive limit of the method.
+     * <p>
+     * This advice wraps {@link #rateLimitFunction(JoinPoint, RateLimited)}, calls rejected there or missing their
+     * key are not counted as samples.
+     * </p>
+     *
+     * @param joinPoint  the intercepted method invocation
+     * @param annotation the {@code RateLimited} annotation instance
+     * @param adaptive   the {@code Adaptive} annotation instance
+     * @return the result of the method
+     * @throws Throwable if the method or the limiting throws
+     */
+    @Around("@annotation(annotation) && @annotation(adaptive)")
+    public Object adaptLimit(ProceedingJoinPoint joinPoint, RateLimited annotation, Adaptive adaptive) throws Throwable {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        AdaptiveLimit adaptiveLimit = planOf(method, targetClass, annotation).getAdaptiveLimit();
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (LimiterXTooManyRequests | LimiterXMissingKey e) {
+            throw e;
+        } catch (Throwable e) {
+            adaptiveLimit.onSample(System.nanoTime() - start, true);
+            throw e;
         }
+        adaptiveLimit.onSample(System.nanoTime() - start, false);
+        return result;
+    }
 
-        // Perform rate limiting
-        if (limiter.performLimiting(
-                Key.fromClass(
-                        joinPoint.getTarget().getClass(),
-                        joinPoint.getSignature().getName(),
-                        key == null ? "" : key
-                ),
-                annotation.maximumRequests(),
-                annotation.windowSize(),
-                annotation.blockFor() == 0 ? null : annotation.blockFor()
-        )) {
-            throw new LimiterXTooManyRequests("Too many requests");
+    /**
+     * Performs the limiting of a {@link RateLimited} method before it is invoked, so that a rejected call
+     * can be answered before any further work is done for it.
+     * <p>
+     * When the call is allowed, its next interception by this aspect on the current thread is let through
+     * without being counted again. Methods whose key expression references their arguments cannot be
+     * checked ahead, they are left to the aspect, as are methods returning a {@code Mono} or {@code Flux}.
+     * </p>
+     *
+     * @param method      the method about to be invoked
+     * @param targetClass the class of the bean it is invoked on
+     * @return {@code true} if the call is limited, {@code false} if it is allowed or left to the aspect
+     * @throws LimiterXMissingKey if no key is found and the null key strategy is {@code FORBID}
+     * @see #clearAhead()
+     */
+    public boolean limitAhead(Method method, Class<?> targetClass) {
+        long start = System.nanoTime();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        RateLimited annotation = specificMethod.getAnnotation(RateLimited.class);
+        if (annotation == null) {
+            return false;
+        }
+
+        RateLimitPlan plan = planOf(specificMethod, targetClass, annotation);
+        if (plan.referencesArguments() || plan.isReactive()) {
+            return false;
+        }
+
+        if (isLimited(plan, NO_ARGUMENTS, start)) {
+            return true;
         }
+        limitedAhead.set(specificMethod);
+        return false;
+    }
+
+    /**
+     * Forgets the call allowed by {@link #limitAhead(Method, Class)} on the current thread,
+     * in case the method was not invoked after all.
+     */
+    public void clearAhead() {
+        limitedAhead.remove();
+    }
+
+    /**
+     * @param start when the call was intercepted, the time until the storage is reached is the aspect's overhead
+     */
+    private boolean isLimited(RateLimitPlan plan, Object[] arguments, long start) {
+        Key key = plan.keyOf(arguments);
+        plan.getMetrics().recordOverhead(System.nanoTime() - start);
+
+        // Perform rate limiting
+        return isLimited(plan, acquire(limiter, key, plan));
+    }
+
+    private static boolean isLimited(RateLimitPlan plan, Decision decision) {
+        plan.getMetrics().record(decision);
+        return decision.isLimited();
+    }
+
+    private static Decision acquire(Limiter limiter, Key key, RateLimitPlan plan) {
+        return plan.isTiered()
+            ? limiter.acquire(key, plan.getPolicies(), plan.getTiers())
+            : limiter.acquire(key, plan.getPolicy());
+    }
+
+    private static CompletionStage<Decision> acquire(AsyncLimiter limiter, Key key, RateLimitPlan plan) {
+        return plan.isTiered()
+            ? limiter.acquire(key, plan.getPolicies(), plan.getTiers())
+            : limiter.acquire(key, plan.getPolicy());
+    }
+
+    private RateLimitPlan planOf(Method method, Class<?> targetClass, RateLimited annotation) {
+        return plans.computeIfAbsent(
+            new MethodClassKey(method, targetClass),
+            _ -> RateLimitPlan.compile(annotation, targetClass, method, context, evaluator, metrics, limiter::supports)
+        );
     }
 }
@@ -0,0 +1,46 @@
+package io.github.d4rckh.limiterx.spring.aspect;
+
+import io.github.d4rckh.limiterx.spring.exception.LimiterXTooManyRequests;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Defers the limiting of a method returning a {@link Mono} or {@link Flux} into the returned publisher.
+ * <p>
+ * The method itself is invoked right away, as Spring AOP cannot resume the invocation later on another thread,
+ * but the publisher it returned is only subscribed to once the check allowed it. Reactive methods only assemble
+ * their publisher when invoked, the work happens on subscription.
+ * </p>
+ * <p>
+ * Kept apart from {@link RateLimitedAspect} so that Reactor is only loaded when such a method is called.
+ * </p>
+ */
+final class ReactiveRateLimiting {
+
+    private ReactiveRateLimiting() {
+    }
+
+    /**
+     * @param source     the publisher returned by the method, only subscribed to once the check allowed it
+     * @param returnType the declared return type of the method, {@code Mono} or {@code Flux}
+     * @param check      started on each subscription, completes with whether the call is limited
+     * @return a publisher of the declared type, failing with {@link LimiterXTooManyRequests} when limited
+     */
+    static Object limit(Object source, Class<?> returnType, Supplier<CompletionStage<Boolean>> check) {
+        Publisher<?> publisher = source == null ? Mono.empty() : (Publisher<?>) source;
+        Mono<Boolean> limited = Mono.fromCompletionStage(check);
+
+        if (Flux.class.isAssignableFrom(returnType)) {
+            return limited.flatMapMany(isLimited -> isLimited ? Flux.error(tooManyRequests()) : Flux.from(publisher));
+        }
+        return limited.flatMap(isLimited -> isLimited ? Mono.error(tooManyRequests()) : Mono.from(publisher));
+    }
+
+    private static LimiterXTooManyRequests tooManyRequests() {
+        return new LimiterXTooManyRequests("Too many requests");
+    }
+}
@@ -2,20 +2,59 @@ package io.github.d4rckh.limiterx.spring.config;
 
 import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExtractorSpelEvaluator;
 import lombok.extern.slf4j.Slf4j;
+import io.github.d4rckh.limiterx.core.AsyncLimiter;
+import io.github.d4rckh.limiterx.core.ConcurrencyLimiter;
 import io.github.d4rckh.limiterx.core.Limiter;
+import io.github.d4rckh.limiterx.core.common.AsyncLimiterStorage;
+import io.github.d4rckh.limiterx.core.common.LeasableLimiterStorage;
 import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.FailureMode;
+import io.github.d4rckh.limiterx.core.storage.BoundedInMemoryLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.CircuitBreakerSettings;
+import io.github.d4rckh.limiterx.core.storage.CircuitBreakingLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.DenyCachingLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.InMemoryConcurrencyLimiterStorage;
 import io.github.d4rckh.limiterx.core.storage.InMemoryLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.InMemorySnapshotter;
+import io.github.d4rckh.limiterx.core.storage.LeasingLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.LockFreeInMemoryLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.OffHeapLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.ShardedLimiterStorage;
+import io.github.d4rckh.limiterx.spring.storage.ReactiveRedisLimiterStorage;
+import io.github.d4rckh.limiterx.spring.storage.RedisConcurrencyLimiterStorage;
 import io.github.d4rckh.limiterx.spring.storage.RedisLimiterStorage;
+import io.github.d4rckh.limiterx.spring.storage.ShardedRedisLimiterStorage;
 import io.github.d4rckh.limiterx.spring.aspect.RateLimitedAspect;
+import io.github.d4rckh.limiterx.spring.metrics.LimiterMetrics;
+import io.github.d4rckh.limiterx.spring.metrics.MicrometerLimiterMetrics;
+import io.github.d4rckh.limiterx.spring.web.RateLimitingHandlerInterceptor;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Auto-configuration for the LimiterX rate limiting library.
@@ -26,12 +65,35 @@ import org.springframework.data.redis.core.RedisTemplate;
  * <ul>
  *     <li>Redis-based storage (default) if {@code limiterx.storage=redis}.</li>
  *     <li>In-memory storage if {@code limiterx.storage=memory}.</li>
+ *     <li>Lock-free in-memory storage if {@code limiterx.storage=lock-free}.</li>
+ *     <li>Size-bounded in-memory storage if {@code limiterx.storage=bounded}.</li>
+ *     <li>Off-heap in-memory storage if {@code limiterx.storage=off-heap}.</li>
  * </ul>
  *
  * <p>Configuration properties:</p>
  * <ul>
  *     <li>{@code limiterx.storage=redis} → Uses Redis for storage (default if Redis is available).</li>
  *     <li>{@code limiterx.storage=memory} → Uses an in-memory store.</li>
+ *     <li>{@code limiterx.memory.snapshot.path=/var/lib/app/limiter.snapshot} → Saves the in-memory store to disk
+ *     every {@code limiterx.memory.snapshot.interval} (default 1m) and on shutdown, and loads it back on startup,
+ *     see {@link InMemorySnapshotter}.</li>
+ *     <li>{@code limiterx.storage=lock-free} → Uses an allocation-free in-memory store for single-node deployments
+ *     (fixed window only).</li>
+ *     <li>{@code limiterx.storage=bounded} → Uses an in-memory store holding at most
+ *     {@code limiterx.memory.maximum-entries} keys (default 100000), or {@code limiterx.memory.maximum-bytes}
+ *     estimated bytes when set.</li>
+ *     <li>{@code limiterx.storage=off-heap} → Uses an in-memory store keeping its keys outside of the Java heap,
+ *     sized for {@code limiterx.memory.expected-keys} keys (default 65536).</li>
+ *     <li>{@code limiterx.redis.shards=redis://host-1:6379,redis://host-2:6379} → Spreads keys across several
+ *     Redis nodes by consistent hashing, see {@link ShardedRedisLimiterStorage}.</li>
+ *     <li>{@code limiterx.redis.leasing.enabled=true} → Admits fixed window requests from batches reserved
+ *     in Redis, see {@link LeasingLimiterStorage}.</li>
+ *     <li>{@code limiterx.redis.circuit-breaker.enabled=true} → Stops waiting on a slow or unavailable Redis and
+ *     limits requests locally meanwhile, see {@link CircuitBreakingLimiterStorage}.</li>
+ *     <li>{@code limiterx.web.early-enforcement=true} → Limits Spring MVC handlers before their arguments
+ *     are resolved, see {@link RateLimitingHandlerInterceptor}.</li>
+ *     <li>{@code limiterx.metrics.enabled=false} → Disables the Micrometer metrics, published by default when
+ *     a {@code MeterRegistry} is available, see {@link MicrometerLimiterMetrics}.</li>
  * </ul>
  *
  * <p>Example usage in {@code application.yml}:</p>
@@ -42,6 +104,12 @@ import org.springframework.data.redis.core.RedisTemplate;
  *
  * <p>The configuration ensures that only one {@link Limiter} bean is created.</p>
  *
+ * <p>An {@link AsyncLimiter} sharing the same storage is also configured, it limits the {@code @RateLimited}
+ * methods returning a {@code Mono} or {@code Flux}. With Redis it requires Reactor on the classpath.</p>
+ *
+ * <p>The calls in progress of the {@code @ConcurrencyLimited} methods are counted by a {@link ConcurrencyLimiter},
+ * in Redis with {@code limiterx.storage=redis} and locally otherwise.</p>
+ *
  * @see Limiter
  * @see RedisLimiterStorage
  * @see InMemoryLimiterStorage
@@ -70,15 +138,191 @@ public class LimiterAutoConfiguration {
      * the property {@code limiterx.storage=redis} is set (or missing).
      * </p>
      *
-     * @param redisTemplate the Redis template used for storing rate limit data
+     * <p>
+     * Unless {@code limiterx.deny-cache.enabled=false}, blocked clients are rejected by a node-local
+     * {@link DenyCachingLimiterStorage} until their block ends, without a round trip to Redis.
+     * </p>
+     *
+     * <p>
+     * With {@code limiterx.redis.leasing.enabled=true}, fixed window requests are admitted from batches
+     * reserved in Redis by the {@link LeasingLimiterStorage} bean.
+     * </p>
+     *
+     * <p>
+     * When {@code limiterx.redis.shards} lists several Redis nodes, keys are spread across them by the
+     * {@link ShardedRedisLimiterStorage} bean instead of going to the Redis of {@code redisTemplate}.
+     * </p>
+     *
+     * <p>
+     * With {@code limiterx.redis.circuit-breaker.enabled=true}, Redis is called through the
+     * {@link CircuitBreakingLimiterStorage} bean.
+     * </p>
+     *
+     * @param redisTemplate    the Redis template used for storing rate limit data
+     * @param shardedStorage   the storage spreading keys across Redis nodes, if shards are configured
+     * @param leasingStorage   the leasing storage, if leasing is enabled
+     * @param circuitBreaker   the storage guarding Redis calls, if the circuit breaker is enabled
+     * @param metrics          the metrics timing the storage, if any
+     * @param denyCacheEnabled whether blocked clients are cached locally
      * @return a {@link Limiter} instance backed by Redis
      */
     @Bean
     @ConditionalOnClass(RedisTemplate.class)
     @ConditionalOnProperty(name = "limiterx.storage", havingValue = "redis", matchIfMissing = true)
-    public Limiter limiterWithRedis(RedisTemplate<String, ClientStats> redisTemplate) {
+    public Limiter limiterWithRedis(
+        RedisTemplate<String, ClientStats> redisTemplate,
+        ObjectProvider<ShardedRedisLimiterStorage> shardedStorage,
+        ObjectProvider<LeasingLimiterStorage> leasingStorage,
+        ObjectProvider<CircuitBreakingLimiterStorage> circuitBreaker,
+        ObjectProvider<LimiterMetrics> metrics,
+        @Value("${limiterx.deny-cache.enabled:true}") boolean denyCacheEnabled
+    ) {
         log.info("Configuring limiter using Redis storage.");
-        return new Limiter(new RedisLimiterStorage(redisTemplate));
+        return new Limiter(instrument(
+            guardedRedisStorage(redisTemplate, shardedStorage, leasingStorage, circuitBreaker, denyCacheEnabled),
+            "redis", metrics
+        ));
+    }
+
+    /**
+     * Configures the storage leasing batches of fixed window requests from Redis.
+     * <p>
+     * This bean is created if the property {@code limiterx.redis.leasing.enabled=true} is set. Leases last about
+     * {@code limiterx.redis.leasing.renewal-interval} (default 100ms) at the rate seen by the node, and hold at
+     * most {@code limiterx.redis.leasing.maximum-lease-size} requests (default 1000). Unused requests are given
+     * back to Redis through {@link LeasingLimiterStorage#close()} when the context shuts down.
+     * </p>
+     *
+     * @param redisTemplate    the Redis template used for storing rate limit data
+     * @param shardedStorage   the storage spreading keys across Redis nodes, if shards are configured
+     * @param renewalInterval  how long a lease should last
+     * @param maximumLeaseSize the maximum number of requests reserved at once per key
+     * @return a {@link LeasingLimiterStorage} instance backed by Redis
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnClass(RedisTemplate.class)
+    @ConditionalOnProperty(name = "limiterx.redis.leasing.enabled", havingValue = "true")
+    public LeasingLimiterStorage leasingLimiterStorage(
+        RedisTemplate<String, ClientStats> redisTemplate,
+        ObjectProvider<ShardedRedisLimiterStorage> shardedStorage,
+        @Value("${limiterx.redis.leasing.renewal-interval:100ms}") Duration renewalInterval,
+        @Value("${limiterx.redis.leasing.maximum-lease-size:1000}") int maximumLeaseSize
+    ) {
+        log.info("Leasing fixed window requests from Redis.");
+        return new LeasingLimiterStorage(redisStorage(redisTemplate, shardedStorage), renewalInterval, maximumLeaseSize);
+    }
+
+    /**
+     * Configures the circuit breaker between the {@link Limiter} and Redis.
+     * <p>
+     * This bean is created if the property {@code limiterx.redis.circuit-breaker.enabled=true} is set. Requests
+     * wait at most {@code limiterx.redis.circuit-breaker.timeout} (default 5ms) for Redis. The circuit opens for
+     * {@code limiterx.redis.circuit-breaker.open-duration} (default 5s) once
+     * {@code limiterx.redis.circuit-breaker.failure-rate-threshold} of the latest calls failed or timed out, or
+     * {@code limiterx.redis.circuit-breaker.slow-call-rate-threshold} took longer than
+     * {@code limiterx.redis.circuit-breaker.slow-call-duration} (defaults 0.5, 0.5 and 2ms).
+     * </p>
+     *
+     * <p>
+     * Meanwhile requests are limited according to {@code limiterx.redis.circuit-breaker.failure-mode}:
+     * {@code fallback} (default) by a node-local in-memory storage allowing each of the
+     * {@code limiterx.redis.circuit-breaker.expected-nodes} nodes (default 1) its share of the limits,
+     * {@code fail-open} by allowing them, {@code fail-closed} by limiting them.
+     * </p>
+     *
+     * @param redisTemplate  the Redis template used for storing rate limit data
+     * @param shardedStorage the storage spreading keys across Redis nodes, if shards are configured
+     * @param leasingStorage the leasing storage, if leasing is enabled
+     * @return a {@link CircuitBreakingLimiterStorage} instance guarding Redis
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnClass(RedisTemplate.class)
+    @ConditionalOnProperty(name = "limiterx.redis.circuit-breaker.enabled", havingValue = "true")
+    public CircuitBreakingLimiterStorage circuitBreakingLimiterStorage(
+        RedisTemplate<String, ClientStats> redisTemplate,
+        ObjectProvider<ShardedRedisLimiterStorage> shardedStorage,
+        ObjectProvider<LeasingLimiterStorage> leasingStorage,
+        @Value("${limiterx.redis.circuit-breaker.timeout:5ms}") Duration timeout,
+        @Value("${limiterx.redis.circuit-breaker.slow-call-duration:2ms}") Duration slowCallDuration,
+        @Value("${limiterx.redis.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+        @Value("${limiterx.redis.circuit-breaker.slow-call-rate-threshold:0.5}") double slowCallRateThreshold,
+        @Value("${limiterx.redis.circuit-breaker.open-duration:5s}") Duration openDuration,
+        @Value("${limiterx.redis.circuit-breaker.failure-mode:fallback}") String failureMode,
+        @Value("${limiterx.redis.circuit-breaker.expected-nodes:1}") int expectedNodes
+    ) {
+        CircuitBreakerSettings settings = new CircuitBreakerSettings();
+        settings.setTimeout(timeout);
+        settings.setSlowCallDuration(slowCallDuration);
+        settings.setFailureRateThreshold(failureRateThreshold);
+        settings.setSlowCallRateThreshold(slowCallRateThreshold);
+        settings.setOpenDuration(openDuration);
+        settings.setFailureMode(FailureMode.valueOf(failureMode.trim().replace('-', '_').toUpperCase(Locale.ROOT)));
+        settings.setExpectedNodes(expectedNodes);
+
+        log.info("Guarding Redis calls with a circuit breaker, failing over to {}.", failureMode);
+        return new CircuitBreakingLimiterStorage(
+            leasingOrRedisStorage(redisTemplate, shardedStorage, leasingStorage), settings
+        );
+    }
+
+    /**
+     * Configures the in-memory storage.
+     * <p>
+     * The storage runs a background expiry thread which is stopped through
+     * {@link InMemoryLimiterStorage#close()} when the context shuts down.
+     * </p>
+     * <p>
+     * If {@code limiterx.memory.snapshot.path} is set, the snapshot left by the previous run is loaded right away,
+     * without the keys expired since, so that the storage is complete before any bean can take requests with it.
+     * </p>
+     *
+     * @param snapshotPath the snapshot file, empty if snapshots are not configured
+     * @return an {@link InMemoryLimiterStorage} instance
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(Limiter.class)
+    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "memory")
+    public InMemoryLimiterStorage inMemoryLimiterStorage(
+        @Value("${limiterx.memory.snapshot.path:}") String snapshotPath
+    ) {
+        InMemoryLimiterStorage storage = new InMemoryLimiterStorage();
+        if (!snapshotPath.isEmpty()) {
+            Path path = Path.of(snapshotPath);
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                log.info("Restored {} limiter keys from {}.", storage.restoreSnapshot(path), path);
+            } catch (IOException e) {
+                log.warn("Unable to restore limiter snapshot from {}", path, e);
+            }
+        }
+        return storage;
+    }
+
+    /**
+     * Configures the snapshots of the in-memory storage, if {@code limiterx.memory.snapshot.path} is set.
+     * <p>
+     * The snapshot left by the previous run is loaded by {@link #inMemoryLimiterStorage(String)}. A new one is
+     * written every {@code limiterx.memory.snapshot.interval} (default 1m) and when the context shuts down, before
+     * the storage is closed.
+     * </p>
+     *
+     * @param storage  the in-memory storage holding rate limit data
+     * @param path     the snapshot file
+     * @param interval the delay between two snapshots
+     * @return an {@link InMemorySnapshotter} instance
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(Limiter.class)
+    @ConditionalOnExpression("'${limiterx.storage:redis}' == 'memory' and '${limiterx.memory.snapshot.path:}' != ''")
+    public InMemorySnapshotter inMemorySnapshotter(
+        InMemoryLimiterStorage storage,
+        @Value("${limiterx.memory.snapshot.path}") Path path,
+        @Value("${limiterx.memory.snapshot.interval:1m}") Duration interval
+    ) {
+        return new InMemorySnapshotter(storage, path, interval,
+            e -> log.warn("Unable to write limiter snapshot to {}", path, e));
     }
 
     /**
@@ -88,13 +332,351 @@ public class LimiterAutoConfiguration {
      * and no other {@link Limiter} bean is present.
      * </p>
      *
+     * @param storage the in-memory storage holding rate limit data
+     * @param metrics the metrics timing the storage, if any
      * @return a {@link Limiter} instance backed by in-memory storage
      */
     @Bean
     @ConditionalOnMissingBean(Limiter.class)
     @ConditionalOnProperty(name = "limiterx.storage", havingValue = "memory")
-    public Limiter limiterWithInMemory() {
+    public Limiter limiterWithInMemory(InMemoryLimiterStorage storage, ObjectProvider<LimiterMetrics> metrics) {
         log.info("Configuring limiter using in-memory storage.");
-        return new Limiter(new InMemoryLimiterStorage());
+        return new Limiter(instrument(storage, "memory", metrics));
+    }
+
+    /**
+     * Configures the lock-free in-memory storage.
+     * <p>
+     * The storage runs a background sweeper thread which is stopped through
+     * {@link LockFreeInMemoryLimiterStorage#close()} when the context shuts down.
+     * </p>
+     *
+     * @return a {@link LockFreeInMemoryLimiterStorage} instance
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(Limiter.class)
+    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "lock-free")
+    public LockFreeInMemoryLimiterStorage lockFreeInMemoryLimiterStorage() {
+        return new LockFreeInMemoryLimiterStorage();
+    }
+
+    /**
+     * Configures a {@link Limiter} instance using the lock-free in-memory storage.
+     * <p>
+     * This bean is created if the property {@code limiterx.storage=lock-free} is set
+     * and no other {@link Limiter} bean is present.
+     * </p>
+     *
+     * @param storage the lock-free storage holding rate limit data
+     * @param metrics the metrics timing the storage, if any
+     * @return a {@link Limiter} instance backed by lock-free in-memory storage
+     */
+    @Bean
+    @ConditionalOnMissingBean(Limiter.class)
+    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "lock-free")
+    public Limiter limiterWithLockFreeInMemory(LockFreeInMemoryLimiterStorage storage, ObjectProvider<LimiterMetrics> metrics) {
+        log.info("Configuring limiter using lock-free in-memory storage.");
+        return new Limiter(instrument(storage, "lock-free", metrics));
+    }
+
+    /**
+     * Configures the size-bounded in-memory storage.
+     * <p>
+     * The storage is bounded by {@code limiterx.memory.maximum-bytes} when set,
+     * by {@code limiterx.memory.maximum-entries} otherwise.
+     * </p>
+     *
+     * @param maximumEntries the maximum number of keys held
+     * @param maximumBytes   the maximum estimated size of the held keys in bytes, {@code 0} if unset
+     * @return a {@link BoundedInMemoryLimiterStorage} instance
+     */
+    @Bean
+    @ConditionalOnMissingBean(Limiter.class)
+    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "bounded")
+    public BoundedInMemoryLimiterStorage boundedInMemoryLimiterStorage(
+        @Value("${limiterx.memory.maximum-entries:100000}") long maximumEntries,
+        @Value("${limiterx.memory.maximum-bytes:0}") long maximumBytes
+    ) {
+        return maximumBytes > 0
+            ? BoundedInMemoryLimiterStorage.ofMaximumBytes(maximumBytes)
+            : BoundedInMemoryLimiterStorage.ofMaximumEntries(maximumEntries);
+    }
+
+    /**
+     * Configures a {@link Limiter} instance using the size-bounded in-memory storage.
+     * <p>
+     * This bean is created if the property {@code limiterx.storage=bounded} is set
+     * and no other {@link Limiter} bean is present.
+     * </p>
+     *
+     * @param storage the bounded storage holding rate limit data
+     * @param metrics the metrics timing the storage, if any
+     * @return a {@link Limiter} instance backed by bounded in-memory storage
+     */
+    @Bean
+    @ConditionalOnMissingBean(Limiter.class)
+    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "bounded")
+    public Limiter limiterWithBoundedInMemory(BoundedInMemoryLimiterStorage storage, ObjectProvider<LimiterMetrics> metrics) {
+        log.info("Configuring limiter using bounded in-memory storage.");
+        return new Limiter(instrument(storage, "bounded", metrics));
+    }
+
+    /**
+     * Configures the off-heap in-memory storage.
+     * <p>
+     * Slots for {@code limiterx.memory.expected-keys} keys are allocated up front, the storage grows beyond.
+     * Its background sweeper thread is stopped through {@link OffHeapLimiterStorage#close()}
+     * when the context shuts down.
+     * </p>
+     *
+     * @param expectedKeys the number of keys to allocate slots for
+     * @return an {@link OffHeapLimiterStorage} instance
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(Limiter.class)
+    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "off-heap")
+    public OffHeapLimiterStorage offHeapLimiterStorage(
+        @Value("${limiterx.memory.expected-keys:65536}") int expectedKeys
+    ) {
+        return new OffHeapLimiterStorage(expectedKeys);
+    }
+
+    /**
+     * Configures a {@link Limiter} instance using the off-heap in-memory storage.
+     * <p>
+     * This bean is created if the property {@code limiterx.storage=off-heap} is set
+     * and no other {@link Limiter} bean is present.
+     * </p>
+     *
+     * @param storage the off-heap storage holding rate limit data
+     * @param metrics the metrics timing the storage, if any
+     * @return a {@link Limiter} instance backed by off-heap storage
+     */
+    @Bean
+    @ConditionalOnMissingBean(Limiter.class)
+    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "off-heap")
+    public Limiter limiterWithOffHeap(OffHeapLimiterStorage storage, ObjectProvider<LimiterMetrics> metrics) {
+        log.info("Configuring limiter using off-heap in-memory storage.");
+        return new Limiter(instrument(storage, "off-heap", metrics));
+    }
+
+    /**
+     * Configures an {@link AsyncLimiter} instance using Redis storage.
+     * <p>
+     * Requests are counted through the reactive Redis client when the connection factory supports it
+     * (e.g. Lettuce). Otherwise, e.g. with Jedis, the blocking storage of {@link #limiterWithRedis} is called
+     * from virtual threads.
+     * </p>
+     *
+     * <p>
+     * With {@code limiterx.redis.shards}, leasing or the circuit breaker, which only guard blocking calls, that
+     * blocking storage is called from virtual threads as well, so that a stalled Redis is given up on after the
+     * circuit breaker's timeout like it is for the {@link Limiter}.
+     * </p>
+     *
+     * @param reactiveConnectionFactory the reactive Redis connection factory, if any
+     * @param redisTemplate             the Redis template used by the blocking storage
+     * @param shardedStorage            the storage spreading keys across Redis nodes, if shards are configured
+     * @param leasingStorage            the leasing storage, if leasing is enabled
+     * @param circuitBreaker            the storage guarding Redis calls, if the circuit breaker is enabled
+     * @param metrics                   the metrics timing the blocking storage, if any
+     * @param denyCacheEnabled          whether the blocking storage caches blocked clients locally
+     * @return an {@link AsyncLimiter} instance backed by Redis
+     */
+    @Bean
+    @ConditionalOnMissingBean(AsyncLimiter.class)
+    @ConditionalOnClass(name = "reactor.core.publisher.Mono")
+    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "redis", matchIfMissing = true)
+    public AsyncLimiter asyncLimiterWithRedis(
+        ObjectProvider<ReactiveRedisConnectionFactory> reactiveConnectionFactory,
+        RedisTemplate<String, ClientStats> redisTemplate,
+        ObjectProvider<ShardedRedisLimiterStorage> shardedStorage,
+        ObjectProvider<LeasingLimiterStorage> leasingStorage,
+        ObjectProvider<CircuitBreakingLimiterStorage> circuitBreaker,
+        ObjectProvider<LimiterMetrics> metrics,
+        @Value("${limiterx.deny-cache.enabled:true}") boolean denyCacheEnabled
+    ) {
+        ReactiveRedisConnectionFactory connectionFactory = reactiveConnectionFactory.getIfAvailable();
+        boolean blockingOnly = shardedStorage.getIfAvailable() != null
+            || leasingStorage.getIfAvailable() != null
+            || circuitBreaker.getIfAvailable() != null;
+        if (connectionFactory == null || blockingOnly) {
+            log.info("Configuring async limiter using Redis storage on virtual threads.");
+            return new AsyncLimiter(AsyncLimiterStorage.of(
+                instrument(
+                    guardedRedisStorage(redisTemplate, shardedStorage, leasingStorage, circuitBreaker, denyCacheEnabled),
+                    "redis", metrics
+                ),
+                command -> Thread.ofVirtual().start(command)
+            ));
+        }
+
+        log.info("Configuring async limiter using reactive Redis storage.");
+        return new AsyncLimiter(new ReactiveRedisLimiterStorage(
+            RedisTemplateConfig.reactiveClientStatsTemplate(connectionFactory)
+        ));
+    }
+
+    /**
+     * Configures an {@link AsyncLimiter} instance sharing the in-memory storage of the {@link Limiter}.
+     * <p>
+     * Not created when the application defines its own {@link Limiter}, and therefore no storage bean, reactive
+     * methods are then checked with that {@link Limiter} on subscription.
+     * </p>
+     *
+     * @param storage the in-memory storage holding rate limit data
+     * @param backend the kind of in-memory storage
+     * @param metrics the metrics timing the storage, if any
+     * @return an {@link AsyncLimiter} instance completing on the calling thread
+     */
+    @Bean
+    @ConditionalOnMissingBean(AsyncLimiter.class)
+    @ConditionalOnBean(LimiterStorage.class)
+    @ConditionalOnExpression("'${limiterx.storage:redis}' matches 'memory|lock-free|bounded|off-heap'")
+    public AsyncLimiter asyncLimiterWithInMemory(LimiterStorage storage, @Value("${limiterx.storage}") String backend,
+                                                 ObjectProvider<LimiterMetrics> metrics) {
+        return new AsyncLimiter(AsyncLimiterStorage.of(instrument(storage, backend, metrics)));
+    }
+
+    /**
+     * Configures a {@link ConcurrencyLimiter} holding the permits of calls in progress in Redis.
+     * <p>
+     * This bean is created if Redis is available in the classpath and the property {@code limiterx.storage=redis}
+     * is set (or missing). Permits are held in the Redis of {@code redisTemplate}, also when {@code limiterx.redis.shards}
+     * spreads the rate limiting keys across several nodes.
+     * </p>
+     *
+     * @param redisTemplate the Redis template used for storing the permits
+     * @return a {@link ConcurrencyLimiter} instance backed by Redis
+     */
+    @Bean
+    @ConditionalOnClass(RedisTemplate.class)
+    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "redis", matchIfMissing = true)
+    public ConcurrencyLimiter concurrencyLimiterWithRedis(RedisTemplate<String, ClientStats> redisTemplate) {
+        return new ConcurrencyLimiter(new RedisConcurrencyLimiterStorage(redisTemplate));
+    }
+
+    /**
+     * Configures a {@link ConcurrencyLimiter} holding the permits of calls in progress locally, when they are
+     * not held in Redis.
+     *
+     * @return a {@link ConcurrencyLimiter} instance backed by a local map
+     */
+    @Bean
+    @ConditionalOnMissingBean(ConcurrencyLimiter.class)
+    public ConcurrencyLimiter concurrencyLimiterInMemory() {
+        return new ConcurrencyLimiter(new InMemoryConcurrencyLimiterStorage());
+    }
+
+    private static LeasableLimiterStorage redisStorage(RedisTemplate<String, ClientStats> redisTemplate,
+                                                      ObjectProvider<ShardedRedisLimiterStorage> shardedStorage) {
+        LeasableLimiterStorage storage = shardedStorage.getIfAvailable();
+        return storage != null ? storage : new RedisLimiterStorage(redisTemplate);
+    }
+
+    private static LimiterStorage leasingOrRedisStorage(RedisTemplate<String, ClientStats> redisTemplate,
+                                                        ObjectProvider<ShardedRedisLimiterStorage> shardedStorage,
+                                                        ObjectProvider<LeasingLimiterStorage> leasingStorage) {
+        LimiterStorage storage = leasingStorage.getIfAvailable();
+        return storage != null ? storage : redisStorage(redisTemplate, shardedStorage);
+    }
+
+    /**
+     * The Redis storage of the {@link Limiter}: through the circuit breaker, leasing or shards if configured, behind
+     * the deny cache if enabled.
+     */
+    private static LimiterStorage guardedRedisStorage(RedisTemplate<String, ClientStats> redisTemplate,
+                                                      ObjectProvider<ShardedRedisLimiterStorage> shardedStorage,
+                                                      ObjectProvider<LeasingLimiterStorage> leasingStorage,
+                                                      ObjectProvider<CircuitBreakingLimiterStorage> circuitBreaker,
+                                                      boolean denyCacheEnabled) {
+        LimiterStorage storage = circuitBreaker.getIfAvailable();
+        if (storage == null) {
+            storage = leasingOrRedisStorage(redisTemplate, shardedStorage, leasingStorage);
+        }
+        return denyCacheEnabled ? new DenyCachingLimiterStorage(storage) : storage;
+    }
+
+    private static LimiterStorage instrument(LimiterStorage storage, String backend,
+                                             ObjectProvider<LimiterMetrics> metrics) {
+        return metrics.getIfAvailable(() -> LimiterMetrics.NOOP).instrument(storage, backend);
+    }
+
+    /**
+     * Configures a {@link ShardedRedisLimiterStorage} over the Redis nodes listed in {@code limiterx.redis.shards},
+     * e.g. {@code redis://redis-1:6379,redis://redis-2:6379}, when Lettuce is on the classpath.
+     * <p>
+     * Each node is placed on the hash ring at {@code limiterx.redis.virtual-nodes} points (default 128), derived
+     * from its URI: changing the URI of a node moves its keys. The connections are closed with the context.
+     * </p>
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.lettuce.core.RedisClient")
+    @ConditionalOnProperty(name = "limiterx.redis.shards")
+    static class ShardedRedisConfiguration {
+
+        @Bean(destroyMethod = "close")
+        public ShardedRedisLimiterStorage shardedRedisLimiterStorage(
+            @Value("${limiterx.redis.shards}") String[] shards,
+            @Value("${limiterx.redis.virtual-nodes:" + ShardedLimiterStorage.DEFAULT_VIRTUAL_NODES + "}") int virtualNodes
+        ) {
+            log.info("Sharding limiter keys across {} Redis nodes.", shards.length);
+            Map<String, LettuceConnectionFactory> connectionFactories = new LinkedHashMap<>();
+            for (String shard : shards) {
+                LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                    LettuceConnectionFactory.createRedisConfiguration(shard.trim())
+                );
+                connectionFactory.afterPropertiesSet();
+                connectionFactory.start();
+                connectionFactories.put(shard.trim(), connectionFactory);
+            }
+            return new ShardedRedisLimiterStorage(connectionFactories, virtualNodes);
+        }
+    }
+
+    /**
+     * Configures the {@link MicrometerLimiterMetrics} when Micrometer is on the classpath, unless
+     * {@code limiterx.metrics.enabled=false} is set.
+     * <p>
+     * Meters are published to the application's {@link MeterRegistry}, e.g. the one of Spring Boot Actuator.
+     * Without a registry nothing is recorded.
+     * </p>
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnProperty(name = "limiterx.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    static class MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(LimiterMetrics.class)
+        public LimiterMetrics limiterMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return LimiterMetrics.NOOP;
+            }
+            log.info("Publishing limiter metrics to Micrometer.");
+            return new MicrometerLimiterMetrics(registry);
+        }
+    }
+
+    /**
+     * Registers the {@link RateLimitingHandlerInterceptor} when Spring MVC is on the classpath
+     * and {@code limiterx.web.early-enforcement=true} is set.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.web.servlet.config.annotation.WebMvcConfigurer")
+    @ConditionalOnProperty(name = "limiterx.web.early-enforcement", havingValue = "true")
+    static class EarlyEnforcementConfiguration implements WebMvcConfigurer {
+        private final RateLimitedAspect aspect;
+
+        EarlyEnforcementConfiguration(RateLimitedAspect aspect) {
+            this.aspect = aspect;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            log.info("Enforcing @RateLimited on web handlers before argument resolution.");
+            registry.addInterceptor(new RateLimitingHandlerInterceptor(aspect));
+        }
     }
 }
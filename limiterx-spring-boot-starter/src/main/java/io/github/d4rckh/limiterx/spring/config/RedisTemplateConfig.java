@@ -1,23 +1,23 @@
 package io.github.d4rckh.limiterx.spring.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.spring.storage.ClientStatsRedisSerializer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
  * Configuration for Redis integration in the LimiterX library.
  * <p>
  * This class provides a customized {@link RedisTemplate} bean for storing
- * {@link ClientStats} in Redis. It uses Jackson-based JSON serialization
- * for structured data storage.
+ * {@link ClientStats} in Redis. It uses the compact binary format of
+ * {@link ClientStatsRedisSerializer}, which still reads stats stored as JSON.
  * </p>
  *
  * <p>This configuration is only active if the property {@code limiterx.storage=redis}
@@ -35,30 +35,33 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @Configuration
 public class RedisTemplateConfig {
 
+    /**
+     * Exposes the template of {@link #clientStatsTemplate(RedisConnectionFactory)} as a bean.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @return a configured {@link RedisTemplate} instance
+     */
+    @Bean
+    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "redis", matchIfMissing = true)
+    public RedisTemplate<String, ClientStats> redisTemplate(RedisConnectionFactory connectionFactory) {
+        return clientStatsTemplate(connectionFactory);
+    }
+
     /**
      * Creates and configures a {@link RedisTemplate} for storing {@link ClientStats}.
      * <p>
-     * This template uses JSON serialization for values and {@link StringRedisSerializer}
+     * This template uses {@link ClientStatsRedisSerializer} for values and {@link StringRedisSerializer}
      * for keys, ensuring compatibility with Redis storage.
      * </p>
      *
      * @param connectionFactory the Redis connection factory
      * @return a configured {@link RedisTemplate} instance
      */
-    @Bean
-    @ConditionalOnProperty(name = "limiterx.storage", havingValue = "redis", matchIfMissing = true)
-    public RedisTemplate<String, ClientStats> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public static RedisTemplate<String, ClientStats> clientStatsTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, ClientStats> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        // Configure ObjectMapper with JavaTimeModule to handle Java 8 time types
-        ObjectMapper objectMapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .registerModule(new SimpleModule());
-
-        // Use Jackson JSON serialization for storing ClientStats in Redis
-        Jackson2JsonRedisSerializer<ClientStats> serializer =
-            new Jackson2JsonRedisSerializer<>(objectMapper, ClientStats.class);
+        ClientStatsRedisSerializer serializer = new ClientStatsRedisSerializer();
 
         // Set key and value serializers
         template.setKeySerializer(new StringRedisSerializer());
@@ -69,4 +72,25 @@ public class RedisTemplateConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * Creates a {@link ReactiveRedisTemplate} for {@link ClientStats}, serialized like in
+     * {@link #clientStatsTemplate(RedisConnectionFactory)}.
+     * <p>
+     * It is not exposed as a bean so that it does not replace the template of Spring Boot's
+     * reactive Redis auto-configuration.
+     * </p>
+     *
+     * @param connectionFactory the reactive Redis connection factory
+     * @return a configured {@link ReactiveRedisTemplate} instance
+     */
+    public static ReactiveRedisTemplate<String, ClientStats> reactiveClientStatsTemplate(
+        ReactiveRedisConnectionFactory connectionFactory
+    ) {
+        RedisSerializationContext<String, ClientStats> serializationContext = RedisSerializationContext
+            .<String, ClientStats>newSerializationContext(new StringRedisSerializer())
+            .value(new ClientStatsRedisSerializer())
+            .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
 }
@@ -0,0 +1,164 @@
+package io.github.d4rckh.limiterx.spring.extractor.evaluator;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.util.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A key expression that is a property path on a method argument, such as {@code #request.apiKey}
+ * or {@code #p0?.tenant.id}, compiled to a chain of {@link MethodHandle} getters.
+ * <p>
+ * Properties are resolved once against the declared types, in the order SpEL resolves them:
+ * {@code getX()}, {@code isX()}, the record accessor {@code x()}, then a public field. The result is
+ * converted to a string with the evaluation context's {@link TypeConverter} and navigating through
+ * {@code null} fails like in SpEL, so both paths give the same keys.
+ * </p>
+ */
+final class AccessorKeyExpression implements KeyExpression {
+    private static final Pattern PROPERTY_PATH = Pattern.compile("#([A-Za-z_$][\\w$]*)((?:\\??\\.[A-Za-z_$][\\w$]*)*)");
+    private static final Pattern PROPERTY = Pattern.compile("(\\??)\\.([A-Za-z_$][\\w$]*)");
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+
+    private final int index;
+    private final MethodHandle[] getters;
+    private final String[] properties;
+    private final boolean[] nullSafe;
+    private final TypeConverter typeConverter;
+
+    private AccessorKeyExpression(int index, MethodHandle[] getters, String[] properties, boolean[] nullSafe,
+                                  TypeConverter typeConverter) {
+        this.index = index;
+        this.getters = getters;
+        this.properties = properties;
+        this.nullSafe = nullSafe;
+        this.typeConverter = typeConverter;
+    }
+
+    /**
+     * @return the compiled expression, or {@code null} if it is not a property path on an argument
+     * whose properties can all be resolved from the declared types
+     */
+    static AccessorKeyExpression compile(String expression, MethodArguments arguments, TypeConverter typeConverter) {
+        Matcher path = PROPERTY_PATH.matcher(expression.strip());
+        if (!path.matches()) {
+            return null;
+        }
+
+        int index = arguments.indexOf(path.group(1));
+        if (index < 0) {
+            return null;
+        }
+
+        List<MethodHandle> getters = new ArrayList<>();
+        List<String> properties = new ArrayList<>();
+        List<Boolean> nullSafe = new ArrayList<>();
+        Class<?> type = arguments.typeOf(index);
+
+        Matcher property = PROPERTY.matcher(path.group(2));
+        while (property.find()) {
+            MethodHandle getter = getter(type, property.group(2));
+            if (getter == null) {
+                return null;
+            }
+            type = getter.type().returnType();
+            getters.add(getter.asType(GETTER_TYPE));
+            properties.add(property.group(2));
+            nullSafe.add(!property.group(1).isEmpty());
+        }
+
+        boolean[] nullSafeArray = new boolean[nullSafe.size()];
+        for (int i = 0; i < nullSafeArray.length; i++) {
+            nullSafeArray[i] = nullSafe.get(i);
+        }
+        return new AccessorKeyExpression(
+            index, getters.toArray(MethodHandle[]::new), properties.toArray(String[]::new), nullSafeArray, typeConverter
+        );
+    }
+
+    @Override
+    public String evaluate(Object[] arguments) {
+        Object value = arguments[index];
+        for (int i = 0; i < getters.length; i++) {
+            if (value == null) {
+                if (nullSafe[i]) {
+                    return null;
+                }
+                throw new SpelEvaluationException(SpelMessage.PROPERTY_OR_FIELD_NOT_READABLE_ON_NULL, properties[i]);
+            }
+            value = read(i, value);
+        }
+
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        return (String) typeConverter.convertValue(value, TypeDescriptor.forObject(value), STRING_TYPE);
+    }
+
+    @Override
+    public boolean referencesArguments() {
+        return true;
+    }
+
+    private Object read(int i, Object target) {
+        try {
+            return (Object) getters[i].invokeExact(target);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SpelEvaluationException(e, SpelMessage.EXCEPTION_DURING_PROPERTY_READ, properties[i], e.getMessage());
+        }
+    }
+
+    private static MethodHandle getter(Class<?> type, String property) {
+        if (type.isPrimitive() || type.isArray()) {
+            return null;
+        }
+
+        String suffix = StringUtils.capitalize(property);
+        Method method = method(type, "get" + suffix);
+        if (method == null) {
+            method = method(type, "is" + suffix);
+            if (method != null && method.getReturnType() != boolean.class && method.getReturnType() != Boolean.class) {
+                method = null;
+            }
+        }
+        if (method == null && type.isRecord()) {
+            method = method(type, property);
+        }
+
+        try {
+            if (method != null) {
+                return MethodHandles.publicLookup().unreflect(method);
+            }
+
+            Field field = type.getField(property);
+            return Modifier.isStatic(field.getModifiers()) ? null : MethodHandles.publicLookup().unreflectGetter(field);
+        } catch (NoSuchFieldException | IllegalAccessException _) {
+            // Not publicly accessible, left to SpEL
+            return null;
+        }
+    }
+
+    private static Method method(Class<?> type, String name) {
+        try {
+            Method method = type.getMethod(name);
+            return method.getReturnType() == void.class || Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException _) {
+            return null;
+        }
+    }
+}
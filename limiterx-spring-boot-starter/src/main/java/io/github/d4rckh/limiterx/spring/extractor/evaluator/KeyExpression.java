@@ -0,0 +1,24 @@
+package io.github.d4rckh.limiterx.spring.extractor.evaluator;
+
+import java.lang.reflect.Method;
+
+/**
+ * The {@code keyExpression} of one {@code @RateLimited} method, compiled by
+ * {@link KeyExtractorSpelEvaluator#compile(String, Method)}.
+ */
+@FunctionalInterface
+public interface KeyExpression {
+
+    /**
+     * @param arguments the arguments of the intercepted call
+     * @return the client key, or {@code null} if the expression yields none
+     */
+    String evaluate(Object[] arguments);
+
+    /**
+     * @return whether the expression reads the arguments of the call, if not it can be evaluated without them
+     */
+    default boolean referencesArguments() {
+        return false;
+    }
+}
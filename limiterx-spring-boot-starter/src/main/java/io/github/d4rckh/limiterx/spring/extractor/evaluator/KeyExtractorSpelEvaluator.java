@@ -2,15 +2,21 @@ package io.github.d4rckh.limiterx.spring.extractor.evaluator;
 
 import io.github.d4rckh.limiterx.spring.common.KeyExtractor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
-import org.springframework.stereotype.Component;
-import org.springframework.stereotype.Service;
 
+import java.lang.reflect.Method;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Evaluates Spring Expression Language (SpEL) expressions to extract rate-limiting keys dynamically.
@@ -30,13 +36,36 @@ import java.util.Map;
  * <p>
  * This allows dynamic evaluation of key extraction methods at runtime.
  * </p>
+ * <p>
+ * Expressions compiled for a method with {@link #compile(String, Method)} can also reference the arguments
+ * of the intercepted call, by position ({@code #p0}, {@code #a0}) or by name when the code is compiled
+ * with {@code -parameters}, e.g. {@code #tenantId} or {@code #request.apiKey}. An argument hides an
+ * extractor of the same name. Property paths on an argument, like {@code #request.apiKey}, are compiled
+ * to {@link java.lang.invoke.MethodHandle} getters instead of being interpreted on each call.
+ * </p>
+ * <p>
+ * Each expression is parsed once and cached. Expressions run in the SpEL compiler's
+ * {@link SpelCompilerMode#MIXED MIXED} mode: they are compiled to bytecode once they have been
+ * interpreted a few times, and fall back to interpretation if a compiled expression stops applying.
+ * All evaluations share one evaluation context, which is fully set up at construction and read-only
+ * afterwards, so it is safe to use from concurrent requests.
+ * </p>
  *
  * @author d4rckh
  */
 @Slf4j
 public class KeyExtractorSpelEvaluator {
-    private final ExpressionParser parser = new SpelExpressionParser();
-    private final StandardEvaluationContext context = new StandardEvaluationContext();
+    private static final Set<SpelMessage> NULL_NAVIGATION = EnumSet.of(
+        SpelMessage.PROPERTY_OR_FIELD_NOT_READABLE_ON_NULL,
+        SpelMessage.METHOD_CALL_ON_NULL_OBJECT_NOT_ALLOWED,
+        SpelMessage.CANNOT_INDEX_INTO_NULL_VALUE
+    );
+
+    private final ExpressionParser parser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, KeyExtractorSpelEvaluator.class.getClassLoader())
+    );
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+    private final ReadOnlyEvaluationContext context;
 
     /**
      * Initializes the SpEL evaluator and registers all {@link KeyExtractor} beans as variables.
@@ -44,10 +73,25 @@ public class KeyExtractorSpelEvaluator {
      * @param applicationContext the Spring application context, used to retrieve {@link KeyExtractor} beans
      */
     public KeyExtractorSpelEvaluator(ApplicationContext applicationContext) {
+        StandardEvaluationContext standardContext = new StandardEvaluationContext();
+
         // Retrieve all KeyExtractor beans and register them as SpEL variables
         Map<String, KeyExtractor> extractors = applicationContext.getBeansOfType(KeyExtractor.class);
 
-        extractors.forEach((_, instance) -> context.setVariable(instance.getClass().getSimpleName(), instance));
+        extractors.forEach((_, instance) -> standardContext.setVariable(instance.getClass().getSimpleName(), instance));
+
+        this.context = new ReadOnlyEvaluationContext(standardContext);
+    }
+
+    /**
+     * Returns the parsed form of an expression, parsing it on first use only.
+     *
+     * @param expression the SpEL expression
+     * @return the cached parsed expression
+     * @throws org.springframework.expression.ParseException if the expression is invalid
+     */
+    public Expression parse(String expression) {
+        return expressions.computeIfAbsent(expression, parser::parseExpression);
     }
 
     /**
@@ -69,6 +113,68 @@ public class KeyExtractorSpelEvaluator {
     public String evaluate(String expression) {
         if (expression.isBlank()) return "";
 
-        return parser.parseExpression(expression).getValue(context, String.class);
+        return evaluate(parse(expression));
+    }
+
+    /**
+     * Evaluates an expression previously returned by {@link #parse(String)}.
+     *
+     * @param expression the parsed expression
+     * @return the extracted key as a string
+     */
+    public String evaluate(Expression expression) {
+        return expression.getValue(context, String.class);
+    }
+
+    /**
+     * Compiles the key expression of {@code method}, binding the arguments of its calls.
+     *
+     * @param expression the SpEL expression
+     * @param method     the method whose arguments the expression may reference
+     * @return the compiled expression, evaluating to {@code ""} if {@code expression} is blank
+     * @throws org.springframework.expression.ParseException if the expression is invalid
+     */
+    public KeyExpression compile(String expression, Method method) {
+        if (expression.isBlank()) return _ -> "";
+
+        MethodArguments arguments = MethodArguments.of(method);
+        KeyExpression accessor = AccessorKeyExpression.compile(expression, arguments, context.getTypeConverter());
+        if (accessor != null) {
+            return accessor;
+        }
+        return new SpelKeyExpression(parse(expression), context, arguments);
+    }
+
+    /**
+     * Checks the key expression of {@code method} by evaluating it with {@code null} arguments.
+     * <p>
+     * Navigating through a {@code null} argument is accepted since real calls may pass a value.
+     * Variables that are neither an argument nor an extractor are logged, they usually mean the
+     * code was not compiled with {@code -parameters}.
+     * </p>
+     *
+     * @param expression the SpEL expression
+     * @param method     the method annotated with the expression
+     * @throws SpelEvaluationException if the expression cannot be evaluated
+     */
+    public void validate(String expression, Method method) {
+        if (expression.isBlank()) return;
+
+        MethodArguments arguments = MethodArguments.of(method);
+        for (String variable : SpelKeyExpression.variablesOf(parse(expression))) {
+            if (arguments.indexOf(variable) < 0 && context.lookupVariable(variable) == null) {
+                log.warn("Unknown variable #{} in key expression of {}.{}, argument names require compiling with -parameters",
+                    variable, method.getDeclaringClass().getName(), method.getName());
+            }
+        }
+
+        KeyExpression compiled = compile(expression, method);
+        try {
+            compiled.evaluate(new Object[method.getParameterCount()]);
+        } catch (SpelEvaluationException e) {
+            if (!compiled.referencesArguments() || !NULL_NAVIGATION.contains(e.getMessageCode())) {
+                throw e;
+            }
+        }
     }
 }
@@ -0,0 +1,59 @@
+package io.github.d4rckh.limiterx.spring.extractor.evaluator;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The variables binding the arguments of a method in a key expression.
+ * <p>
+ * Every argument is bound by position as {@code #p0}, {@code #a0}, ... and by name when the names are
+ * available, i.e. when the code was compiled with {@code -parameters} (the default with the Spring Boot
+ * Maven and Gradle plugins).
+ * </p>
+ */
+final class MethodArguments {
+    private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private final Class<?>[] types;
+    private final Map<String, Integer> indexes;
+
+    private MethodArguments(Class<?>[] types, Map<String, Integer> indexes) {
+        this.types = types;
+        this.indexes = indexes;
+    }
+
+    static MethodArguments of(Method method) {
+        Map<String, Integer> indexes = new HashMap<>();
+        String[] names = NAME_DISCOVERER.getParameterNames(method);
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            indexes.put("p" + i, i);
+            indexes.put("a" + i, i);
+        }
+        // Names come last so that an argument named like a position wins
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                indexes.put(names[i], i);
+            }
+        }
+        return new MethodArguments(method.getParameterTypes(), Map.copyOf(indexes));
+    }
+
+    /**
+     * @return the index of the argument bound to {@code variable}, or {@code -1} if it is not an argument
+     */
+    int indexOf(String variable) {
+        return indexes.getOrDefault(variable, -1);
+    }
+
+    Class<?> typeOf(int index) {
+        return types[index];
+    }
+
+    boolean isEmpty() {
+        return types.length == 0;
+    }
+}
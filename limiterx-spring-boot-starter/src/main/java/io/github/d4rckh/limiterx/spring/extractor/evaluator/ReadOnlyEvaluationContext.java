@@ -0,0 +1,132 @@
+package io.github.d4rckh.limiterx.spring.extractor.evaluator;
+
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A {@link StandardEvaluationContext} frozen for concurrent use.
+ * <p>
+ * Everything {@link StandardEvaluationContext} would set up lazily on first evaluation is resolved
+ * at construction, and expressions cannot assign variables, so the context never changes once built.
+ * The arguments of a call are bound by {@link #withArguments(MethodArguments, Object[])}, which layers
+ * them over the shared variables in a new context for that call only.
+ * </p>
+ */
+final class ReadOnlyEvaluationContext implements EvaluationContext {
+    private final StandardEvaluationContext delegate;
+    private final List<PropertyAccessor> propertyAccessors;
+    private final List<ConstructorResolver> constructorResolvers;
+    private final List<MethodResolver> methodResolvers;
+    private final TypeLocator typeLocator;
+    private final TypeConverter typeConverter;
+    private final MethodArguments arguments;
+    private final Object[] values;
+
+    ReadOnlyEvaluationContext(StandardEvaluationContext delegate) {
+        this.delegate = delegate;
+        this.propertyAccessors = List.copyOf(delegate.getPropertyAccessors());
+        this.constructorResolvers = List.copyOf(delegate.getConstructorResolvers());
+        this.methodResolvers = List.copyOf(delegate.getMethodResolvers());
+        this.typeLocator = delegate.getTypeLocator();
+        this.typeConverter = delegate.getTypeConverter();
+        this.arguments = null;
+        this.values = null;
+    }
+
+    private ReadOnlyEvaluationContext(ReadOnlyEvaluationContext shared, MethodArguments arguments, Object[] values) {
+        this.delegate = shared.delegate;
+        this.propertyAccessors = shared.propertyAccessors;
+        this.constructorResolvers = shared.constructorResolvers;
+        this.methodResolvers = shared.methodResolvers;
+        this.typeLocator = shared.typeLocator;
+        this.typeConverter = shared.typeConverter;
+        this.arguments = arguments;
+        this.values = values;
+    }
+
+    /**
+     * @return a context for one call, resolving the variables of {@code arguments} to {@code values}
+     * before the shared variables
+     */
+    ReadOnlyEvaluationContext withArguments(MethodArguments arguments, Object[] values) {
+        return new ReadOnlyEvaluationContext(this, arguments, values);
+    }
+
+    @Override
+    public TypedValue getRootObject() {
+        return delegate.getRootObject();
+    }
+
+    @Override
+    public List<PropertyAccessor> getPropertyAccessors() {
+        return propertyAccessors;
+    }
+
+    @Override
+    public List<ConstructorResolver> getConstructorResolvers() {
+        return constructorResolvers;
+    }
+
+    @Override
+    public List<MethodResolver> getMethodResolvers() {
+        return methodResolvers;
+    }
+
+    @Override
+    public BeanResolver getBeanResolver() {
+        return delegate.getBeanResolver();
+    }
+
+    @Override
+    public TypeLocator getTypeLocator() {
+        return typeLocator;
+    }
+
+    @Override
+    public TypeConverter getTypeConverter() {
+        return typeConverter;
+    }
+
+    @Override
+    public TypeComparator getTypeComparator() {
+        return delegate.getTypeComparator();
+    }
+
+    @Override
+    public OperatorOverloader getOperatorOverloader() {
+        return delegate.getOperatorOverloader();
+    }
+
+    @Override
+    public TypedValue assignVariable(String name, Supplier<TypedValue> valueSupplier) {
+        throw new UnsupportedOperationException("Key expressions cannot assign variables");
+    }
+
+    @Override
+    public void setVariable(String name, Object value) {
+        throw new UnsupportedOperationException("Key expressions cannot assign variables");
+    }
+
+    @Override
+    public Object lookupVariable(String name) {
+        if (arguments != null) {
+            int index = arguments.indexOf(name);
+            if (index >= 0) {
+                return values[index];
+            }
+        }
+        return delegate.lookupVariable(name);
+    }
+}
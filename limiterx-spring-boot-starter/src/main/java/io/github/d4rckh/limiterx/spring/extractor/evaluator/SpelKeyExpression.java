@@ -0,0 +1,60 @@
+package io.github.d4rckh.limiterx.spring.extractor.evaluator;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.VariableReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A key expression evaluated by SpEL, with the method arguments layered over the shared variables.
+ */
+final class SpelKeyExpression implements KeyExpression {
+    private final Expression expression;
+    private final ReadOnlyEvaluationContext context;
+    private final MethodArguments arguments;
+    private final boolean referencesArguments;
+
+    SpelKeyExpression(Expression expression, ReadOnlyEvaluationContext context, MethodArguments arguments) {
+        this.expression = expression;
+        this.context = context;
+        this.arguments = arguments;
+        this.referencesArguments = variablesOf(expression).stream().anyMatch(variable -> arguments.indexOf(variable) >= 0);
+    }
+
+    @Override
+    public String evaluate(Object[] values) {
+        ReadOnlyEvaluationContext callContext = referencesArguments ? context.withArguments(arguments, values) : context;
+        return expression.getValue(callContext, String.class);
+    }
+
+    @Override
+    public boolean referencesArguments() {
+        return referencesArguments;
+    }
+
+    /**
+     * @return the names of the variables read by {@code expression}, without {@code #root} and {@code #this}
+     */
+    static List<String> variablesOf(Expression expression) {
+        List<String> variables = new ArrayList<>();
+        if (expression instanceof SpelExpression spelExpression) {
+            collectVariables(spelExpression.getAST(), variables);
+        }
+        return variables;
+    }
+
+    private static void collectVariables(SpelNode node, List<String> variables) {
+        if (node instanceof VariableReference) {
+            String name = node.toStringAST().substring(1);
+            if (!name.equals("root") && !name.equals("this")) {
+                variables.add(name);
+            }
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            collectVariables(node.getChild(i), variables);
+        }
+    }
+}
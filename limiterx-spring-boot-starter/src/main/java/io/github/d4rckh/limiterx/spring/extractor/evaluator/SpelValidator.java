@@ -40,7 +40,7 @@ public class SpelValidator implements ApplicationListener<ContextRefreshedEvent>
             if (spelExpression.isBlank()) continue;
 
             try {
-                keyExtractor.evaluate(spelExpression);
+                keyExtractor.validate(spelExpression, method);
             } catch (SpelEvaluationException e) {
                 throw new IllegalStateException(String.format("Invalid SpEL expression in @RateLimited on method: %s.%s -> %s",
                     method.getDeclaringClass().getName(), method.getName(), spelExpression), e);
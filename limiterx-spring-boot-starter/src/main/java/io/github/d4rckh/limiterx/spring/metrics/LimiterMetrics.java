@@ -0,0 +1,47 @@
+package io.github.d4rckh.limiterx.spring.metrics;
+
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Instrumentation of the limiters and of the {@code @RateLimited} aspect, see {@link MicrometerLimiterMetrics}.
+ * <p>
+ * Meters are resolved once per method and once per storage, so that recording on the request path does not
+ * look anything up nor allocate.
+ * </p>
+ */
+public interface LimiterMetrics {
+
+    /**
+     * Records nothing, used when Micrometer is not available.
+     */
+    LimiterMetrics NOOP = new LimiterMetrics() {
+        @Override
+        public MethodMetrics forMethod(Class<?> targetClass, Method method, List<LimitPolicy> policies) {
+            return MethodMetrics.NOOP;
+        }
+
+        @Override
+        public LimiterStorage instrument(LimiterStorage storage, String backend) {
+            return storage;
+        }
+    };
+
+    /**
+     * @param targetClass the class of the bean the method is called on
+     * @param method      the {@code RateLimited} method
+     * @param policies    the limits of the method
+     * @return the meters of the calls to the method
+     */
+    MethodMetrics forMethod(Class<?> targetClass, Method method, List<LimitPolicy> policies);
+
+    /**
+     * @param storage the storage of a limiter
+     * @param backend the kind of storage, e.g. {@code redis} or {@code memory}
+     * @return a storage timing the operations of {@code storage}
+     */
+    LimiterStorage instrument(LimiterStorage storage, String backend);
+}
@@ -0,0 +1,127 @@
+package io.github.d4rckh.limiterx.spring.metrics;
+
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every operation of a {@link LimiterStorage} with a timer registered up front, see {@link MicrometerLimiterMetrics}.
+ */
+class MeteredLimiterStorage implements LimiterStorage {
+    private final LimiterStorage delegate;
+    private final Timer findByKey;
+    private final Timer updateByKey;
+    private final Timer getTtlByKey;
+    private final Timer setTtlByKey;
+    private final Timer acquire;
+    private final Timer acquireAll;
+    private final Timer isLimited;
+
+    MeteredLimiterStorage(LimiterStorage delegate, MeterRegistry registry, String backend) {
+        this.delegate = delegate;
+        this.findByKey = timer(registry, backend, "findByKey");
+        this.updateByKey = timer(registry, backend, "updateByKey");
+        this.getTtlByKey = timer(registry, backend, "getTtlByKey");
+        this.setTtlByKey = timer(registry, backend, "setTtlByKey");
+        this.acquire = timer(registry, backend, "acquire");
+        this.acquireAll = timer(registry, backend, "acquireAll");
+        this.isLimited = timer(registry, backend, "isLimited");
+    }
+
+    @Override
+    public Optional<ClientStats> findByKey(String key) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByKey(key);
+        } finally {
+            record(findByKey, start);
+        }
+    }
+
+    @Override
+    public void updateByKey(String key, ClientStats stats) {
+        long start = System.nanoTime();
+        try {
+            delegate.updateByKey(key, stats);
+        } finally {
+            record(updateByKey, start);
+        }
+    }
+
+    @Override
+    public Duration getTtlByKey(String key) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getTtlByKey(key);
+        } finally {
+            record(getTtlByKey, start);
+        }
+    }
+
+    @Override
+    public void setTtlByKey(String key, Duration ttl) {
+        long start = System.nanoTime();
+        try {
+            delegate.setTtlByKey(key, ttl);
+        } finally {
+            record(setTtlByKey, start);
+        }
+    }
+
+    @Override
+    public Decision acquire(String key, LimitPolicy policy, Instant now) {
+        long start = System.nanoTime();
+        try {
+            return delegate.acquire(key, policy, now);
+        } finally {
+            record(acquire, start);
+        }
+    }
+
+    @Override
+    public Decision acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+        long start = System.nanoTime();
+        try {
+            return delegate.acquireAll(keys, policies, now);
+        } finally {
+            record(acquireAll, start);
+        }
+    }
+
+    @Override
+    public boolean isLimited(String key, LimitPolicy policy, Instant now) {
+        long start = System.nanoTime();
+        try {
+            return delegate.isLimited(key, policy, now);
+        } finally {
+            record(isLimited, start);
+        }
+    }
+
+    @Override
+    public boolean supports(LimitingStrategy strategy) {
+        return delegate.supports(strategy);
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(MeterRegistry registry, String backend, String operation) {
+        return Timer.builder("limiterx.storage.operations")
+            .description("Operations of the limiter storage")
+            .tag("backend", backend)
+            .tag("operation", operation)
+            .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.d4rckh.limiterx.spring.metrics;
+
+import io.github.d4rckh.limiterx.core.domain.Decision;
+
+/**
+ * The meters of one {@code @RateLimited} method, see {@link LimiterMetrics#forMethod}.
+ */
+public interface MethodMetrics {
+
+    MethodMetrics NOOP = new MethodMetrics() {
+        @Override
+        public void record(Decision decision) {
+        }
+
+        @Override
+        public void recordOverhead(long nanos) {
+        }
+    };
+
+    /**
+     * Counts a call as allowed, denied, or blocked when its client is blocked by {@code blockFor}.
+     */
+    void record(Decision decision);
+
+    /**
+     * Records the time the aspect spent on a call outside of the storage, e.g. extracting its key.
+     */
+    void recordOverhead(long nanos);
+}
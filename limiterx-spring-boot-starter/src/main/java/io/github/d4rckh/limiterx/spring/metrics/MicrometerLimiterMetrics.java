@@ -0,0 +1,106 @@
+package io.github.d4rckh.limiterx.spring.metrics;
+
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.common.LocalLimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link LimiterMetrics} publishing to a Micrometer {@link MeterRegistry}.
+ * <p>Meters:</p>
+ * <ul>
+ *     <li>{@code limiterx.requests} – counter of the calls to each {@code @RateLimited} method, tagged with
+ *     {@code method}, {@code policy} and {@code outcome}: {@code allowed}, {@code denied} or {@code blocked}
+ *     (denied while blocked by {@code blockFor}),</li>
+ *     <li>{@code limiterx.aspect.overhead} – timer of the time the aspect spends on a call outside of the storage,
+ *     tagged with {@code method},</li>
+ *     <li>{@code limiterx.storage.operations} – timer of each storage operation, tagged with {@code backend}
+ *     and {@code operation},</li>
+ *     <li>{@code limiterx.storage.keys} – gauge of the keys held by in-memory storages, tagged with {@code backend},</li>
+ *     <li>{@code limiterx.storage.sweeps} – timer of the background passes removing expired in-memory keys,
+ *     tagged with {@code backend}.</li>
+ * </ul>
+ */
+public class MicrometerLimiterMetrics implements LimiterMetrics {
+    private final MeterRegistry registry;
+
+    public MicrometerLimiterMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public MethodMetrics forMethod(Class<?> targetClass, Method method, List<LimitPolicy> policies) {
+        String methodTag = targetClass.getSimpleName() + "." + method.getName();
+        String policyTag = policies.stream().map(MicrometerLimiterMetrics::describe).collect(Collectors.joining(","));
+
+        return new MicrometerMethodMetrics(
+            requests(methodTag, policyTag, "allowed"),
+            requests(methodTag, policyTag, "denied"),
+            requests(methodTag, policyTag, "blocked"),
+            Timer.builder("limiterx.aspect.overhead")
+                .description("Time spent by the @RateLimited aspect outside of the storage")
+                .tag("method", methodTag)
+                .register(registry)
+        );
+    }
+
+    @Override
+    public LimiterStorage instrument(LimiterStorage storage, String backend) {
+        if (storage instanceof LocalLimiterStorage local) {
+            Gauge.builder("limiterx.storage.keys", local, LocalLimiterStorage::size)
+                .description("Keys held in memory, including expired keys not yet removed")
+                .tag("backend", backend)
+                .register(registry);
+
+            Timer sweeps = Timer.builder("limiterx.storage.sweeps")
+                .description("Background passes removing expired keys")
+                .tag("backend", backend)
+                .register(registry);
+            local.setSweepListener(nanos -> sweeps.record(nanos, TimeUnit.NANOSECONDS));
+        }
+        return new MeteredLimiterStorage(storage, registry, backend);
+    }
+
+    private Counter requests(String method, String policy, String outcome) {
+        return Counter.builder("limiterx.requests")
+            .description("Calls to @RateLimited methods")
+            .tag("method", method)
+            .tag("policy", policy)
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private static String describe(LimitPolicy policy) {
+        return policy.getStrategy().name().toLowerCase(Locale.ROOT) + ":" + policy.getMaximumRequests() + "/" + policy.getWindowSeconds() + "s";
+    }
+
+    private record MicrometerMethodMetrics(Counter allowed, Counter denied, Counter blocked, Timer overhead)
+        implements MethodMetrics {
+
+        @Override
+        public void record(Decision decision) {
+            if (!decision.isLimited()) {
+                allowed.increment();
+            } else if (decision.getBlockedUntil() != null) {
+                blocked.increment();
+            } else {
+                denied.increment();
+            }
+        }
+
+        @Override
+        public void recordOverhead(long nanos) {
+            overhead.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.d4rckh.limiterx.spring.storage;
+
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.Lease;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Lua scripts counting requests server-side, shared by the blocking and reactive Redis storages.
+ * <p>
+ * Every strategy is a function of its own script, {@code limit.lua} runs the strategy of each policy in turn,
+ * so requests limited by one or several policies take a single round trip. {@code lease.lua} and
+ * {@code release.lua} reserve and give back batches of fixed window requests. {@code concurrency-acquire.lua} and
+ * {@code concurrency-release.lua} take and release the permits of calls in progress.
+ * </p>
+ */
+final class LimiterScripts {
+    static final RedisScript<Long> SCRIPT = loadScript(
+        Long.class, "prelude.lua", "fixed-window.lua", "sliding-window.lua", "token-bucket.lua", "gcra.lua", "limit.lua"
+    );
+
+    @SuppressWarnings("unchecked")
+    static final RedisScript<List<Long>> LEASE = (RedisScript<List<Long>>) (RedisScript<?>) loadScript(
+        List.class, "prelude.lua", "lease.lua"
+    );
+    static final RedisScript<Long> RELEASE = loadScript(Long.class, "prelude.lua", "release.lua");
+    static final RedisScript<Long> CONCURRENCY_ACQUIRE = loadScript(
+        Long.class, "prelude.lua", "concurrency-acquire.lua"
+    );
+    static final RedisScript<Long> CONCURRENCY_RELEASE = loadScript(Long.class, "concurrency-release.lua");
+
+    private LimiterScripts() {
+    }
+
+    /**
+     * @return the script arguments: client time, then the strategy, maximum requests, window, block (empty if none)
+     * and capacity of each policy
+     */
+    static List<String> arguments(List<LimitPolicy> policies, Instant now) {
+        List<String> arguments = new ArrayList<>(1 + 5 * policies.size());
+        arguments.add(String.valueOf(now.toEpochMilli()));
+        for (LimitPolicy policy : policies) {
+            arguments.add(policy.getStrategy().name());
+            arguments.add(String.valueOf(policy.getMaximumRequests()));
+            arguments.add(String.valueOf(policy.getWindowSeconds()));
+            arguments.add(policy.getBlockFor() == null ? "" : String.valueOf(policy.getBlockFor()));
+            arguments.add(String.valueOf(policy.getCapacity()));
+        }
+        return arguments;
+    }
+
+    /**
+     * @return the arguments of {@code lease.lua}: client time, maximum requests, window and requests to reserve
+     */
+    static List<String> leaseArguments(LimitPolicy policy, int permits, Instant now) {
+        return List.of(
+            String.valueOf(now.toEpochMilli()),
+            String.valueOf(policy.getMaximumRequests()),
+            String.valueOf(policy.getWindowSeconds()),
+            String.valueOf(permits)
+        );
+    }
+
+    /**
+     * @return the arguments of {@code release.lua}: client time, start of the leased window and requests to give back
+     */
+    static List<String> releaseArguments(Lease lease, int permits) {
+        return List.of(
+            String.valueOf(Instant.now().toEpochMilli()),
+            String.valueOf(ClientStatsRedisSerializer.toMicros(lease.getWindowStart())),
+            String.valueOf(permits)
+        );
+    }
+
+    /**
+     * @param result the reserved requests and the start of their window in epoch micros, as returned by {@code lease.lua}
+     */
+    static Lease lease(List<Long> result, LimitPolicy policy) {
+        Instant windowStart = ClientStatsRedisSerializer.fromMicros(result.get(1));
+        return new Lease(result.get(0).intValue(), windowStart, windowStart.plusSeconds(policy.getWindowSeconds()));
+    }
+
+    static Decision decision(Long result) {
+        // 0 when allowed, 1 when limited, otherwise limited with the end of the block in epoch millis
+        if (result == null || result == 0L) {
+            return Decision.ALLOWED;
+        }
+        return result == 1L ? Decision.LIMITED : Decision.blockedUntil(Instant.ofEpochMilli(result));
+    }
+
+    private static <T> RedisScript<T> loadScript(Class<T> resultType, String... names) {
+        StringBuilder script = new StringBuilder();
+        for (String name : names) {
+            try {
+                script.append(readScript(name)).append('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to load LimiterX script " + name, e);
+            }
+        }
+        return RedisScript.of(script.toString(), resultType);
+    }
+
+    private static String readScript(String name) throws IOException {
+        return new ClassPathResource(name, LimiterScripts.class).getContentAsString(StandardCharsets.UTF_8);
+    }
+}
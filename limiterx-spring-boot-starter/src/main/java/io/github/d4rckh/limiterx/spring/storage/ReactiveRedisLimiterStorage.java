@@ -0,0 +1,106 @@
+package io.github.d4rckh.limiterx.spring.storage;
+
+import io.github.d4rckh.limiterx.core.algorithm.GcraAlgorithm;
+import io.github.d4rckh.limiterx.core.algorithm.LimitingAlgorithm;
+import io.github.d4rckh.limiterx.core.common.AsyncLimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking Redis storage built on the reactive Redis template.
+ * <p>
+ * Requests are counted by the same scripts as {@link RedisLimiterStorage}, so both storages can share
+ * the same keys, but no thread waits for Redis to answer: the returned stages complete on the Redis
+ * client's event loop.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class ReactiveRedisLimiterStorage implements AsyncLimiterStorage {
+    private static final RedisElementWriter<String> ARGS_WRITER = RedisElementWriter.from(RedisSerializer.string());
+    private static final RedisElementReader<Long> RESULT_READER =
+        RedisElementReader.from(new GenericToStringSerializer<>(Long.class));
+
+    private final ReactiveRedisTemplate<String, ClientStats> redisTemplate;
+
+    /**
+     * Counts a request and decides whether it is limited in a single round trip,
+     * see {@link RedisLimiterStorage#acquire(String, LimitPolicy, Instant)}.
+     */
+    @Override
+    public CompletionStage<Decision> acquire(String key, LimitPolicy policy, Instant now) {
+        return acquireMono(key, policy, now).toFuture();
+    }
+
+    /**
+     * Like {@link #acquire(String, LimitPolicy, Instant)}, the script only runs once the result is subscribed to.
+     */
+    public Mono<Decision> acquireMono(String key, LimitPolicy policy, Instant now) {
+        return acquireAllMono(List.of(key), List.of(policy), now);
+    }
+
+    /**
+     * Counts a request against every policy in a single round trip,
+     * see {@link RedisLimiterStorage#acquireAll(List, List, Instant)}.
+     */
+    @Override
+    public CompletionStage<Decision> acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+        return acquireAllMono(keys, policies, now).toFuture();
+    }
+
+    public Mono<Decision> acquireAllMono(List<String> keys, List<LimitPolicy> policies, Instant now) {
+        return redisTemplate.execute(
+                LimiterScripts.SCRIPT,
+                keys, LimiterScripts.arguments(policies, now),
+                ARGS_WRITER, RESULT_READER
+            )
+            .next()
+            .map(LimiterScripts::decision)
+            .defaultIfEmpty(Decision.ALLOWED);
+    }
+
+    /**
+     * Checks whether a request would be limited without counting it, reading GCRA keys raw like
+     * {@link RedisLimiterStorage#isLimited(String, LimitPolicy, Instant)}.
+     */
+    @Override
+    public CompletionStage<Boolean> isLimited(String key, LimitPolicy policy, Instant now) {
+        return isLimitedMono(key, policy, now).toFuture();
+    }
+
+    public Mono<Boolean> isLimitedMono(String key, LimitPolicy policy, Instant now) {
+        if (policy.getStrategy() != LimitingStrategy.GCRA) {
+            LimitingAlgorithm algorithm = LimitingAlgorithm.of(policy.getStrategy());
+            return redisTemplate.opsForValue().get(key)
+                .defaultIfEmpty(algorithm.newStats(policy, now))
+                .map(stats -> algorithm.isLimited(stats, policy, now));
+        }
+
+        ByteBuffer rawKey = ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+        return redisTemplate.createMono(connection -> connection.stringCommands().get(rawKey))
+            .map(raw -> {
+                try {
+                    long tat = Long.parseLong(StandardCharsets.UTF_8.decode(raw).toString());
+                    return !GcraAlgorithm.INSTANCE.isAllowed(tat, GcraAlgorithm.toMicros(now), policy);
+                } catch (NumberFormatException e) {
+                    // Stats left by another strategy, the next acquire starts the key afresh
+                    return false;
+                }
+            })
+            .defaultIfEmpty(false);
+    }
+}
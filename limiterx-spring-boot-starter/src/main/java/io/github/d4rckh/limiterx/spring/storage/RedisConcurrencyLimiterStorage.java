@@ -0,0 +1,71 @@
+package io.github.d4rckh.limiterx.spring.storage;
+
+import io.github.d4rckh.limiterx.core.common.ConcurrencyLimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Redis-based implementation of {@link ConcurrencyLimiterStorage}, counting the calls in progress on every node.
+ * <p>
+ * Each key is a sorted set of the permits held, scored by the end of their lease. Permits are taken by
+ * {@code concurrency-acquire.lua} in a single round trip, after dropping the permits whose lease ended, e.g. those
+ * of a node that stopped in the middle of a call, and are released by {@code concurrency-release.lua}. Like the
+ * rate limiting scripts, leases follow the Redis server clock.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisConcurrencyLimiterStorage implements ConcurrencyLimiterStorage {
+    private static final RedisSerializer<String> ARGS_SERIALIZER = RedisSerializer.string();
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, ClientStats> redisTemplate;
+
+    /**
+     * Takes a permit on {@code key} if fewer than {@code maximumConcurrentCalls} are held.
+     *
+     * @param key                    the key identifying the calls
+     * @param permitId               the member of the permit in the key's sorted set
+     * @param maximumConcurrentCalls the maximum number of permits held at once
+     * @param lease                  how long the permit is held if it is not released
+     * @param now                    the time of the call, used on Redis versions older than 3.2
+     * @return whether the permit was taken
+     */
+    @Override
+    public boolean tryAcquire(String key, String permitId, int maximumConcurrentCalls, Duration lease, Instant now) {
+        Long acquired = redisTemplate.execute(
+            LimiterScripts.CONCURRENCY_ACQUIRE, ARGS_SERIALIZER, RESULT_SERIALIZER,
+            List.of(key),
+            String.valueOf(now.toEpochMilli()), permitId, String.valueOf(maximumConcurrentCalls),
+            String.valueOf(Math.max(1, lease.toMillis()))
+        );
+        return acquired != null && acquired == 1L;
+    }
+
+    /**
+     * Releases a permit, failures are logged rather than thrown as the permit is dropped once its lease ends.
+     *
+     * @param key      the key identifying the calls
+     * @param permitId the member of the permit in the key's sorted set
+     */
+    @Override
+    public void release(String key, String permitId) {
+        try {
+            redisTemplate.execute(
+                LimiterScripts.CONCURRENCY_RELEASE, ARGS_SERIALIZER, RESULT_SERIALIZER,
+                List.of(key),
+                permitId
+            );
+        } catch (RuntimeException e) {
+            log.warn("Unable to release permit {} of {}, it is held until its lease ends", permitId, key, e);
+        }
+    }
+}
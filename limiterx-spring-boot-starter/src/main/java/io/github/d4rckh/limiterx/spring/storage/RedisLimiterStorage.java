@@ -1,12 +1,23 @@
 package io.github.d4rckh.limiterx.spring.storage;
 
+import io.github.d4rckh.limiterx.core.algorithm.GcraAlgorithm;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.Lease;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
 import lombok.RequiredArgsConstructor;
+import io.github.d4rckh.limiterx.core.common.LeasableLimiterStorage;
 import io.github.d4rckh.limiterx.core.common.LimiterStorage;
 import io.github.d4rckh.limiterx.core.domain.ClientStats;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -19,7 +30,14 @@ import java.util.concurrent.TimeUnit;
  */
 @Slf4j
 @RequiredArgsConstructor
-public class RedisLimiterStorage implements LimiterStorage {
+public class RedisLimiterStorage implements LeasableLimiterStorage {
+    private static final RedisSerializer<String> ARGS_SERIALIZER = RedisSerializer.string();
+    private static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+    // List results are deserialized element by element
+    @SuppressWarnings("unchecked")
+    private static final RedisSerializer<List<Long>> LIST_RESULT_SERIALIZER =
+        (RedisSerializer<List<Long>>) (RedisSerializer<?>) RESULT_SERIALIZER;
+
     private final RedisTemplate<String, ClientStats> redisTemplate;
 
     /**
@@ -84,4 +102,126 @@ public class RedisLimiterStorage implements LimiterStorage {
 //            log.warn("Attempted to set expiry for non-existent key: {}", key);
 //        }
     }
+
+    /**
+     * Counts a request and decides whether it is limited in a single round trip.
+     * <p>
+     * The whole check, update, block and expiry runs server-side in the script of the
+     * policy's strategy (e.g. {@code fixed-window.lua}), called through {@code EVALSHA} (falling back to {@code EVAL}
+     * once if the script cache was flushed). The script uses the Redis server clock, so
+     * nodes with skewed clocks share the same windows; on Redis versions older than 3.2,
+     * which cannot write after reading {@code TIME}, the client time {@code now} is used instead.
+     * </p>
+     * <p>
+     * When the client is blocked, the returned decision carries the end of the block.
+     * </p>
+     *
+     * @param key    the key identifying the client stats
+     * @param policy the limits to enforce
+     * @param now    the time of the request
+     * @return the limiting decision
+     */
+    @Override
+    public Decision acquire(String key, LimitPolicy policy, Instant now) {
+        return acquireAll(List.of(key), List.of(policy), now);
+    }
+
+    /**
+     * Counts a request against every policy in a single round trip, like {@link #acquire(String, LimitPolicy, Instant)}.
+     * <p>
+     * The keys are passed to one script call, on a Redis Cluster they must belong to the same hash slot,
+     * like the keys of {@link io.github.d4rckh.limiterx.core.domain.Key#tier(int)}.
+     * </p>
+     *
+     * @param keys     the key of each policy
+     * @param policies the limits to enforce, checked in order
+     * @param now      the time of the request
+     * @return the decision of the policy that limited the request, or {@link Decision#ALLOWED}
+     */
+    @Override
+    public Decision acquireAll(List<String> keys, List<LimitPolicy> policies, Instant now) {
+        Long limited = redisTemplate.execute(
+            LimiterScripts.SCRIPT, ARGS_SERIALIZER, RESULT_SERIALIZER,
+            keys,
+            LimiterScripts.arguments(policies, now).toArray()
+        );
+
+        return LimiterScripts.decision(limited);
+    }
+
+    /**
+     * Reserves up to {@code permits} requests of the current fixed window of {@code key} in a single round trip.
+     * <p>
+     * Reserved requests are counted right away by {@code lease.lua}, so that other nodes see them, and the window
+     * is read from Redis along with them. Like {@link #acquire(String, LimitPolicy, Instant)}, the script uses the
+     * Redis server clock.
+     * </p>
+     *
+     * @param key     the key identifying the client stats
+     * @param policy  the fixed window limits of the key
+     * @param permits the number of requests to reserve
+     * @param now     the time of the request
+     * @return the lease, without permits if the window's requests are used up
+     */
+    @Override
+    public Lease lease(String key, LimitPolicy policy, int permits, Instant now) {
+        List<Long> result = redisTemplate.execute(
+            LimiterScripts.LEASE, ARGS_SERIALIZER, LIST_RESULT_SERIALIZER,
+            List.of(key),
+            LimiterScripts.leaseArguments(policy, permits, now).toArray()
+        );
+
+        return LimiterScripts.lease(result, policy);
+    }
+
+    /**
+     * Gives back unused requests of a lease, as long as its window is still the current one.
+     *
+     * @param key     the key identifying the client stats
+     * @param policy  the fixed window limits of the key
+     * @param lease   the lease the requests were reserved by
+     * @param permits the number of unused requests
+     */
+    @Override
+    public void release(String key, LimitPolicy policy, Lease lease, int permits) {
+        redisTemplate.execute(
+            LimiterScripts.RELEASE, ARGS_SERIALIZER, RESULT_SERIALIZER,
+            List.of(key),
+            LimiterScripts.releaseArguments(lease, permits).toArray()
+        );
+    }
+
+    /**
+     * Checks whether a request would be limited without counting it.
+     * <p>
+     * {@link LimitingStrategy#GCRA} keys hold a bare arrival time in epoch microseconds rather than
+     * encoded {@link ClientStats}, so they are read raw; other strategies use the default stats-based check.
+     * </p>
+     *
+     * @param key    the key identifying the client stats
+     * @param policy the limits to check
+     * @param now    the time of the check
+     * @return {@code true} if a request at {@code now} would be limited
+     */
+    @Override
+    public boolean isLimited(String key, LimitPolicy policy, Instant now) {
+        if (policy.getStrategy() != LimitingStrategy.GCRA) {
+            return LeasableLimiterStorage.super.isLimited(key, policy, now);
+        }
+
+        byte[] raw = redisTemplate.execute(
+            (RedisCallback<byte[]>) connection -> connection.stringCommands().get(ARGS_SERIALIZER.serialize(key))
+        );
+        if (raw == null) {
+            return false;
+        }
+
+        try {
+            long tat = Long.parseLong(ARGS_SERIALIZER.deserialize(raw));
+            return !GcraAlgorithm.INSTANCE.isAllowed(tat, GcraAlgorithm.toMicros(now), policy);
+        } catch (NumberFormatException e) {
+            // Stats left by another strategy, the next acquire starts the key afresh
+            return false;
+        }
+    }
 }
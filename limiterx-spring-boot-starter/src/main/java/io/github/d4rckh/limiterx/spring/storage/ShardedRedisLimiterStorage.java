@@ -0,0 +1,63 @@
+package io.github.d4rckh.limiterx.spring.storage;
+
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.storage.ShardedLimiterStorage;
+import io.github.d4rckh.limiterx.spring.config.RedisTemplateConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ShardedLimiterStorage} over several independent Redis nodes, each counting its share of the keys
+ * with a {@link RedisLimiterStorage}.
+ * <p>
+ * Keys are placed by consistent hashing of their hash tag, see {@link Key#hashTag(String)}: the keys of
+ * a tiered limit go to the same node and are still checked in a single round trip. Each node only sees
+ * its own keys, so the limiting throughput grows with the number of nodes.
+ * </p>
+ * <p>
+ * The storage owns the connection factories it is given, and destroys them on {@link #close()}.
+ * </p>
+ */
+@Slf4j
+public class ShardedRedisLimiterStorage extends ShardedLimiterStorage implements AutoCloseable {
+    private final List<RedisConnectionFactory> connectionFactories;
+
+    /**
+     * @param connectionFactories the connection factory of each node, by a name identifying the node
+     *                            (e.g. its URI), which decides the keys it holds
+     * @param virtualNodes        the number of points of each node on the hash ring
+     */
+    public ShardedRedisLimiterStorage(Map<String, ? extends RedisConnectionFactory> connectionFactories,
+                                      int virtualNodes) {
+        super(storagesOf(connectionFactories), virtualNodes);
+        this.connectionFactories = List.copyOf(connectionFactories.values());
+    }
+
+    @Override
+    public void close() {
+        for (RedisConnectionFactory connectionFactory : connectionFactories) {
+            if (connectionFactory instanceof DisposableBean disposable) {
+                try {
+                    disposable.destroy();
+                } catch (Exception e) {
+                    log.warn("Unable to close Redis shard connection", e);
+                }
+            }
+        }
+    }
+
+    private static Map<String, RedisLimiterStorage> storagesOf(
+        Map<String, ? extends RedisConnectionFactory> connectionFactories
+    ) {
+        Map<String, RedisLimiterStorage> storages = new LinkedHashMap<>();
+        connectionFactories.forEach((name, connectionFactory) ->
+            storages.put(name, new RedisLimiterStorage(RedisTemplateConfig.clientStatsTemplate(connectionFactory)))
+        );
+        return storages;
+    }
+}
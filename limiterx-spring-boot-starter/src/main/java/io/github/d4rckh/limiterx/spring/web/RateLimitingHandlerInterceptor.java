@@ -0,0 +1,61 @@
+package io.github.d4rckh.limiterx.spring.web;
+
+import io.github.d4rckh.limiterx.spring.annotation.RateLimited;
+import io.github.d4rckh.limiterx.spring.aspect.RateLimitedAspect;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Enforces {@link RateLimited} on Spring MVC handler methods as soon as the handler is mapped,
+ * before its arguments are resolved, i.e. before the request body is read, converted and validated.
+ * <p>
+ * A limited request is answered with {@code 429 Too Many Requests} right away, without an exception
+ * going through the exception resolvers, so rejecting a flood of requests costs little more than mapping them.
+ * An allowed request goes on to the handler, where {@link RateLimitedAspect} lets it through without
+ * counting it again.
+ * </p>
+ * <p>
+ * Handlers whose key expression references their arguments are left to the aspect,
+ * as the arguments are not resolved yet.
+ * </p>
+ *
+ * <p>Enabled with:</p>
+ * <pre>
+ * limiterx:
+ *   web:
+ *     early-enforcement: true
+ * </pre>
+ *
+ * @see RateLimitedAspect#limitAhead(java.lang.reflect.Method, Class)
+ */
+public class RateLimitingHandlerInterceptor implements HandlerInterceptor {
+    private final RateLimitedAspect aspect;
+
+    public RateLimitingHandlerInterceptor(RateLimitedAspect aspect) {
+        this.aspect = aspect;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        if (aspect.limitAhead(handlerMethod.getMethod(), handlerMethod.getBeanType())) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        aspect.clearAhead();
+    }
+}
@@ -0,0 +1,26 @@
+-- Takes a permit on a key if fewer than the maximum are held, see RedisConcurrencyLimiterStorage.
+--
+-- KEYS[1]  the key, a sorted set of the permits held scored by the end of their lease in epoch microseconds
+-- ARGV[1]  client time in epoch millis, see prelude.lua
+-- ARGV[2]  the permit id
+-- ARGV[3]  maximum concurrent calls
+-- ARGV[4]  lease in milliseconds
+--
+-- Permits whose lease ended are dropped first, they belong to calls that were never released.
+-- Returns 1 if the permit was taken, 0 otherwise.
+
+local key = KEYS[1]
+redis.call('ZREMRANGEBYSCORE', key, '-inf', nowMicros)
+
+if redis.call('ZCARD', key) >= tonumber(ARGV[3]) then
+    return 0
+end
+
+local lease = tonumber(ARGV[4])
+redis.call('ZADD', key, nowMicros + lease * 1000, ARGV[2])
+-- The key lives as long as its longest lease
+if redis.call('PTTL', key) < lease then
+    redis.call('PEXPIRE', key, lease)
+end
+
+return 1
@@ -0,0 +1,8 @@
+-- Releases a permit taken by concurrency-acquire.lua.
+--
+-- KEYS[1]  the key
+-- ARGV[1]  the permit id
+--
+-- Returns 1 if the permit was still held, 0 if its lease had ended.
+
+return redis.call('ZREM', KEYS[1], ARGV[1])
@@ -0,0 +1,30 @@
+-- Fixed window check, increment, block and expiry for one key.
+-- Mirrors FixedWindowAlgorithm.
+--
+-- Returns 0 when the request is allowed. A limited request returns the end of the client's block
+-- in epoch millis when blockFor is set, 1 otherwise.
+
+local function fixed_window(key, policy)
+    local stats = load_stats(key) or { totalRequests = 0, lastReset = now }
+
+    -- Reset request window if expired
+    if stats.lastReset + policy.windowSeconds < now then
+        stats.lastReset = now
+        stats.totalRequests = 0
+    end
+
+    -- Always increment request count
+    stats.totalRequests = stats.totalRequests + 1
+
+    local limited = 0
+    if is_blocked(stats, policy) then
+        limited = limited_result(stats, policy)
+    elseif stats.totalRequests > policy.maximumRequests then
+        block(stats, policy)
+        limited = limited_result(stats, policy)
+    end
+
+    save_stats(key, stats, policy, stats.lastReset + policy.windowSeconds)
+
+    return limited
+end
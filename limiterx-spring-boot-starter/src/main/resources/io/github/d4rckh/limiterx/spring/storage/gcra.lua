@@ -0,0 +1,38 @@
+-- GCRA check and update for one key.
+-- Mirrors GcraAlgorithm, the key holds only the theoretical arrival time (TAT) in epoch microseconds.
+--
+-- Returns 0 when the request is allowed. A limited request returns the end of the client's block
+-- in epoch millis when blockFor is set, 1 otherwise.
+
+local function gcra(key, policy)
+    local blockFor = policy.blockFor
+    local interval = math.max(1, math.floor(policy.windowSeconds * 1000000 / policy.maximumRequests))
+    local tolerance = (policy.capacity - 1) * interval
+
+    -- A missing or non-numeric value (e.g. stats left by another strategy) is a fresh key
+    local raw = redis.call('GET', key)
+    local tat = raw and tonumber(raw) or nowMicros
+
+    local limited = 0
+    local nextTat = tat
+    if tat - tolerance <= nowMicros then
+        nextTat = math.max(tat, nowMicros) + interval
+    else
+        limited = 1
+        if blockFor then
+            -- Without blocking the TAT never exceeds now + tolerance + interval, beyond that a block is active
+            if tat <= nowMicros + tolerance + interval then
+                nextTat = math.max(tat, nowMicros + blockFor * 1000000 + tolerance)
+            end
+            -- Blocked until requests conform again
+            limited = math.floor((nextTat - tolerance) / 1000)
+        end
+    end
+
+    -- The key lives until its TAT, after that it is equivalent to a fresh one
+    if nextTat ~= tat then
+        redis.call('SET', key, string.format('%.0f', nextTat), 'PX', math.max(1, math.ceil((nextTat - nowMicros) / 1000)))
+    end
+
+    return limited
+end
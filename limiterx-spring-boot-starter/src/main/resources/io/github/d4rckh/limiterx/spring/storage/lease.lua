@@ -0,0 +1,28 @@
+-- Reserves requests of the current fixed window of a key for one node, see LeasingLimiterStorage.
+--
+-- KEYS[1]  the key
+-- ARGV[1]  client time in epoch millis, see prelude.lua
+-- ARGV[2]  maximum requests of the window
+-- ARGV[3]  window size in seconds
+-- ARGV[4]  requests to reserve
+--
+-- Leased requests are counted like acquired ones. Returns the number of reserved requests, 0 once the window
+-- is used up, and the start of the window in epoch microseconds.
+
+local key = KEYS[1]
+local policy = { maximumRequests = tonumber(ARGV[2]), windowSeconds = tonumber(ARGV[3]) }
+local stats = load_stats(key) or { totalRequests = 0, lastReset = now }
+
+-- Reset request window if expired
+if stats.lastReset + policy.windowSeconds < now then
+    stats.lastReset = now
+    stats.totalRequests = 0
+end
+
+local granted = math.max(0, math.min(tonumber(ARGV[4]), policy.maximumRequests - stats.totalRequests))
+if granted > 0 then
+    stats.totalRequests = stats.totalRequests + granted
+    save_stats(key, stats, policy, stats.lastReset + policy.windowSeconds)
+end
+
+return { granted, math.floor(stats.lastReset * 1000000 + 0.5) }
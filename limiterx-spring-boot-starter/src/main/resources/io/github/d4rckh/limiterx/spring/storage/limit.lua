@@ -0,0 +1,35 @@
+-- Counts a request against every policy of a method in a single round trip.
+--
+-- KEYS[i]  the key of the i-th policy
+-- ARGV[1]  client time in epoch millis, see prelude.lua
+-- ARGV[2 + 5 * (i - 1)] to ARGV[6 + 5 * (i - 1)]
+--          the i-th policy: strategy, maximum requests, window size in seconds,
+--          block duration in seconds (empty when blocking is disabled) and burst capacity
+--
+-- Policies are checked in order, a request limited by one of them is not counted by the following ones.
+-- Returns 0 when every policy allows the request, otherwise the result of the policy that limited it:
+-- the end of the client's block in epoch millis when blockFor is set, 1 otherwise.
+
+local strategies = {
+    FIXED_WINDOW = fixed_window,
+    SLIDING_WINDOW = sliding_window,
+    TOKEN_BUCKET = token_bucket,
+    GCRA = gcra
+}
+
+for i, key in ipairs(KEYS) do
+    local offset = 5 * (i - 1)
+    local policy = {
+        maximumRequests = tonumber(ARGV[offset + 3]),
+        windowSeconds = tonumber(ARGV[offset + 4]),
+        blockFor = tonumber(ARGV[offset + 5]),
+        capacity = tonumber(ARGV[offset + 6])
+    }
+
+    local limited = strategies[ARGV[offset + 2]](key, policy)
+    if limited ~= 0 then
+        return limited
+    end
+end
+
+return 0
@@ -0,0 +1,124 @@
+-- Clock, stats (de)serialization and blocking helpers, shared by the strategy scripts.
+-- Stats use the binary layout of ClientStatsRedisSerializer, instants are stored as epoch microseconds.
+-- Stats stored as JSON by earlier versions are still read, and written back in the binary layout.
+-- Policies are tables of maximumRequests, windowSeconds, blockFor (nil when blocking is disabled) and capacity.
+--
+-- ARGV[1]  client time in epoch millis, only used when Redis cannot replicate TIME (< 3.2)
+
+-- now is in epoch seconds, nowMicros in whole epoch microseconds for integer state (GCRA)
+local now, nowMicros
+if redis.replicate_commands and redis.replicate_commands() then
+    local time = redis.call('TIME')
+    nowMicros = tonumber(time[1]) * 1000000 + tonumber(time[2])
+else
+    nowMicros = tonumber(ARGV[1]) * 1000
+end
+now = nowMicros / 1000000
+
+local STATS_VERSION = 1
+local LAST_RESET, BLOCKED_AT, TOKENS, PREVIOUS_REQUESTS = 1, 2, 4, 8
+
+local function has_flag(flags, flag)
+    return flags % (2 * flag) >= flag
+end
+
+local function load_json_stats(raw)
+    local decoded = cjson.decode(raw)
+    local stats = {
+        totalRequests = decoded.totalRequests,
+        lastReset = decoded.lastReset,
+        tokens = decoded.tokens,
+        previousRequests = decoded.previousRequests
+    }
+    if decoded.blockedAt ~= cjson.null then
+        stats.blockedAt = decoded.blockedAt
+    end
+    return stats
+end
+
+local function load_stats(key)
+    local raw = redis.call('GET', key)
+    if not raw then
+        return nil
+    end
+
+    local version = string.byte(raw, 1)
+    if version == 123 then
+        -- '{', stats written as JSON
+        return load_json_stats(raw)
+    elseif version ~= STATS_VERSION then
+        -- Written by a newer format or another strategy, the key starts afresh
+        return nil
+    end
+
+    local flags, totalRequests, pos = struct.unpack('>Bi8', raw, 2)
+    local stats = { totalRequests = totalRequests }
+    local micros
+    if has_flag(flags, LAST_RESET) then
+        micros, pos = struct.unpack('>i8', raw, pos)
+        stats.lastReset = micros / 1000000
+    end
+    if has_flag(flags, BLOCKED_AT) then
+        micros, pos = struct.unpack('>i8', raw, pos)
+        stats.blockedAt = micros / 1000000
+    end
+    if has_flag(flags, TOKENS) then
+        stats.tokens, pos = struct.unpack('>d', raw, pos)
+    end
+    if has_flag(flags, PREVIOUS_REQUESTS) then
+        stats.previousRequests, pos = struct.unpack('>i8', raw, pos)
+    end
+    return stats
+end
+
+-- Unblocks the client once the block duration has expired
+local function is_blocked(stats, policy)
+    if stats.blockedAt and policy.blockFor then
+        if stats.blockedAt + policy.blockFor > now then
+            return true
+        end
+        stats.blockedAt = nil
+    end
+    return false
+end
+
+local function block(stats, policy)
+    if policy.blockFor then
+        stats.blockedAt = now
+    end
+end
+
+-- Result of a limited request: the end of the client's block in epoch millis when blocked, 1 otherwise
+local function limited_result(stats, policy)
+    if stats.blockedAt and policy.blockFor then
+        return math.floor((stats.blockedAt + policy.blockFor) * 1000)
+    end
+    return 1
+end
+
+-- Stores the stats until expiresAt, or until the end of an active block if later
+local function save_stats(key, stats, policy, expiresAt)
+    if stats.blockedAt and policy.blockFor and stats.blockedAt + policy.blockFor > expiresAt then
+        expiresAt = stats.blockedAt + policy.blockFor
+    end
+
+    local flags, format, fields = LAST_RESET, '>BBi8i8', { stats.totalRequests, math.floor(stats.lastReset * 1000000 + 0.5) }
+    if stats.blockedAt then
+        flags = flags + BLOCKED_AT
+        format = format .. 'i8'
+        fields[#fields + 1] = math.floor(stats.blockedAt * 1000000 + 0.5)
+    end
+    if stats.tokens and stats.tokens ~= 0 then
+        flags = flags + TOKENS
+        format = format .. 'd'
+        fields[#fields + 1] = stats.tokens
+    end
+    if stats.previousRequests and stats.previousRequests ~= 0 then
+        flags = flags + PREVIOUS_REQUESTS
+        format = format .. 'i8'
+        fields[#fields + 1] = stats.previousRequests
+    end
+    local encoded = struct.pack(format, STATS_VERSION, flags, unpack(fields))
+
+    redis.call('SET', key, encoded, 'PX', math.max(1, math.ceil((expiresAt - now) * 1000)))
+end
@@ -0,0 +1,24 @@
+-- Gives back requests leased by lease.lua and left unused.
+--
+-- KEYS[1]  the key
+-- ARGV[1]  client time in epoch millis, see prelude.lua
+-- ARGV[2]  start of the leased window in epoch microseconds
+-- ARGV[3]  requests to give back
+--
+-- Nothing is given back once the window has been reset, its requests expired with it.
+
+local key = KEYS[1]
+local stats = load_stats(key)
+if not stats or math.floor(stats.lastReset * 1000000 + 0.5) ~= tonumber(ARGV[2]) then
+    return 0
+end
+
+local ttl = redis.call('PTTL', key)
+if ttl <= 0 then
+    return 0
+end
+
+stats.totalRequests = math.max(0, stats.totalRequests - tonumber(ARGV[3]))
+save_stats(key, stats, {}, now + ttl / 1000)
+
+return 1
@@ -0,0 +1,40 @@
+-- Sliding window counter check, increment, block and expiry for one key.
+-- Mirrors SlidingWindowAlgorithm, only admitted requests are counted.
+--
+-- Returns 0 when the request is allowed. A limited request returns the end of the client's block
+-- in epoch millis when blockFor is set, 1 otherwise.
+
+local function sliding_window(key, policy)
+    local windowSeconds = policy.windowSeconds
+    local stats = load_stats(key) or { totalRequests = 0, previousRequests = 0, lastReset = now }
+    local elapsed = math.max(0, now - stats.lastReset)
+
+    -- Move to the window containing now, windows follow each other back to back
+    local windows = math.floor(elapsed / windowSeconds)
+    if windows > 0 then
+        if windows == 1 then
+            stats.previousRequests = stats.totalRequests
+        else
+            stats.previousRequests = 0
+        end
+        stats.totalRequests = 0
+        stats.lastReset = stats.lastReset + windows * windowSeconds
+        elapsed = now - stats.lastReset
+    end
+
+    local estimated = (stats.previousRequests or 0) * (1 - elapsed / windowSeconds) + stats.totalRequests
+
+    local limited = 0
+    if is_blocked(stats, policy) then
+        limited = limited_result(stats, policy)
+    elseif estimated + 1 > policy.maximumRequests then
+        block(stats, policy)
+        limited = limited_result(stats, policy)
+    else
+        stats.totalRequests = stats.totalRequests + 1
+    end
+
+    save_stats(key, stats, policy, stats.lastReset + 2 * windowSeconds)
+
+    return limited
+end
@@ -0,0 +1,31 @@
+-- Token bucket refill, take and expiry for one key.
+-- Mirrors TokenBucketAlgorithm, tokens are refilled from the elapsed time so no background refill is needed.
+--
+-- Returns 0 when the request is allowed. A limited request returns the end of the client's block
+-- in epoch millis when blockFor is set, 1 otherwise.
+
+local function token_bucket(key, policy)
+    local capacity = policy.capacity
+    local refillRate = policy.maximumRequests / policy.windowSeconds
+
+    local stats = load_stats(key) or { totalRequests = 0, lastReset = now, tokens = capacity }
+
+    local elapsed = math.max(0, now - stats.lastReset)
+    stats.tokens = math.min(capacity, (stats.tokens or 0) + elapsed * refillRate)
+    stats.lastReset = now
+
+    local limited = 0
+    if is_blocked(stats, policy) then
+        limited = limited_result(stats, policy)
+    elseif stats.tokens >= 1 then
+        stats.tokens = stats.tokens - 1
+    else
+        block(stats, policy)
+        limited = limited_result(stats, policy)
+    end
+
+    -- A full bucket is equivalent to a fresh one
+    save_stats(key, stats, policy, now + (capacity - stats.tokens) / refillRate)
+
+    return limited
+end
@@ -0,0 +1,142 @@
+package io.github.d4rckh.limiterx.spring.aspect;
+
+import io.github.d4rckh.limiterx.core.ConcurrencyLimiter;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.storage.InMemoryConcurrencyLimiterStorage;
+import io.github.d4rckh.limiterx.spring.annotation.ConcurrencyLimited;
+import io.github.d4rckh.limiterx.spring.common.KeyExtractor;
+import io.github.d4rckh.limiterx.spring.exception.LimiterXTooManyRequests;
+import io.github.d4rckh.limiterx.spring.extractor.NoopExtractor;
+import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExtractorSpelEvaluator;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConcurrencyLimitedAspectTest {
+
+    private static final Key CLIENT_KEY = Key.fromClass(Controller.class, "byClient:in-flight", "client");
+    private static final Key GLOBAL_KEY = Key.fromClass(Controller.class, "byClient:in-flight:all", "");
+
+    private final InMemoryConcurrencyLimiterStorage storage = new InMemoryConcurrencyLimiterStorage();
+    private final ConcurrencyLimiter limiter = new ConcurrencyLimiter(storage);
+    private final ApplicationContext context = mock(ApplicationContext.class);
+    private final Controller target = new Controller();
+
+    private ConcurrencyLimitedAspect aspect;
+
+    @BeforeEach
+    void setup() {
+        when(context.getBean(NoopExtractor.class)).thenReturn(new NoopExtractor());
+        when(context.getBean(ClientExtractor.class)).thenReturn(new ClientExtractor());
+        aspect = new ConcurrencyLimitedAspect(limiter, context, mock(KeyExtractorSpelEvaluator.class));
+    }
+
+    @Test
+    void limitConcurrency_shouldHoldPermits_whileMethodRuns() throws Throwable {
+        AtomicInteger callsDuringProceed = new AtomicInteger();
+        ProceedingJoinPoint joinPoint = proceedingJoinPoint("byClient");
+        when(joinPoint.proceed()).then(_ -> {
+            callsDuringProceed.set(storage.getCalls(CLIENT_KEY.getKey()) + storage.getCalls(GLOBAL_KEY.getKey()));
+            return "result";
+        });
+
+        assertThat(aspect.limitConcurrency(joinPoint, annotationOf("byClient"))).isEqualTo("result");
+
+        assertThat(callsDuringProceed).hasValue(2);
+        assertThat(storage.getCalls(CLIENT_KEY.getKey())).isZero();
+        assertThat(storage.getCalls(GLOBAL_KEY.getKey())).isZero();
+    }
+
+    @Test
+    void limitConcurrency_shouldThrow_whenClientHasMaximumCallsInProgress() throws Throwable {
+        ProceedingJoinPoint joinPoint = proceedingJoinPoint("byClient");
+        limiter.tryAcquire(CLIENT_KEY, 1, Duration.ofMinutes(1)).orElseThrow();
+
+        assertThatThrownBy(() -> aspect.limitConcurrency(joinPoint, annotationOf("byClient")))
+            .isInstanceOf(LimiterXTooManyRequests.class);
+
+        verify(joinPoint, never()).proceed();
+        assertThat(storage.getCalls(GLOBAL_KEY.getKey())).isZero();
+    }
+
+    @Test
+    void limitConcurrency_shouldThrow_andReleaseClientPermit_whenGlobalLimitReached() throws Throwable {
+        ProceedingJoinPoint joinPoint = proceedingJoinPoint("byClient");
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(GLOBAL_KEY, 3, Duration.ofMinutes(1)).orElseThrow();
+        }
+
+        assertThatThrownBy(() -> aspect.limitConcurrency(joinPoint, annotationOf("byClient")))
+            .isInstanceOf(LimiterXTooManyRequests.class);
+
+        verify(joinPoint, never()).proceed();
+        assertThat(storage.getCalls(CLIENT_KEY.getKey())).isZero();
+    }
+
+    @Test
+    void limitConcurrency_shouldReleasePermits_whenMethodThrows() throws Throwable {
+        ProceedingJoinPoint joinPoint = proceedingJoinPoint("byClient");
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("Failed"));
+
+        assertThatThrownBy(() -> aspect.limitConcurrency(joinPoint, annotationOf("byClient")))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(storage.getCalls(CLIENT_KEY.getKey())).isZero();
+        assertThat(storage.getCalls(GLOBAL_KEY.getKey())).isZero();
+    }
+
+    @Test
+    void limitConcurrency_shouldRejectMethod_returningBeforeItsWorkIsDone() throws Throwable {
+        assertThatThrownBy(() -> aspect.limitConcurrency(proceedingJoinPoint("mono"), annotationOf("mono")))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private ProceedingJoinPoint proceedingJoinPoint(String methodName) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Controller.class.getMethod(methodName));
+
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(target);
+        when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        return joinPoint;
+    }
+
+    private static ConcurrencyLimited annotationOf(String methodName) throws NoSuchMethodException {
+        return Controller.class.getMethod(methodName).getAnnotation(ConcurrencyLimited.class);
+    }
+
+    public static class Controller {
+
+        @ConcurrencyLimited(key = ClientExtractor.class, maximumConcurrentCalls = 1, globalMaximumConcurrentCalls = 3)
+        public String byClient() {
+            return "result";
+        }
+
+        @ConcurrencyLimited(maximumConcurrentCalls = 1)
+        public Mono<String> mono() {
+            return Mono.just("Hello!");
+        }
+    }
+
+    public static class ClientExtractor implements KeyExtractor {
+
+        @Override
+        public String extract() {
+            return "client";
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package io.github.d4rckh.limiterx.spring.aspect;
+
+import io.github.d4rckh.limiterx.core.Limiter;
+import io.github.d4rckh.limiterx.core.domain.AdaptiveStrategy;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import io.github.d4rckh.limiterx.spring.annotation.Adaptive;
+import io.github.d4rckh.limiterx.spring.annotation.RateLimited;
+import io.github.d4rckh.limiterx.spring.annotation.Tier;
+import io.github.d4rckh.limiterx.spring.common.KeyExtractor;
+import io.github.d4rckh.limiterx.spring.exception.LimiterXMissingKey;
+import io.github.d4rckh.limiterx.spring.exception.LimiterXTooManyRequests;
+import io.github.d4rckh.limiterx.spring.extractor.NoopExtractor;
+import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExpression;
+import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExtractorSpelEvaluator;
+import io.github.d4rckh.limiterx.spring.metrics.MicrometerLimiterMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.github.d4rckh.limiterx.core.AsyncLimiter;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class RateLimitedAspectTest {
+
+    private final Limiter limiter = mock(Limiter.class);
+    private final ApplicationContext context = mock(ApplicationContext.class);
+    private final KeyExtractorSpelEvaluator evaluator = mock(KeyExtractorSpelEvaluator.class);
+    private final Controller target = new Controller();
+
+    private RateLimitedAspect aspect;
+
+    @BeforeEach
+    void setup() {
+        when(limiter.acquire(any(Key.class), any(LimitPolicy.class))).thenReturn(Decision.ALLOWED);
+        when(limiter.acquire(any(Key.class), anyList(), any(int[].class))).thenReturn(Decision.ALLOWED);
+        when(limiter.supports(any(LimitingStrategy.class))).thenReturn(true);
+        when(context.getBean(NoopExtractor.class)).thenReturn(new NoopExtractor());
+        when(context.getBean(ClientExtractor.class)).thenReturn(new ClientExtractor());
+        aspect = new RateLimitedAspect(limiter, context, evaluator);
+    }
+
+    @Test
+    void rateLimitFunction_shouldLimitWithKeyOfTargetMethodAndClient() throws Exception {
+        JoinPoint joinPoint = joinPoint("byClient");
+
+        aspect.rateLimitFunction(joinPoint, annotationOf("byClient"));
+
+        verify(limiter).acquire(
+            Key.fromClass(Controller.class, "byClient", "client"),
+            LimitPolicy.of(2, 10, 5)
+        );
+    }
+
+    @Test
+    void rateLimitFunction_shouldResolveExtractorsOnce_whenCalledRepeatedly() throws Exception {
+        JoinPoint joinPoint = joinPoint("byClient");
+        RateLimited annotation = annotationOf("byClient");
+
+        for (int i = 0; i < 3; i++) {
+            aspect.rateLimitFunction(joinPoint, annotation);
+        }
+
+        verify(context, times(1)).getBean(ClientExtractor.class);
+        verify(limiter, times(3)).acquire(any(Key.class), any(LimitPolicy.class));
+    }
+
+    @Test
+    void rateLimitFunction_shouldThrow_whenLimited() throws Exception {
+        when(limiter.acquire(any(Key.class), any(LimitPolicy.class))).thenReturn(Decision.LIMITED);
+
+        assertThatThrownBy(() -> aspect.rateLimitFunction(joinPoint("byClient"), annotationOf("byClient")))
+            .isInstanceOf(LimiterXTooManyRequests.class);
+    }
+
+    @Test
+    void rateLimitFunction_shouldUseSharedKey_whenMethodHasNoKeySource() throws Exception {
+        aspect.rateLimitFunction(joinPoint("shared"), annotationOf("shared"));
+
+        verify(limiter).acquire(Key.fromClass(Controller.class, "shared", ""), LimitPolicy.of(1, 1, null));
+    }
+
+    @Test
+    void rateLimitFunction_shouldForbid_whenKeyExpressionYieldsNoKey() throws Exception {
+        KeyExpression expression = _ -> null;
+        when(evaluator.compile("#missing", Controller.class.getMethod("byExpression"))).thenReturn(expression);
+
+        assertThatThrownBy(() -> aspect.rateLimitFunction(joinPoint("byExpression"), annotationOf("byExpression")))
+            .isInstanceOf(LimiterXMissingKey.class);
+    }
+
+    @Test
+    void rateLimitFunction_shouldLimitWithKeyOfArgument_whenKeyExpressionReferencesArgument() throws Exception {
+        RateLimitedAspect argumentAspect = new RateLimitedAspect(limiter, context, new KeyExtractorSpelEvaluator(context));
+        RateLimited annotation = annotationOf("byTenant", String.class);
+
+        argumentAspect.rateLimitFunction(joinPoint("byTenant", new Class<?>[]{String.class}, "acme"), annotation);
+        argumentAspect.rateLimitFunction(joinPoint("byTenant", new Class<?>[]{String.class}, "globex"), annotation);
+
+        verify(limiter).acquire(Key.fromClass(Controller.class, "byTenant", "acme"), LimitPolicy.of(1, 1, null));
+        verify(limiter).acquire(Key.fromClass(Controller.class, "byTenant", "globex"), LimitPolicy.of(1, 1, null));
+    }
+
+    @Test
+    void rateLimitFunction_shouldCheckTiersFromShortestWindow() throws Exception {
+        aspect.rateLimitFunction(joinPoint("tiered"), annotationOf("tiered"));
+
+        verify(limiter).acquire(
+            Key.fromClass(Controller.class, "tiered", "client"),
+            List.of(LimitPolicy.of(10, 1, null), LimitPolicy.of(100, 60, null), LimitPolicy.of(1000, 3600, 600)),
+            // Each policy keeps the key of its position in the annotation
+            new int[]{2, 0, 1}
+        );
+    }
+
+    @Test
+    void rateLimitFunction_shouldThrow_whenAnyTierIsLimited() throws Exception {
+        when(limiter.acquire(any(Key.class), anyList(), any(int[].class))).thenReturn(Decision.LIMITED);
+
+        assertThatThrownBy(() -> aspect.rateLimitFunction(joinPoint("tiered"), annotationOf("tiered")))
+            .isInstanceOf(LimiterXTooManyRequests.class);
+    }
+
+    @Test
+    void rateLimitPublisher_shouldCheckOnSubscription_withAsyncLimiter() throws Throwable {
+        AsyncLimiter asyncLimiter = mock(AsyncLimiter.class);
+        when(asyncLimiter.acquire(any(Key.class), any(LimitPolicy.class)))
+            .thenReturn(CompletableFuture.completedFuture(Decision.ALLOWED));
+        RateLimitedAspect reactiveAspect = new RateLimitedAspect(limiter, asyncLimiter, context, evaluator);
+        AtomicInteger subscriptions = new AtomicInteger();
+        ProceedingJoinPoint joinPoint = proceedingJoinPoint("mono", Mono.fromSupplier(() -> {
+            subscriptions.incrementAndGet();
+            return "Hello!";
+        }));
+
+        Mono<?> result = (Mono<?>) reactiveAspect.rateLimitPublisher(joinPoint, annotationOf("mono"));
+
+        verifyNoInteractions(asyncLimiter);
+        assertThat(subscriptions).hasValue(0);
+        assertThat(result.block()).isEqualTo("Hello!");
+        assertThat(subscriptions).hasValue(1);
+        verify(asyncLimiter).acquire(Key.fromClass(Controller.class, "mono", ""), LimitPolicy.of(1, 1, null));
+        verify(limiter, never()).acquire(any(Key.class), any(LimitPolicy.class));
+        verify(limiter, never()).acquire(any(Key.class), anyList(), any(int[].class));
+    }
+
+    @Test
+    void rateLimitPublisher_shouldFailWithoutSubscribing_whenLimited() throws Throwable {
+        when(limiter.acquire(any(Key.class), any(LimitPolicy.class))).thenReturn(Decision.LIMITED);
+        AtomicInteger subscriptions = new AtomicInteger();
+        ProceedingJoinPoint joinPoint = proceedingJoinPoint("flux", Flux.just("a", "b")
+            .doOnSubscribe(_ -> subscriptions.incrementAndGet()));
+
+        Flux<?> result = (Flux<?>) aspect.rateLimitPublisher(joinPoint, annotationOf("flux"));
+
+        assertThatThrownBy(result::blockLast).isInstanceOf(LimiterXTooManyRequests.class);
+        assertThat(subscriptions).hasValue(0);
+    }
+
+    @Test
+    void rateLimitPublisher_shouldCheckEverySubscription() throws Throwable {
+        ProceedingJoinPoint joinPoint = proceedingJoinPoint("flux", Flux.just("a", "b"));
+
+        Flux<?> result = (Flux<?>) aspect.rateLimitPublisher(joinPoint, annotationOf("flux"));
+
+        assertThat(result.collectList().block()).hasSize(2);
+        assertThat(result.collectList().block()).hasSize(2);
+        verify(limiter, times(2)).acquire(any(Key.class), any(LimitPolicy.class));
+    }
+
+    @Test
+    void rateLimitFunction_shouldRecordDecisions_whenMetricsAreConfigured() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RateLimitedAspect meteredAspect = new RateLimitedAspect(
+            limiter, null, context, evaluator, new MicrometerLimiterMetrics(registry)
+        );
+        when(limiter.acquire(any(Key.class), any(LimitPolicy.class)))
+            .thenReturn(Decision.ALLOWED, Decision.LIMITED, Decision.blockedUntil(Instant.now()));
+
+        meteredAspect.rateLimitFunction(joinPoint("byClient"), annotationOf("byClient"));
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> meteredAspect.rateLimitFunction(joinPoint("byClient"), annotationOf("byClient")))
+                .isInstanceOf(LimiterXTooManyRequests.class);
+        }
+
+        for (String outcome : List.of("allowed", "denied", "blocked")) {
+            assertThat(registry.get("limiterx.requests")
+                .tags("method", "Controller.byClient", "outcome", outcome)
+                .counter().count()).isEqualTo(1);
+        }
+        assertThat(registry.get("limiterx.aspect.overhead").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void adaptLimit_shouldLowerPoliciesOfLaterCalls_whenMethodFails() throws Throwable {
+        ProceedingJoinPoint joinPoint = proceedingJoinPoint("adaptive", null);
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("Failed"));
+        RateLimited annotation = annotationOf("adaptive");
+        Adaptive adaptive = Controller.class.getMethod("adaptive").getAnnotation(Adaptive.class);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> aspect.adaptLimit(joinPoint, annotation, adaptive))
+                .isInstanceOf(IllegalStateException.class);
+        }
+        aspect.rateLimitFunction(joinPoint("adaptive"), annotation);
+
+        verify(limiter).acquire(
+            Key.fromClass(Controller.class, "adaptive", ""),
+            List.of(LimitPolicy.of(81, 1, null), LimitPolicy.of(810, 60, null)),
+            new int[]{0, 1}
+        );
+    }
+
+    @Test
+    void adaptLimit_shouldNotSample_rejectedCalls() throws Throwable {
+        ProceedingJoinPoint joinPoint = proceedingJoinPoint("adaptive", null);
+        when(joinPoint.proceed()).thenThrow(new LimiterXTooManyRequests("Too many requests"));
+        RateLimited annotation = annotationOf("adaptive");
+        Adaptive adaptive = Controller.class.getMethod("adaptive").getAnnotation(Adaptive.class);
+
+        assertThatThrownBy(() -> aspect.adaptLimit(joinPoint, annotation, adaptive))
+            .isInstanceOf(LimiterXTooManyRequests.class);
+        aspect.rateLimitFunction(joinPoint("adaptive"), annotation);
+
+        verify(limiter).acquire(
+            Key.fromClass(Controller.class, "adaptive", ""),
+            List.of(LimitPolicy.of(100, 1, null), LimitPolicy.of(1000, 60, null)),
+            new int[]{0, 1}
+        );
+    }
+
+    @Test
+    void rateLimitFunction_shouldRejectMethod_whenStorageDoesNotSupportItsStrategy() throws Exception {
+        when(limiter.supports(LimitingStrategy.TOKEN_BUCKET)).thenReturn(false);
+
+        assertThatThrownBy(() -> aspect.rateLimitFunction(joinPoint("tokenBucket"), annotationOf("tokenBucket")))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("TOKEN_BUCKET");
+        verify(limiter, never()).acquire(any(Key.class), any(LimitPolicy.class));
+    }
+
+    private ProceedingJoinPoint proceedingJoinPoint(String methodName, Object result) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Controller.class.getMethod(methodName));
+
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(target);
+        when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+
+    private JoinPoint joinPoint(String methodName) throws NoSuchMethodException {
+        return joinPoint(methodName, new Class<?>[0]);
+    }
+
+    private JoinPoint joinPoint(String methodName, Class<?>[] parameterTypes, Object... arguments) throws NoSuchMethodException {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Controller.class.getMethod(methodName, parameterTypes));
+        when(signature.getName()).thenReturn(methodName);
+
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(target);
+        when(joinPoint.getArgs()).thenReturn(arguments);
+        return joinPoint;
+    }
+
+    private static RateLimited annotationOf(String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
+        Method method = Controller.class.getMethod(methodName, parameterTypes);
+        return method.getAnnotation(RateLimited.class);
+    }
+
+    public static class Controller {
+
+        @RateLimited(key = ClientExtractor.class, maximumRequests = 2, windowSize = 10, blockFor = 5)
+        public void byClient() {
+        }
+
+        @RateLimited(maximumRequests = 1, windowSize = 1)
+        public void shared() {
+        }
+
+        @RateLimited(keyExpression = "#missing", maximumRequests = 1, windowSize = 1)
+        public void byExpression() {
+        }
+
+        @RateLimited(keyExpression = "#tenantId", maximumRequests = 1, windowSize = 1)
+        public void byTenant(String tenantId) {
+        }
+
+        @RateLimited(key = ClientExtractor.class, maximumRequests = 100, windowSize = 60, tiers = {
+            @Tier(maximumRequests = 1000, windowSize = 3600, blockFor = 600),
+            @Tier(maximumRequests = 10, windowSize = 1)
+        })
+        public void tiered() {
+        }
+
+        @RateLimited(maximumRequests = 100, windowSize = 1, tiers = @Tier(maximumRequests = 1000, windowSize = 60))
+        @Adaptive(strategy = AdaptiveStrategy.AIMD, minimumRequests = 10)
+        public void adaptive() {
+        }
+
+        @RateLimited(maximumRequests = 1, windowSize = 1, strategy = LimitingStrategy.TOKEN_BUCKET)
+        public void tokenBucket() {
+        }
+
+        @RateLimited(maximumRequests = 1, windowSize = 1)
+        public Mono<String> mono() {
+            return Mono.just("Hello!");
+        }
+
+        @RateLimited(maximumRequests = 1, windowSize = 1)
+        public Flux<String> flux() {
+            return Flux.just("a", "b");
+        }
+    }
+
+    public static class ClientExtractor implements KeyExtractor {
+
+        @Override
+        public String extract() {
+            return "client";
+        }
+    }
+}
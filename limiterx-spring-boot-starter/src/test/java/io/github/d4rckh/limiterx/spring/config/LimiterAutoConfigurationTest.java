@@ -0,0 +1,132 @@
+package io.github.d4rckh.limiterx.spring.config;
+
+import io.github.d4rckh.limiterx.core.AsyncLimiter;
+import io.github.d4rckh.limiterx.core.Limiter;
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.storage.InMemoryLimiterStorage;
+import io.github.d4rckh.limiterx.core.storage.InMemorySnapshotter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class LimiterAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withPropertyValues("limiterx.storage=memory");
+
+    @Test
+    void asyncLimiter_shouldShareInMemoryStorage() {
+        contextRunner
+            .withUserConfiguration(LimiterAutoConfiguration.class)
+            .run(context -> {
+                assertThat(context).hasSingleBean(InMemoryLimiterStorage.class);
+                assertThat(context).hasSingleBean(AsyncLimiter.class);
+            });
+    }
+
+    @Test
+    void asyncLimiter_shouldBackOff_whenApplicationDefinesItsOwnLimiter() {
+        contextRunner
+            .withUserConfiguration(CustomLimiterConfiguration.class, LimiterAutoConfiguration.class)
+            .run(context -> {
+                assertThat(context).hasNotFailed();
+                assertThat(context).getBean(Limiter.class).isSameAs(CustomLimiterConfiguration.LIMITER);
+                assertThat(context).doesNotHaveBean(AsyncLimiter.class);
+            });
+    }
+
+    @Test
+    void limiter_shouldStartWithKeysOfLastSnapshot(@TempDir Path directory) throws IOException {
+        Path snapshot = directory.resolve("limiter.snapshot");
+        LimitPolicy policy = LimitPolicy.of(1, 60, null);
+        try (InMemoryLimiterStorage storage = new InMemoryLimiterStorage()) {
+            storage.acquire(Key.of("client").getKey(), policy, Instant.now());
+            storage.writeSnapshot(snapshot);
+        }
+
+        contextRunner
+            // Converts the snapshot interval, as a Spring Boot application does
+            .withInitializer(context -> context.getBeanFactory()
+                .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withPropertyValues("limiterx.memory.snapshot.path=" + snapshot)
+            .withUserConfiguration(LimiterAutoConfiguration.class)
+            .run(context -> {
+                assertThat(context).hasSingleBean(InMemorySnapshotter.class);
+                assertThat(context.getBean(Limiter.class).performLimiting(Key.of("client"), policy)).isTrue();
+            });
+    }
+
+    @Test
+    void asyncLimiter_shouldFallBack_whenRedisStalls() {
+        new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withPropertyValues(
+                "limiterx.redis.circuit-breaker.enabled=true", "limiterx.redis.circuit-breaker.timeout=50ms"
+            )
+            .withUserConfiguration(StalledRedisConfiguration.class, LimiterAutoConfiguration.class)
+            .run(context -> {
+                try {
+                    AsyncLimiter limiter = context.getBean(AsyncLimiter.class);
+                    LimitPolicy policy = LimitPolicy.of(1, 60, null);
+
+                    // Counted by the local fallback rather than waiting for Redis
+                    assertThat(limiter.acquire(Key.of("client"), policy).toCompletableFuture().get(5, TimeUnit.SECONDS))
+                        .isEqualTo(Decision.ALLOWED);
+                    assertThat(limiter.acquire(Key.of("client"), policy).toCompletableFuture().get(5, TimeUnit.SECONDS))
+                        .isEqualTo(Decision.LIMITED);
+                } finally {
+                    StalledRedisConfiguration.REDIS.countDown();
+                }
+            });
+    }
+
+    @Configuration
+    static class StalledRedisConfiguration {
+        static final CountDownLatch REDIS = new CountDownLatch(1);
+
+        @Bean
+        @SuppressWarnings("unchecked")
+        RedisTemplate<String, ClientStats> redisTemplate() {
+            return mock(RedisTemplate.class, invocation -> {
+                // Scripts never answer, the template is otherwise a plain mock
+                if (invocation.getMethod().getName().equals("execute")) {
+                    REDIS.await();
+                }
+                return null;
+            });
+        }
+
+        @Bean
+        ReactiveRedisConnectionFactory reactiveRedisConnectionFactory() {
+            return mock(ReactiveRedisConnectionFactory.class);
+        }
+    }
+
+    @Configuration
+    static class CustomLimiterConfiguration {
+        static final Limiter LIMITER = new Limiter(new InMemoryLimiterStorage());
+
+        @Bean
+        Limiter limiter() {
+            return LIMITER;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.d4rckh.limiterx.spring.extractor.evaluator;
+
+import io.github.d4rckh.limiterx.spring.common.KeyExtractor;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class KeyExtractorSpelEvaluatorTest {
+
+    private final KeyExtractorSpelEvaluator evaluator = evaluatorWith(new ClientExtractor(), new RegionExtractor());
+
+    @Test
+    void evaluate_shouldCallRegisteredExtractors() {
+        assertThat(evaluator.evaluate("#ClientExtractor.extract()")).isEqualTo("client");
+        assertThat(evaluator.evaluate("{#ClientExtractor.extract(), #RegionExtractor.extract()}")).isEqualTo("client,eu");
+        assertThat(evaluator.evaluate(" ")).isEmpty();
+    }
+
+    @Test
+    void parse_shouldReturnCachedExpression() {
+        assertThat(evaluator.parse("#ClientExtractor.extract()")).isSameAs(evaluator.parse("#ClientExtractor.extract()"));
+    }
+
+    @Test
+    void evaluate_shouldCompileExpression_afterRepeatedEvaluations() {
+        SpelExpression expression = (SpelExpression) evaluator.parse("#ClientExtractor.extract()");
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(evaluator.evaluate(expression)).isEqualTo("client");
+        }
+
+        // Variables and method calls of the read-only context are compilable to bytecode
+        assertThat(expression.compileExpression()).isTrue();
+    }
+
+    @Test
+    void evaluate_shouldRejectVariableAssignment() {
+        assertThatThrownBy(() -> evaluator.evaluate("#ClientExtractor = 'other'"))
+            .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(evaluator.evaluate("#ClientExtractor.extract()")).isEqualTo("client");
+    }
+
+    @Test
+    void evaluate_shouldBeSafe_whenCalledConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> tasks = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                tasks.add(() -> evaluator.evaluate("#RegionExtractor.extract() + '-' + #ClientExtractor.extract()"));
+            }
+
+            for (Future<String> result : executor.invokeAll(tasks)) {
+                assertThat(result.get()).isEqualTo("eu-client");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void compile_shouldBindArguments_byNameAndPosition() throws Exception {
+        Method method = Api.class.getMethod("call", String.class, Request.class);
+
+        assertThat(evaluator.compile("#tenantId", method).evaluate(new Object[]{"acme", null})).isEqualTo("acme");
+        assertThat(evaluator.compile("#p0", method).evaluate(new Object[]{"acme", null})).isEqualTo("acme");
+        assertThat(evaluator.compile("#a1.apiKey", method).evaluate(new Object[]{"acme", new Request("key", null)}))
+            .isEqualTo("key");
+    }
+
+    @Test
+    void compile_shouldCompilePropertyPaths_toAccessors() throws Exception {
+        Method method = Api.class.getMethod("call", String.class, Request.class);
+        Object[] arguments = {"acme", new Request("key", new Account(42, true))};
+
+        KeyExpression expression = evaluator.compile("#request.account.id", method);
+
+        assertThat(expression).isInstanceOf(AccessorKeyExpression.class);
+        assertThat(expression.evaluate(arguments)).isEqualTo("42");
+        assertThat(evaluator.compile("#request.account.premium", method).evaluate(arguments)).isEqualTo("true");
+        assertThat(evaluator.compile(" #request?.apiKey ", method).evaluate(arguments)).isEqualTo("key");
+    }
+
+    @Test
+    void compile_shouldMatchSpel_whenNavigatingThroughNull() throws Exception {
+        Method method = Api.class.getMethod("call", String.class, Request.class);
+        Object[] arguments = {"acme", new Request("key", null)};
+
+        assertThat(evaluator.compile("#request.account?.id", method).evaluate(arguments)).isNull();
+        assertThatThrownBy(() -> evaluator.compile("#request.account.id", method).evaluate(arguments))
+            .isInstanceOf(SpelEvaluationException.class);
+    }
+
+    @Test
+    void compile_shouldEvaluateWithSpel_whenExpressionIsNotAPropertyPath() throws Exception {
+        Method method = Api.class.getMethod("call", String.class, Request.class);
+
+        KeyExpression expression = evaluator.compile("#tenantId + ':' + #ClientExtractor.extract()", method);
+
+        assertThat(expression).isInstanceOf(SpelKeyExpression.class);
+        assertThat(expression.evaluate(new Object[]{"acme", null})).isEqualTo("acme:client");
+        assertThat(expression.evaluate(new Object[]{"globex", null})).isEqualTo("globex:client");
+        assertThat(evaluator.compile("#ClientExtractor.extract()", method).evaluate(new Object[2])).isEqualTo("client");
+    }
+
+    @Test
+    void validate_shouldAcceptNullArguments_butRejectInvalidExtractorCalls() throws Exception {
+        Method method = Api.class.getMethod("call", String.class, Request.class);
+
+        evaluator.validate("#request.account.id", method);
+        evaluator.validate("#tenantId.toUpperCase()", method);
+
+        assertThatThrownBy(() -> evaluator.validate("#ClientExtractor.missing()", method))
+            .isInstanceOf(SpelEvaluationException.class);
+    }
+
+    private static KeyExtractorSpelEvaluator evaluatorWith(KeyExtractor... extractors) {
+        Map<String, KeyExtractor> beans = new HashMap<>();
+        for (KeyExtractor extractor : extractors) {
+            beans.put(extractor.getClass().getSimpleName(), extractor);
+        }
+
+        ApplicationContext context = mock(ApplicationContext.class);
+        when(context.getBeansOfType(KeyExtractor.class)).thenReturn(beans);
+        return new KeyExtractorSpelEvaluator(context);
+    }
+
+    public static class ClientExtractor implements KeyExtractor {
+
+        @Override
+        public String extract() {
+            return "client";
+        }
+    }
+
+    public static class RegionExtractor implements KeyExtractor {
+
+        @Override
+        public String extract() {
+            return "eu";
+        }
+    }
+
+    public static class Api {
+
+        public void call(String tenantId, Request request) {
+        }
+    }
+
+    public record Request(String apiKey, Account account) {
+    }
+
+    public static class Account {
+        private final long id;
+        private final boolean premium;
+
+        public Account(long id, boolean premium) {
+            this.id = id;
+            this.premium = premium;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public boolean isPremium() {
+            return premium;
+        }
+    }
+}
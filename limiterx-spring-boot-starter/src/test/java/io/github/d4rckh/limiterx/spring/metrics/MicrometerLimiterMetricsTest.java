@@ -0,0 +1,75 @@
+package io.github.d4rckh.limiterx.spring.metrics;
+
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import io.github.d4rckh.limiterx.core.storage.InMemoryLimiterStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MicrometerLimiterMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerLimiterMetrics metrics = new MicrometerLimiterMetrics(registry);
+    private final InMemoryLimiterStorage memory = new InMemoryLimiterStorage();
+
+    @AfterEach
+    void closeStorage() {
+        memory.close();
+    }
+
+    @Test
+    void forMethod_shouldRegisterMetersUpFront() throws NoSuchMethodException {
+        metrics.forMethod(Controller.class, Controller.class.getMethod("tiered"), List.of(
+            LimitPolicy.of(10, 1, null), LimitPolicy.of(LimitingStrategy.TOKEN_BUCKET, 100, 60, null)
+        ));
+
+        assertThat(registry.find("limiterx.requests").counters()).hasSize(3);
+        assertThat(registry.get("limiterx.requests").tag("outcome", "allowed").counter().getId().getTag("policy"))
+            .isEqualTo("fixed_window:10/1s,token_bucket:100/60s");
+        assertThat(registry.get("limiterx.aspect.overhead").tag("method", "Controller.tiered").timer()).isNotNull();
+    }
+
+    @Test
+    void instrument_shouldTimeStorageOperations() {
+        LimiterStorage storage = metrics.instrument(memory, "memory");
+        LimitPolicy policy = LimitPolicy.of(10, 60, null);
+
+        storage.acquire("key", policy, Instant.now());
+        storage.acquire("key", policy, Instant.now());
+        storage.isLimited("key", policy, Instant.now());
+
+        assertThat(timerCount("acquire")).isEqualTo(2);
+        assertThat(timerCount("isLimited")).isEqualTo(1);
+        assertThat(timerCount("findByKey")).isZero();
+    }
+
+    @Test
+    void instrument_shouldGaugeKeysOfLocalStorage() {
+        LimiterStorage storage = metrics.instrument(memory, "memory");
+
+        storage.acquire("first", LimitPolicy.of(10, 60, null), Instant.now());
+        storage.acquire("second", LimitPolicy.of(10, 60, null), Instant.now());
+
+        assertThat(registry.get("limiterx.storage.keys").tag("backend", "memory").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("limiterx.storage.sweeps").tag("backend", "memory").timer()).isNotNull();
+    }
+
+    private long timerCount(String operation) {
+        return registry.get("limiterx.storage.operations")
+            .tags("backend", "memory", "operation", operation)
+            .timer().count();
+    }
+
+    public static class Controller {
+
+        public void tiered() {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.d4rckh.limiterx.spring.storage;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClientStatsRedisSerializerTest {
+
+    private final ClientStatsRedisSerializer serializer = new ClientStatsRedisSerializer();
+
+    @Test
+    void serialize_shouldRoundTripAllFields() {
+        ClientStats stats = new ClientStats(42, Instant.parse("2025-01-01T00:00:10.123456Z"), Instant.parse("2025-01-01T00:00:00.5Z"));
+        stats.setTokens(2.5);
+        stats.setPreviousRequests(7);
+
+        assertThat(serializer.deserialize(serializer.serialize(stats))).isEqualTo(stats);
+    }
+
+    @Test
+    void serialize_shouldOmitUnsetFields() {
+        byte[] bytes = serializer.serialize(new ClientStats(3, null, Instant.now()));
+
+        assertThat(bytes).hasSize(18);
+        assertThat(bytes[0]).isEqualTo(ClientStatsRedisSerializer.VERSION);
+        assertThat(serializer.deserialize(bytes).getBlockedAt()).isNull();
+    }
+
+    @Test
+    void serialize_shouldTruncateInstantsToMicros() {
+        ClientStats stats = new ClientStats(1, null, Instant.parse("2025-01-01T00:00:00.123456789Z"));
+
+        assertThat(serializer.deserialize(serializer.serialize(stats)).getLastReset())
+            .isEqualTo(Instant.parse("2025-01-01T00:00:00.123456Z"));
+    }
+
+    @Test
+    void deserialize_shouldReadJson_whenStoredBeforeBinaryFormat() {
+        byte[] json = "{\"totalRequests\":5,\"lastReset\":1735689600.250000,\"blockedAt\":null,\"tokens\":1.5}"
+            .getBytes(StandardCharsets.UTF_8);
+
+        ClientStats stats = serializer.deserialize(json);
+
+        assertThat(stats.getTotalRequests()).isEqualTo(5);
+        assertThat(stats.getLastReset()).isEqualTo(Instant.parse("2025-01-01T00:00:00.25Z"));
+        assertThat(stats.getBlockedAt()).isNull();
+        assertThat(stats.getTokens()).isEqualTo(1.5);
+    }
+
+    @Test
+    void deserialize_shouldFail_whenVersionIsUnknown() {
+        assertThatThrownBy(() -> serializer.deserialize(new byte[]{9, 0}))
+            .isInstanceOf(SerializationException.class)
+            .hasMessageContaining("version 9");
+    }
+
+    @Test
+    void deserialize_shouldFail_whenTruncated() {
+        assertThatThrownBy(() -> serializer.deserialize(new byte[]{ClientStatsRedisSerializer.VERSION, 1, 0}))
+            .isInstanceOf(SerializationException.class);
+    }
+}
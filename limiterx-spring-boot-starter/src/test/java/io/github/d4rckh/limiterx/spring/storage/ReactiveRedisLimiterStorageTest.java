@@ -0,0 +1,125 @@
+package io.github.d4rckh.limiterx.spring.storage;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import io.github.d4rckh.limiterx.spring.config.RedisTemplateConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactiveRedisLimiterStorageTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveRedisTemplate<String, ClientStats> redisTemplate;
+
+    private ReactiveRedisLimiterStorage storage;
+    private RedisLimiterStorage blockingStorage;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redisTemplate = RedisTemplateConfig.reactiveClientStatsTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        connectionFactory.getConnection().serverCommands().flushAll();
+        storage = new ReactiveRedisLimiterStorage(redisTemplate);
+        blockingStorage = new RedisLimiterStorage(RedisTemplateConfig.clientStatsTemplate(connectionFactory));
+    }
+
+    @Test
+    void acquire_shouldLimit_whenMaximumRequestsExceeded() {
+        LimitPolicy policy = LimitPolicy.of(2, 10, null);
+
+        assertThat(storage.acquire("key", policy, Instant.now()).toCompletableFuture().join().isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).toCompletableFuture().join().isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).toCompletableFuture().join().isLimited()).isTrue();
+    }
+
+    @Test
+    void acquire_shouldShareKeysWithBlockingStorage() {
+        LimitPolicy policy = LimitPolicy.of(1, 10, 60);
+        Instant now = Instant.now();
+
+        assertThat(blockingStorage.acquire("key", policy, now).isLimited()).isFalse();
+        Decision decision = storage.acquire("key", policy, now).toCompletableFuture().join();
+
+        assertThat(decision.isLimited()).isTrue();
+        assertThat(decision.getBlockedUntil()).isNotNull();
+        assertThat(blockingStorage.findByKey("key")).isPresent();
+    }
+
+    @Test
+    void acquire_shouldNotRunScript_untilSubscribed() {
+        LimitPolicy policy = LimitPolicy.of(1, 10, null);
+
+        storage.acquireMono("key", policy, Instant.now());
+
+        assertThat(storage.acquireMono("key", policy, Instant.now()).block().isLimited()).isFalse();
+    }
+
+    @Test
+    void acquire_shouldNotOverAdmit_whenCalledConcurrently() {
+        LimitPolicy policy = LimitPolicy.of(50, 60, null);
+
+        List<CompletableFuture<Decision>> decisions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            decisions.add(storage.acquire("key", policy, Instant.now()).toCompletableFuture());
+        }
+
+        long allowed = decisions.stream().map(CompletableFuture::join).filter(decision -> !decision.isLimited()).count();
+        assertThat(allowed).isEqualTo(50);
+    }
+
+    @Test
+    void isLimited_shouldReadStatsAndGcraKeys_withoutCounting() {
+        LimitPolicy fixedWindow = LimitPolicy.of(1, 10, null);
+        LimitPolicy gcra = LimitPolicy.of(LimitingStrategy.GCRA, 1, 60, null, 1);
+        Instant now = Instant.now();
+
+        assertThat(storage.isLimited("fixed", fixedWindow, now).toCompletableFuture().join()).isFalse();
+        assertThat(storage.isLimited("gcra", gcra, now).toCompletableFuture().join()).isFalse();
+
+        storage.acquire("fixed", fixedWindow, now).toCompletableFuture().join();
+        storage.acquire("fixed", fixedWindow, now).toCompletableFuture().join();
+        storage.acquire("gcra", gcra, now).toCompletableFuture().join();
+
+        assertThat(storage.isLimited("fixed", fixedWindow, now).toCompletableFuture().join()).isTrue();
+        assertThat(storage.isLimited("gcra", gcra, now).toCompletableFuture().join()).isTrue();
+    }
+}
@@ -0,0 +1,335 @@
+package io.github.d4rckh.limiterx.spring.storage;
+
+import io.github.d4rckh.limiterx.core.domain.ClientStats;
+import io.github.d4rckh.limiterx.core.domain.Lease;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import io.github.d4rckh.limiterx.spring.config.RedisTemplateConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RedisLimiterStorageIntegrationTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, ClientStats> redisTemplate;
+
+    private RedisLimiterStorage storage;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redisTemplate = RedisTemplateConfig.clientStatsTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        storage = new RedisLimiterStorage(redisTemplate);
+    }
+
+    @Test
+    void acquire_shouldLimit_whenMaximumRequestsExceeded() {
+        LimitPolicy policy = LimitPolicy.of(2, 10, null);
+
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isTrue();
+    }
+
+    @Test
+    void acquire_shouldStoreStatsReadableByFindByKey() {
+        Instant before = Instant.now();
+        storage.acquire("key", LimitPolicy.of(1, 10, 30), before);
+        storage.acquire("key", LimitPolicy.of(1, 10, 30), before);
+
+        ClientStats stats = storage.findByKey("key").orElseThrow();
+        assertThat(stats.getTotalRequests()).isEqualTo(2);
+        assertThat(Duration.between(before, stats.getBlockedAt()).abs()).isLessThan(Duration.ofSeconds(1));
+        assertThat(Duration.between(before, stats.getLastReset()).abs()).isLessThan(Duration.ofSeconds(1));
+        assertThat(storage.getTtlByKey("key")).isBetween(Duration.ofSeconds(29), Duration.ofSeconds(31));
+    }
+
+    @Test
+    void acquire_shouldContinueFromStatsWrittenByUpdateByKey() {
+        storage.updateByKey("key", new ClientStats(5, null, Instant.now()));
+
+        assertThat(storage.acquire("key", LimitPolicy.of(5, 10, null), Instant.now()).isLimited()).isTrue();
+        assertThat(storage.findByKey("key").orElseThrow().getTotalRequests()).isEqualTo(6);
+    }
+
+    @Test
+    void acquire_shouldNotOverAdmit_whenCalledConcurrently() throws Exception {
+        LimitPolicy policy = LimitPolicy.of(50, 60, null);
+
+        List<Callable<Boolean>> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(() -> storage.acquire("key", policy, Instant.now()).isLimited());
+        }
+
+        int allowed = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<Boolean> result : executor.invokeAll(requests)) {
+                if (!result.get()) allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(50);
+        assertThat(storage.findByKey("key").orElseThrow().getTotalRequests()).isEqualTo(200);
+    }
+
+
+    @Test
+    void acquire_shouldUseTokenBucket_whenPolicySelectsIt() {
+        LimitPolicy policy = LimitPolicy.of(LimitingStrategy.TOKEN_BUCKET, 1, 60, null, 2);
+
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isTrue();
+
+        ClientStats stats = storage.findByKey("key").orElseThrow();
+        assertThat(stats.getTokens()).isLessThan(1);
+        assertThat(storage.getTtlByKey("key")).isBetween(Duration.ofSeconds(119), Duration.ofSeconds(121));
+    }
+
+    @Test
+    void acquire_shouldRefillTokenBucketOverTime() throws InterruptedException {
+        LimitPolicy policy = LimitPolicy.of(LimitingStrategy.TOKEN_BUCKET, 10, 1, null, 1);
+
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isTrue();
+
+        Thread.sleep(150);
+
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isFalse();
+    }
+
+    @Test
+    void acquire_shouldUseSlidingWindow_whenPolicySelectsIt() {
+        LimitPolicy policy = LimitPolicy.of(LimitingStrategy.SLIDING_WINDOW, 2, 60, null);
+
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isTrue();
+
+        ClientStats stats = storage.findByKey("key").orElseThrow();
+        assertThat(stats.getTotalRequests()).isEqualTo(2);
+        assertThat(stats.getPreviousRequests()).isZero();
+        assertThat(storage.getTtlByKey("key")).isBetween(Duration.ofSeconds(119), Duration.ofSeconds(121));
+    }
+
+    @Test
+    void acquire_shouldWeighPreviousWindow_whenSlidingWindowRolls() {
+        Instant start = Instant.now().minusSeconds(15);
+        ClientStats stats = new ClientStats(10, null, start);
+        storage.updateByKey("key", stats);
+
+        LimitPolicy policy = LimitPolicy.of(LimitingStrategy.SLIDING_WINDOW, 10, 10, null);
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (!storage.acquire("key", policy, Instant.now()).isLimited()) allowed++;
+        }
+
+        assertThat(allowed).isEqualTo(5);
+        assertThat(storage.findByKey("key").orElseThrow().getPreviousRequests()).isEqualTo(10);
+    }
+
+    @Test
+    void acquire_shouldUseGcra_whenPolicySelectsIt() {
+        LimitPolicy policy = LimitPolicy.of(LimitingStrategy.GCRA, 1, 60, null, 2);
+
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, Instant.now()).isLimited()).isTrue();
+
+        assertThat(storage.isLimited("key", policy, Instant.now())).isTrue();
+        assertThat(storage.isLimited("key", policy, Instant.now().plusSeconds(61))).isFalse();
+        assertThat(storage.getTtlByKey("key")).isBetween(Duration.ofSeconds(119), Duration.ofSeconds(121));
+    }
+
+    @Test
+    void acquire_shouldBlockGcraKey_whenBlockForIsSet() {
+        LimitPolicy policy = LimitPolicy.of(LimitingStrategy.GCRA, 1, 1, 60);
+
+        Instant now = Instant.now();
+
+        assertThat(storage.acquire("key", policy, now).isLimited()).isFalse();
+        assertThat(storage.acquire("key", policy, now).getBlockedUntil())
+            .isBetween(now.plusSeconds(59), now.plusSeconds(61));
+
+        assertThat(storage.isLimited("key", policy, Instant.now().plusSeconds(30))).isTrue();
+        assertThat(storage.getTtlByKey("key")).isBetween(Duration.ofSeconds(59), Duration.ofSeconds(61));
+    }
+
+    @Test
+    void acquire_shouldReturnBlockEnd_whenClientIsBlocked() {
+        LimitPolicy policy = LimitPolicy.of(1, 10, 60);
+        Instant now = Instant.now();
+
+        assertThat(storage.acquire("key", policy, now).getBlockedUntil()).isNull();
+        Instant blockedUntil = storage.acquire("key", policy, now).getBlockedUntil();
+
+        assertThat(blockedUntil).isBetween(now.plusSeconds(59), now.plusSeconds(61));
+        assertThat(storage.acquire("key", policy, Instant.now()).getBlockedUntil()).isEqualTo(blockedUntil);
+    }
+
+    @Test
+    void acquireAll_shouldLimit_whenAnyPolicyIsExceeded() {
+        List<String> keys = List.of("key", "key#1", "key#2");
+        List<LimitPolicy> policies = List.of(
+            LimitPolicy.of(LimitingStrategy.TOKEN_BUCKET, 2, 1, null),
+            LimitPolicy.of(LimitingStrategy.GCRA, 3, 60, null),
+            LimitPolicy.of(4, 3600, 600)
+        );
+
+        assertThat(storage.acquireAll(keys, policies, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquireAll(keys, policies, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquireAll(keys, policies, Instant.now()).isLimited()).isTrue();
+
+        // Limited by the token bucket, not counted by the following policies
+        assertThat(storage.findByKey("key#2").orElseThrow().getTotalRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void acquireAll_shouldReturnBlockEnd_ofLimitingPolicy() {
+        List<String> keys = List.of("key", "key#1");
+        List<LimitPolicy> policies = List.of(LimitPolicy.of(10, 1, null), LimitPolicy.of(1, 3600, 60));
+        Instant now = Instant.now();
+
+        assertThat(storage.acquireAll(keys, policies, now).isLimited()).isFalse();
+        assertThat(storage.acquireAll(keys, policies, now).getBlockedUntil())
+            .isBetween(now.plusSeconds(59), now.plusSeconds(61));
+        assertThat(storage.findByKey("key").orElseThrow().getTotalRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void acquire_shouldMigrateStatsStoredAsJson() {
+        byte[] json = String.format("{\"totalRequests\":1,\"lastReset\":%d.000000}", Instant.now().getEpochSecond())
+            .getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute(connection -> connection.stringCommands().set("key".getBytes(StandardCharsets.UTF_8), json), true);
+
+        assertThat(storage.findByKey("key").orElseThrow().getTotalRequests()).isEqualTo(1);
+        assertThat(storage.acquire("key", LimitPolicy.of(2, 10, null), Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquire("key", LimitPolicy.of(2, 10, null), Instant.now()).isLimited()).isTrue();
+
+        byte[] stored = redisTemplate.execute(connection -> connection.stringCommands().get("key".getBytes(StandardCharsets.UTF_8)), true);
+        assertThat(stored[0]).isEqualTo(ClientStatsRedisSerializer.VERSION);
+        assertThat(storage.findByKey("key").orElseThrow().getTotalRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void acquire_shouldKeepStatsCompact() {
+        storage.acquire("key", LimitPolicy.of(1, 10, 30), Instant.now());
+        storage.acquire("key", LimitPolicy.of(1, 10, 30), Instant.now());
+
+        byte[] stored = redisTemplate.execute(connection -> connection.stringCommands().get("key".getBytes(StandardCharsets.UTF_8)), true);
+        assertThat(stored).hasSize(26);
+    }
+
+    @Test
+    void lease_shouldCountLeasedRequests_untilWindowIsUsedUp() {
+        LimitPolicy policy = LimitPolicy.of(100, 10, null);
+        Instant now = Instant.now();
+
+        Lease first = storage.lease("key", policy, 60, now);
+        Lease second = storage.lease("key", policy, 60, now);
+
+        assertThat(first.getPermits()).isEqualTo(60);
+        assertThat(second.getPermits()).isEqualTo(40);
+        assertThat(second.getWindowStart()).isEqualTo(first.getWindowStart());
+        assertThat(Duration.between(now, first.getWindowStart()).abs()).isLessThan(Duration.ofSeconds(1));
+        assertThat(first.getWindowEnd()).isEqualTo(first.getWindowStart().plusSeconds(10));
+        assertThat(storage.lease("key", policy, 60, now).getPermits()).isZero();
+        assertThat(storage.acquire("key", policy, now).isLimited()).isTrue();
+    }
+
+    @Test
+    void release_shouldGiveBackUnusedRequests() {
+        LimitPolicy policy = LimitPolicy.of(100, 10, null);
+        Lease lease = storage.lease("key", policy, 60, Instant.now());
+
+        storage.release("key", policy, lease, 50);
+
+        assertThat(storage.findByKey("key").orElseThrow().getTotalRequests()).isEqualTo(10);
+        assertThat(storage.getTtlByKey("key")).isBetween(Duration.ofSeconds(9), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void release_shouldIgnoreLease_ofEndedWindow() {
+        LimitPolicy policy = LimitPolicy.of(100, 10, null);
+        Lease lease = storage.lease("key", policy, 60, Instant.now());
+        storage.updateByKey("key", new ClientStats(5, null, Instant.now().plusSeconds(1)));
+
+        storage.release("key", policy, lease, 50);
+
+        assertThat(storage.findByKey("key").orElseThrow().getTotalRequests()).isEqualTo(5);
+    }
+
+    @Test
+    void concurrencyTryAcquire_shouldDeny_whenMaximumPermitsHeld_untilOneIsReleased() {
+        RedisConcurrencyLimiterStorage concurrency = new RedisConcurrencyLimiterStorage(redisTemplate);
+        Duration lease = Duration.ofMinutes(1);
+        Instant now = Instant.now();
+
+        assertThat(concurrency.tryAcquire("calls", "a", 2, lease, now)).isTrue();
+        assertThat(concurrency.tryAcquire("calls", "b", 2, lease, now)).isTrue();
+        assertThat(concurrency.tryAcquire("calls", "c", 2, lease, now)).isFalse();
+
+        concurrency.release("calls", "a");
+
+        assertThat(concurrency.tryAcquire("calls", "c", 2, lease, now)).isTrue();
+        assertThat(redisTemplate.getExpire("calls")).isBetween(59L, 60L);
+    }
+
+    @Test
+    void concurrencyTryAcquire_shouldDropPermits_whoseLeaseEnded() throws InterruptedException {
+        RedisConcurrencyLimiterStorage concurrency = new RedisConcurrencyLimiterStorage(redisTemplate);
+        assertThat(concurrency.tryAcquire("calls", "lost", 1, Duration.ofSeconds(1), Instant.now())).isTrue();
+        assertThat(concurrency.tryAcquire("calls", "next", 1, Duration.ofMinutes(1), Instant.now())).isFalse();
+
+        Thread.sleep(1_200);
+
+        assertThat(concurrency.tryAcquire("calls", "next", 1, Duration.ofMinutes(1), Instant.now())).isTrue();
+    }
+}
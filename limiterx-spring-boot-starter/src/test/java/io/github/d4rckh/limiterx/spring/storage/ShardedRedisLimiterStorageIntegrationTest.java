@@ -0,0 +1,102 @@
+package io.github.d4rckh.limiterx.spring.storage;
+
+import io.github.d4rckh.limiterx.core.common.LimiterStorage;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardedRedisLimiterStorageIntegrationTest {
+
+    private final List<RedisServer> redisServers = new ArrayList<>();
+    private final List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+
+    private ShardedRedisLimiterStorage storage;
+
+    @BeforeEach
+    void startRedis() throws IOException {
+        Map<String, LettuceConnectionFactory> shards = new LinkedHashMap<>();
+        for (int i = 0; i < 3; i++) {
+            int port;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+
+            RedisServer redisServer = new RedisServer(port);
+            redisServer.start();
+            redisServers.add(redisServer);
+
+            LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            connectionFactories.add(connectionFactory);
+            shards.put("redis://localhost:" + port, connectionFactory);
+        }
+
+        storage = new ShardedRedisLimiterStorage(shards, 128);
+    }
+
+    @AfterEach
+    void stopRedis() {
+        storage.close();
+        redisServers.forEach(RedisServer::stop);
+    }
+
+    @Test
+    void acquire_shouldSpreadKeysAcrossNodes() {
+        LimitPolicy policy = LimitPolicy.of(1, 60, null);
+        Set<LimiterStorage> used = new HashSet<>();
+
+        for (int i = 0; i < 30; i++) {
+            String key = Key.of("client-" + i).getKey();
+            assertThat(storage.acquire(key, policy, Instant.now()).isLimited()).isFalse();
+            assertThat(storage.acquire(key, policy, Instant.now()).isLimited()).isTrue();
+            used.add(storage.shardOf(key));
+        }
+
+        assertThat(used).hasSize(3);
+        for (int i = 0; i < 30; i++) {
+            String key = Key.of("client-" + i).getKey();
+            for (LimiterStorage shard : storage.getShards()) {
+                assertThat(shard.findByKey(key).isPresent()).isEqualTo(shard == storage.shardOf(key));
+            }
+        }
+    }
+
+    @Test
+    void acquireAll_shouldCountTiersOnOneNode() {
+        Key key = Key.of("client");
+        List<String> keys = List.of(key.getKey(), key.tier(1).getKey());
+        List<LimitPolicy> policies = List.of(LimitPolicy.of(10, 1, null), LimitPolicy.of(1, 3600, null));
+
+        assertThat(storage.acquireAll(keys, policies, Instant.now()).isLimited()).isFalse();
+        assertThat(storage.acquireAll(keys, policies, Instant.now()).isLimited()).isTrue();
+
+        LimiterStorage shard = storage.shardOf(key.getKey());
+        assertThat(shard.findByKey(key.tier(1).getKey()).orElseThrow().getTotalRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void lease_shouldReserveOnNodeOfKey() {
+        LimitPolicy policy = LimitPolicy.of(100, 10, null);
+
+        assertThat(storage.lease("key", policy, 30, Instant.now()).getPermits()).isEqualTo(30);
+        assertThat(storage.shardOf("key").findByKey("key").orElseThrow().getTotalRequests()).isEqualTo(30);
+    }
+}
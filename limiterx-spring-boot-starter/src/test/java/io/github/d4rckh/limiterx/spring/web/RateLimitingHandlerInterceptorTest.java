@@ -0,0 +1,145 @@
+package io.github.d4rckh.limiterx.spring.web;
+
+import io.github.d4rckh.limiterx.core.Limiter;
+import io.github.d4rckh.limiterx.core.domain.Decision;
+import io.github.d4rckh.limiterx.core.domain.Key;
+import io.github.d4rckh.limiterx.core.domain.LimitPolicy;
+import io.github.d4rckh.limiterx.core.domain.LimitingStrategy;
+import io.github.d4rckh.limiterx.spring.annotation.RateLimited;
+import io.github.d4rckh.limiterx.spring.aspect.RateLimitedAspect;
+import io.github.d4rckh.limiterx.spring.extractor.NoopExtractor;
+import io.github.d4rckh.limiterx.spring.extractor.evaluator.KeyExtractorSpelEvaluator;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class RateLimitingHandlerInterceptorTest {
+
+    private final Limiter limiter = mock(Limiter.class);
+    private final ApplicationContext context = mock(ApplicationContext.class);
+    private final Controller controller = new Controller();
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private RateLimitedAspect aspect;
+    private RateLimitingHandlerInterceptor interceptor;
+
+    @BeforeEach
+    void setup() {
+        when(limiter.acquire(any(Key.class), any(LimitPolicy.class))).thenReturn(Decision.ALLOWED);
+        when(limiter.supports(any(LimitingStrategy.class))).thenReturn(true);
+        when(context.getBean(NoopExtractor.class)).thenReturn(new NoopExtractor());
+        aspect = new RateLimitedAspect(limiter, context, new KeyExtractorSpelEvaluator(context));
+        interceptor = new RateLimitingHandlerInterceptor(aspect);
+    }
+
+    @Test
+    void preHandle_shouldRespondTooManyRequests_whenLimited() throws Exception {
+        when(limiter.acquire(any(Key.class), any(LimitPolicy.class))).thenReturn(Decision.LIMITED);
+
+        assertThat(interceptor.preHandle(request, response, handler("limited"))).isFalse();
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        verify(limiter).acquire(Key.fromClass(Controller.class, "limited", ""), LimitPolicy.of(1, 1, null));
+    }
+
+    @Test
+    void preHandle_shouldNotCountTwice_whenHandlerIsInvoked() throws Exception {
+        assertThat(interceptor.preHandle(request, response, handler("limited"))).isTrue();
+        aspect.rateLimitFunction(joinPoint("limited"), annotationOf("limited"));
+        interceptor.afterCompletion(request, response, handler("limited"), null);
+
+        verify(limiter, times(1)).acquire(any(Key.class), any(LimitPolicy.class));
+
+        // The next request is counted again
+        assertThat(interceptor.preHandle(request, response, handler("limited"))).isTrue();
+        verify(limiter, times(2)).acquire(any(Key.class), any(LimitPolicy.class));
+    }
+
+    @Test
+    void afterCompletion_shouldForgetAllowedCall_whenHandlerWasNotInvoked() throws Exception {
+        interceptor.preHandle(request, response, handler("limited"));
+        interceptor.afterCompletion(request, response, handler("limited"), null);
+
+        aspect.rateLimitFunction(joinPoint("limited"), annotationOf("limited"));
+
+        verify(limiter, times(2)).acquire(any(Key.class), any(LimitPolicy.class));
+    }
+
+    @Test
+    void preHandle_shouldLeaveHandlerToAspect_whenKeyExpressionReferencesArguments() throws Exception {
+        HandlerMethod handler = new HandlerMethod(controller, Controller.class.getMethod("byTenant", String.class));
+
+        assertThat(interceptor.preHandle(request, response, handler)).isTrue();
+
+        verify(limiter).supports(LimitingStrategy.FIXED_WINDOW);
+        verifyNoMoreInteractions(limiter);
+    }
+
+    @Test
+    void preHandle_shouldIgnoreHandler_whenNotRateLimited() throws Exception {
+        assertThat(interceptor.preHandle(request, response, handler("unlimited"))).isTrue();
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+
+        verifyNoInteractions(limiter);
+    }
+
+    @Test
+    void aspect_shouldStillThrow_whenCalledWithoutInterceptor() throws Exception {
+        when(limiter.acquire(any(Key.class), any(LimitPolicy.class))).thenReturn(Decision.LIMITED);
+
+        assertThatThrownBy(() -> aspect.rateLimitFunction(joinPoint("limited"), annotationOf("limited")))
+            .hasMessage("Too many requests");
+    }
+
+    private HandlerMethod handler(String methodName) throws NoSuchMethodException {
+        return new HandlerMethod(controller, Controller.class.getMethod(methodName));
+    }
+
+    private JoinPoint joinPoint(String methodName) throws NoSuchMethodException {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Controller.class.getMethod(methodName));
+
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(controller);
+        when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        return joinPoint;
+    }
+
+    private static RateLimited annotationOf(String methodName) throws NoSuchMethodException {
+        Method method = Controller.class.getMethod(methodName);
+        return method.getAnnotation(RateLimited.class);
+    }
+
+    public static class Controller {
+
+        @RateLimited(maximumRequests = 1, windowSize = 1)
+        public void limited() {
+        }
+
+        @RateLimited(keyExpression = "#tenantId", maximumRequests = 1, windowSize = 1)
+        public void byTenant(String tenantId) {
+        }
+
+        public void unlimited() {
+        }
+    }
+}